@@ -86,7 +86,7 @@ public class AnnotationConstraintChecker implements TypeAccessConstraintChecker,
         return access;
     }
 
-    private Map<IType, Access> getConstraintTable(ITypeBinding typeBinding) throws JavaModelException
+    private synchronized Map<IType, Access> getConstraintTable(ITypeBinding typeBinding) throws JavaModelException
     {
         IJavaProject project = typeBinding.getJavaElement().getJavaProject();
 
@@ -98,7 +98,7 @@ public class AnnotationConstraintChecker implements TypeAccessConstraintChecker,
         return _typeConstraintTables.get(project);
     }
 
-    private Map<IType, Access> getConstraintTable(IMethodBinding methodBinding) throws JavaModelException
+    private synchronized Map<IType, Access> getConstraintTable(IMethodBinding methodBinding) throws JavaModelException
     {
         IJavaProject project = methodBinding.getJavaElement().getJavaProject();
 
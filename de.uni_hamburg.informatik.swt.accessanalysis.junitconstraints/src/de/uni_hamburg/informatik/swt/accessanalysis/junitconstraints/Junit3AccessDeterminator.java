@@ -106,7 +106,7 @@ class Junit3AccessDeterminator implements AccessDeterminator {
 				&& Access.fromFlags((IMember) methodBinding.getJavaElement()) == Access.PUBLIC;
 	}
 	
-	private boolean constraintEnabled(IBinding binding)
+	private synchronized boolean constraintEnabled(IBinding binding)
 	{
 		IJavaProject project = binding.getJavaElement().getJavaProject();
 		
@@ -156,7 +156,7 @@ class Junit4AccessDeterminator implements AccessDeterminator {
 		return false;
 	}
 	
-	private boolean constraintEnabled(IBinding binding)
+	private synchronized boolean constraintEnabled(IBinding binding)
 	{
 		IJavaProject project = binding.getJavaElement().getJavaProject();
 		
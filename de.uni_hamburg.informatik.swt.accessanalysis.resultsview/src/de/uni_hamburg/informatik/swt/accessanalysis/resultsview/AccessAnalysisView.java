@@ -1,6 +1,9 @@
 package de.uni_hamburg.informatik.swt.accessanalysis.resultsview;
 
+import java.util.Collection;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
 
 import org.eclipse.jdt.core.IJavaElement;
 import org.eclipse.jdt.core.JavaModelException;
@@ -35,6 +38,7 @@ import org.eclipse.ui.PartInitException;
 import org.eclipse.ui.part.ViewPart;
 
 import de.uni_hamburg.informatik.swt.accessanalysis.extensions.RcpExtension;
+import de.uni_hamburg.informatik.swt.accessanalysis.results.PackageResult;
 import de.uni_hamburg.informatik.swt.accessanalysis.results.Result;
 
 
@@ -267,6 +271,58 @@ public class AccessAnalysisView extends ViewPart
         setActionsEnabled(true);
     }
     
+    /**
+     * Shows the given results again, after only some of them changed. If they are already
+     * on the view, only the packages of the changed results are refreshed and the labels
+     * of their ancestors are updated, so the tree keeps its expanded state.
+     * 
+     * @param List<Result> results The results to be shown
+     * @param Collection<Result> changedResults The results that changed
+     */
+    void updateResults(final List<Result> results, final Collection<Result> changedResults)
+    {
+        Display.getDefault().asyncExec( 
+            new Runnable()
+            {
+                @Override
+                public void run()
+                {
+                    if (_viewer.getInput() != results)
+                    {
+                        _viewer.setInput(results);
+                        return;
+                    }
+                    
+                    Set<Result> packages = new LinkedHashSet<Result>();
+                    for (Result result : changedResults)
+                    {
+                        while (result != null && ! (result instanceof PackageResult))
+                        {
+                            result = result.getParent();
+                        }
+                        if (result != null)
+                        {
+                            packages.add(result);
+                        }
+                    }
+                    
+                    Set<Result> ancestors = new LinkedHashSet<Result>();
+                    for (Result packageResult : packages)
+                    {
+                        _viewer.refresh(packageResult);
+                        for (Result parent = packageResult.getParent(); parent != null; parent = parent.getParent())
+                        {
+                            ancestors.add(parent);
+                        }
+                    }
+                    _viewer.update(ancestors.toArray(), null);
+                }
+            }
+        );
+        
+        setActionsEnabled(true);
+    }
+    
     /**
      * Opens a dialog with a simple message.
      * 
@@ -1,4 +1,5 @@
 package de.uni_hamburg.informatik.swt.accessanalysis.resultsview;
+import java.util.Collection;
 import java.util.List;
 
 import org.eclipse.jface.dialogs.MessageDialog;
@@ -8,10 +9,10 @@ import org.eclipse.ui.PartInitException;
 
 import de.uni_hamburg.informatik.swt.accessanalysis.extensions.RcpExtension;
 import de.uni_hamburg.informatik.swt.accessanalysis.results.Result;
-import de.uni_hamburg.informatik.swt.accessanalysis.resultsconsumer.AccessAnalysisResultsConsumer;
+import de.uni_hamburg.informatik.swt.accessanalysis.resultsconsumer.AccessAnalysisResultsUpdater;
 
 @RcpExtension
-public class AccessAnalysisViewFiller implements AccessAnalysisResultsConsumer {
+public class AccessAnalysisViewFiller implements AccessAnalysisResultsUpdater {
 
 	private AccessAnalysisView _view;
 
@@ -42,4 +43,11 @@ public class AccessAnalysisViewFiller implements AccessAnalysisResultsConsumer {
 			_view.showResults(results);
 		}
 	}
-}
+
+	@Override
+	public void updateResults(List<Result> results, Collection<Result> changedResults) {
+		if (_view != null) {
+			_view.updateResults(results, changedResults);
+		}
+	}
+}
\ No newline at end of file
@@ -0,0 +1,21 @@
+package de.uni_hamburg.informatik.swt.accessanalysis.resultsconsumer;
+
+import java.util.Collection;
+import java.util.List;
+
+import de.uni_hamburg.informatik.swt.accessanalysis.results.Result;
+
+/**
+ * A results consumer that can show results again after only some of them changed,
+ * e.g. while a continuous analysis follows the editor.
+ */
+public interface AccessAnalysisResultsUpdater extends AccessAnalysisResultsConsumer {
+	
+	/**
+	 * Takes results of which only some changed since they were taken last.
+	 * 
+	 * @param List<Result> results The results
+	 * @param Collection<Result> changedResults The results that changed
+	 */
+	public void updateResults(List<Result> results, Collection<Result> changedResults);
+}
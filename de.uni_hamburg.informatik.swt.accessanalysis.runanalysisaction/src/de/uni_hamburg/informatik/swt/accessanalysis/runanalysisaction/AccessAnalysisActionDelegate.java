@@ -48,18 +48,24 @@ public class AccessAnalysisActionDelegate extends ActionDelegate implements IVie
     {
         if (_selection != null)
         {
-            scheduleJob(getProjects());
+            scheduleJob(getProjects(_selection));
         }
     }
     
-    private List<IJavaProject> getProjects()
+    /**
+     * Returns the projects of all selected Java elements.
+     * 
+     * @param ISelection selection The selection
+     * @return List<IJavaProject> The projects
+     */
+    static List<IJavaProject> getProjects(ISelection selection)
     {
         LinkedList<IJavaProject> projectList = new LinkedList<IJavaProject>();
         
-        if (_selection instanceof IStructuredSelection)
+        if (selection instanceof IStructuredSelection)
         {
             Set<IJavaProject> projectSet = new HashSet<IJavaProject>();
-            for (Object element : ((IStructuredSelection) _selection).toArray())
+            for (Object element : ((IStructuredSelection) selection).toArray())
             {
                 if (element instanceof IJavaElement)
                 {
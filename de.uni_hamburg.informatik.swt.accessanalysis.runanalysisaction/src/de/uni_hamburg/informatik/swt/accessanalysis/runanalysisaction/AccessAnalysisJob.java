@@ -1,23 +1,23 @@
 package de.uni_hamburg.informatik.swt.accessanalysis.runanalysisaction;
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedList;
 import java.util.List;
+import java.util.Set;
 
-import org.eclipse.core.resources.IFile;
-import org.eclipse.core.resources.IResourceRuleFactory;
-import org.eclipse.core.resources.ResourcesPlugin;
-import org.eclipse.core.resources.WorkspaceJob;
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.OperationCanceledException;
 import org.eclipse.core.runtime.Status;
 import org.eclipse.core.runtime.SubProgressMonitor;
-import org.eclipse.core.runtime.jobs.ISchedulingRule;
-import org.eclipse.core.runtime.jobs.MultiRule;
+import org.eclipse.core.runtime.jobs.IJobManager;
+import org.eclipse.core.runtime.jobs.Job;
 import org.eclipse.jdt.core.IJavaProject;
+import org.eclipse.jdt.core.JavaModelException;
 
-import de.uni_hamburg.informatik.swt.accessanalysis.Analysis;
 import de.uni_hamburg.informatik.swt.accessanalysis.AnalysisException;
-import de.uni_hamburg.informatik.swt.accessanalysis.AnalysisFactory;
 import de.uni_hamburg.informatik.swt.accessanalysis.results.Result;
 import de.uni_hamburg.informatik.swt.accessanalysis.resultsconsumer.AccessAnalysisResultsConsumer;
 import de.uni_hamburg.informatik.swt.accessanalysis.runanalysisaction.internal.RunAnalysisActionActivator;
@@ -25,48 +25,63 @@ import de.uni_hamburg.informatik.swt.accessanalysis.runanalysisaction.internal.R
 
 /**
  * Runs the analysis.
+ *
+ * The projects are split into groups of projects that depend on each other.
+ * Every group is analyzed by a ProjectAnalysisJob of its own that only locks
+ * the files of its projects, so independent projects are analyzed concurrently.
+ * The results of all groups are combined when all of them are finished.
  */
-class AccessAnalysisJob extends WorkspaceJob
+class AccessAnalysisJob extends Job
 {
+    private static final int GROUP_TICKS = 1000;
+
     private List<IJavaProject> _projects;
-    private Analysis _analysis;
+    private List<ProjectAnalysisJob> _projectJobs;
     private Collection<AccessAnalysisResultsConsumer> _resultsConsumer;
-    
+
     /**
-     * Initializes an object of AnalysisJob. 
-     * 
+     * Initializes an object of AnalysisJob.
+     *
      * @param IJavaProject projects The projects to be analyzed
      * @param AccessAnalysisView view The view that shows the results
      */
     AccessAnalysisJob(List<IJavaProject> projects, Collection<AccessAnalysisResultsConsumer> resultsConsumer)
     {
         super("AccessAnalysis");
-        
+
         _projects = projects;
-        _analysis = AnalysisFactory.analyzer(_projects);
+        _projectJobs = new ArrayList<ProjectAnalysisJob>();
         _resultsConsumer = resultsConsumer;
-        
+
         setUser(true);
-        try {
-            setRule(createModifyRule(_analysis.filesToBeLocked()));
-        }
-        catch (AnalysisException exc) {
-        	RunAnalysisActionActivator.showErrorMessage("Error while listing files!", exc);
-        }
     }
-    
+
     @Override
-    public IStatus runInWorkspace(IProgressMonitor monitor)
+    public IStatus run(IProgressMonitor monitor)
     {
+        try
+        {
+            _projectJobs.clear();
+            for (List<IJavaProject> group : dependencyGroups(_projects))
+            {
+                _projectJobs.add(new ProjectAnalysisJob(group, this));
+            }
+        }
+        catch (AnalysisException exc)
+        {
+            monitor.done();
+            return new Status(IStatus.ERROR, RunAnalysisActionActivator.PLUGIN_ID, "Error while grouping the projects!", exc);
+        }
+
         try
         {
         	clearResultsConsumer();
             monitor.beginTask("", 1000);
-            _analysis.run(new SubProgressMonitor(monitor, 990, SubProgressMonitor.PREPEND_MAIN_LABEL_TO_SUBTASK));
+            runProjectJobs(new SubProgressMonitor(monitor, 990, SubProgressMonitor.PREPEND_MAIN_LABEL_TO_SUBTASK));
             if (! monitor.isCanceled())
             {
                 monitor.subTask("Show results");
-                fillResultsConsumer(_analysis.getResults());
+                fillResultsConsumer(combineResults());
                 monitor.worked(10);
             }
         }
@@ -75,34 +90,164 @@ class AccessAnalysisJob extends WorkspaceJob
         	RunAnalysisActionActivator.showErrorMessage(null, exc);
             return Status.CANCEL_STATUS;
         }
-        finally 
+        finally
         {
             monitor.done();
         }
         return Status.OK_STATUS;
     }
-    
+
+    /**
+     * Schedules the jobs of all project groups and waits until all of them are finished.
+     * Every job reports its progress to a sub-monitor of a common progress group.
+     *
+     * @param IProgressMonitor monitor The monitor that counts the finished jobs
+     *
+     * @throws AnalysisException if the analysis of a project group failed
+     */
+    private void runProjectJobs(IProgressMonitor monitor) throws AnalysisException
+    {
+        IJobManager jobManager = Job.getJobManager();
+        IProgressMonitor group = jobManager.createProgressGroup();
+        group.beginTask("AccessAnalysis", _projectJobs.size() * GROUP_TICKS);
+        try
+        {
+            for (ProjectAnalysisJob projectJob : _projectJobs)
+            {
+                projectJob.setProgressGroup(group, GROUP_TICKS);
+                projectJob.schedule();
+            }
+
+            try
+            {
+                jobManager.join(this, monitor);
+            }
+            catch (OperationCanceledException cancelExc)
+            {
+                jobManager.cancel(this);
+                monitor.setCanceled(true);
+            }
+            catch (InterruptedException interruptExc)
+            {
+                jobManager.cancel(this);
+                monitor.setCanceled(true);
+                Thread.currentThread().interrupt();
+            }
+        }
+        finally
+        {
+            group.done();
+        }
+
+        for (ProjectAnalysisJob projectJob : _projectJobs)
+        {
+            if (projectJob.getError() != null)
+            {
+                throw projectJob.getError();
+            }
+        }
+    }
+
+    /**
+     * Combines the results of all project groups.
+     *
+     * @return List<Result> The results of all projects
+     */
+    private List<Result> combineResults()
+    {
+        List<Result> results = new ArrayList<Result>();
+        for (ProjectAnalysisJob projectJob : _projectJobs)
+        {
+            if (projectJob.getResults() != null)
+            {
+                results.addAll(projectJob.getResults());
+            }
+        }
+        return results;
+    }
+
     private void clearResultsConsumer() {
 		for (AccessAnalysisResultsConsumer resultsConsumer : _resultsConsumer) {
 			resultsConsumer.clear();
 		}
 	}
-    
+
     private void fillResultsConsumer(List<Result> results) {
 		for (AccessAnalysisResultsConsumer resultsConsumer : _resultsConsumer) {
 			resultsConsumer.takeResults(results);
 		}
 	}
-    
-	private ISchedulingRule createModifyRule(IFile[] files) 
+
+    /**
+     * Splits projects into groups of projects that depend on each other directly or indirectly.
+     * Projects of different groups can be analyzed independently.
+     *
+     * @param List<IJavaProject> projects The projects to be split
+     * @return List<List<IJavaProject>> The groups in the order of their first projects
+     *
+     * @throws AnalysisException if the classpath of a project can't be resolved
+     */
+    private static List<List<IJavaProject>> dependencyGroups(List<IJavaProject> projects) throws AnalysisException
     {
-        ISchedulingRule combinedRule = null;
-        IResourceRuleFactory ruleFactory = ResourcesPlugin.getWorkspace().getRuleFactory();
-        for (int i = 0; i < files.length; i++) 
+        List<List<IJavaProject>> groups = new ArrayList<List<IJavaProject>>();
+        List<IJavaProject> ungrouped = new LinkedList<IJavaProject>(projects);
+        try
         {
-            ISchedulingRule rule = ruleFactory.modifyRule(files[i]);
-            combinedRule = MultiRule.combine(rule, combinedRule);
+            while (! ungrouped.isEmpty())
+            {
+                List<IJavaProject> group = new ArrayList<IJavaProject>();
+                group.add(ungrouped.remove(0));
+                for (int i = 0; i < group.size(); i++)
+                {
+                    IJavaProject member = group.get(i);
+                    for (IJavaProject candidate : new ArrayList<IJavaProject>(ungrouped))
+                    {
+                        if (requires(member, candidate) || requires(candidate, member))
+                        {
+                            ungrouped.remove(candidate);
+                            group.add(candidate);
+                        }
+                    }
+                }
+                groups.add(group);
+            }
+        }
+        catch (JavaModelException exc)
+        {
+            throw new AnalysisException(exc);
+        }
+        return groups;
+    }
+
+    /**
+     * Checks whether a project requires another project directly or through other projects.
+     *
+     * @param IJavaProject project The project whose classpath is checked
+     * @param IJavaProject required The project that might be required
+     * @return boolean true, if the project requires the other project
+     *
+     * @throws JavaModelException if a classpath can't be resolved
+     */
+    private static boolean requires(IJavaProject project, IJavaProject required) throws JavaModelException
+    {
+        Set<String> visited = new HashSet<String>();
+        LinkedList<IJavaProject> pending = new LinkedList<IJavaProject>();
+        pending.add(project);
+        while (! pending.isEmpty())
+        {
+            IJavaProject current = pending.removeFirst();
+            if (current.exists() && visited.add(current.getElementName()))
+            {
+                for (String name : current.getRequiredProjectNames())
+                {
+                    if (name.equals(required.getElementName()))
+                    {
+                        return true;
+                    }
+                    pending.add(current.getJavaModel().getJavaProject(name));
+                }
+            }
         }
-        return combinedRule;
+        return false;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,134 @@
+package de.uni_hamburg.informatik.swt.accessanalysis.runanalysisaction;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.Job;
+import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.IJavaProject;
+
+import de.uni_hamburg.informatik.swt.accessanalysis.AnalysisException;
+import de.uni_hamburg.informatik.swt.accessanalysis.AnalysisFactory;
+import de.uni_hamburg.informatik.swt.accessanalysis.AnalysisListener;
+import de.uni_hamburg.informatik.swt.accessanalysis.IncrementalAnalysis;
+import de.uni_hamburg.informatik.swt.accessanalysis.results.Result;
+import de.uni_hamburg.informatik.swt.accessanalysis.resultsconsumer.AccessAnalysisResultsConsumer;
+import de.uni_hamburg.informatik.swt.accessanalysis.resultsconsumer.AccessAnalysisResultsUpdater;
+import de.uni_hamburg.informatik.swt.accessanalysis.runanalysisaction.internal.RunAnalysisActionActivator;
+
+
+/**
+ * Keeps the results of some projects up to date after every build
+ * and hands them to the results consumers.
+ *
+ * At most one continuous analysis runs at a time. It is analysed once when
+ * it is started, afterwards only the compilation units that changed since the
+ * last build are analysed again in the background. While a file is edited, it is
+ * analysed again whenever the editor reconciles it.
+ */
+class ContinuousAnalysis implements AnalysisListener
+{
+    private static ContinuousAnalysis _running = null;
+
+    private final IncrementalAnalysis _analysis;
+    private final Collection<AccessAnalysisResultsConsumer> _resultsConsumer;
+
+    /**
+     * Initializes an object of ContinuousAnalysis.
+     *
+     * @param List<IJavaProject> projects The projects to be analyzed
+     * @param Collection<AccessAnalysisResultsConsumer> resultsConsumer The consumers of the results
+     */
+    private ContinuousAnalysis(List<IJavaProject> projects, Collection<AccessAnalysisResultsConsumer> resultsConsumer)
+    {
+        _analysis = AnalysisFactory.incrementalAnalyzer(projects);
+        _resultsConsumer = resultsConsumer;
+    }
+
+    /**
+     * Starts the continuous analysis of some projects and stops the one that ran before.
+     *
+     * @param List<IJavaProject> projects The projects to be analyzed
+     * @param Collection<AccessAnalysisResultsConsumer> resultsConsumer The consumers of the results
+     */
+    static synchronized void start(List<IJavaProject> projects, Collection<AccessAnalysisResultsConsumer> resultsConsumer)
+    {
+        stop();
+
+        _running = new ContinuousAnalysis(projects, resultsConsumer);
+        _running._analysis.addListener(_running);
+        _running._analysis.startWithBuilds();
+        _running.scheduleFirstRun();
+    }
+
+    /**
+     * Stops the continuous analysis, if there is one.
+     */
+    static synchronized void stop()
+    {
+        if (_running != null)
+        {
+            _running._analysis.stop();
+            _running._analysis.removeListener(_running);
+            _running = null;
+        }
+    }
+
+    /**
+     * Checks whether a continuous analysis runs.
+     *
+     * @return boolean true, if a continuous analysis runs
+     */
+    static synchronized boolean isRunning()
+    {
+        return _running != null;
+    }
+
+    @Override
+    public void resultsChanged(List<Result> results, Collection<Result> changedResults)
+    {
+        for (AccessAnalysisResultsConsumer resultsConsumer : _resultsConsumer)
+        {
+            if (resultsConsumer instanceof AccessAnalysisResultsUpdater)
+            {
+                ((AccessAnalysisResultsUpdater) resultsConsumer).updateResults(results, changedResults);
+            }
+            else
+            {
+                resultsConsumer.takeResults(results);
+            }
+        }
+    }
+
+    private void scheduleFirstRun()
+    {
+        for (AccessAnalysisResultsConsumer resultsConsumer : _resultsConsumer)
+        {
+            resultsConsumer.clear();
+        }
+
+        Job job = new Job("AccessAnalysis")
+        {
+            @Override
+            protected IStatus run(IProgressMonitor monitor)
+            {
+                try
+                {
+                    _analysis.update(Collections.<ICompilationUnit> emptyList(), monitor);
+                }
+                catch (AnalysisException exc)
+                {
+                    RunAnalysisActionActivator.showErrorMessage(null, exc);
+                    return Status.CANCEL_STATUS;
+                }
+                return Status.OK_STATUS;
+            }
+        };
+        job.setUser(true);
+        job.schedule();
+    }
+}
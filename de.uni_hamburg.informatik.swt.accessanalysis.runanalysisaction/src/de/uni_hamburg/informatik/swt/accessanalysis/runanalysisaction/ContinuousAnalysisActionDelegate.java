@@ -0,0 +1,67 @@
+package de.uni_hamburg.informatik.swt.accessanalysis.runanalysisaction;
+
+import java.util.List;
+
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.jdt.core.IJavaProject;
+import org.eclipse.jface.action.IAction;
+import org.eclipse.jface.dialogs.MessageDialog;
+import org.eclipse.jface.viewers.ISelection;
+import org.eclipse.swt.widgets.Display;
+import org.eclipse.ui.IViewActionDelegate;
+import org.eclipse.ui.IViewPart;
+import org.eclipse.ui.actions.ActionDelegate;
+
+import de.uni_hamburg.informatik.swt.accessanalysis.extensions.RcpExtension;
+import de.uni_hamburg.informatik.swt.accessanalysis.runanalysisaction.internal.RunAnalysisActionActivator;
+
+
+/**
+ * Switches the continuous analysis of the selected projects on and off.
+ */
+@RcpExtension
+public class ContinuousAnalysisActionDelegate extends ActionDelegate implements IViewActionDelegate
+{
+    private ISelection _selection;
+
+    @Override
+    public void init(IViewPart view)
+    {
+    }
+
+    @Override
+    public void selectionChanged(IAction action, ISelection selection)
+    {
+        _selection = selection;
+        action.setChecked(ContinuousAnalysis.isRunning());
+    }
+
+    @Override
+    public void run(IAction action)
+    {
+        if (! action.isChecked())
+        {
+            ContinuousAnalysis.stop();
+            return;
+        }
+
+        List<IJavaProject> projects = AccessAnalysisActionDelegate.getProjects(_selection);
+        if (projects.isEmpty())
+        {
+            action.setChecked(false);
+            MessageDialog.openWarning(Display.getCurrent().getActiveShell(), "AccessAnalysis", "No Project selected!");
+            return;
+        }
+
+        try
+        {
+            ContinuousAnalysis.start(projects, RunAnalysisActionActivator.getResultsConsumer());
+        }
+        catch (CoreException e)
+        {
+            action.setChecked(false);
+            RunAnalysisActionActivator.showErrorMessage(null, e);
+            e.printStackTrace();
+        }
+    }
+}
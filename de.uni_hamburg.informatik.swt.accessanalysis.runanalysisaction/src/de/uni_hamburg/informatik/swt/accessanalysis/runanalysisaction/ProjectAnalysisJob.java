@@ -0,0 +1,107 @@
+package de.uni_hamburg.informatik.swt.accessanalysis.runanalysisaction;
+
+import java.util.List;
+
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IResourceRuleFactory;
+import org.eclipse.core.resources.ResourcesPlugin;
+import org.eclipse.core.resources.WorkspaceJob;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.ISchedulingRule;
+import org.eclipse.core.runtime.jobs.MultiRule;
+import org.eclipse.jdt.core.IJavaProject;
+
+import de.uni_hamburg.informatik.swt.accessanalysis.Analysis;
+import de.uni_hamburg.informatik.swt.accessanalysis.AnalysisException;
+import de.uni_hamburg.informatik.swt.accessanalysis.AnalysisFactory;
+import de.uni_hamburg.informatik.swt.accessanalysis.results.Result;
+
+
+/**
+ * Runs the analysis of some projects that depend on each other
+ * as a part of an AccessAnalysisJob.
+ *
+ * The job only locks the files of its own projects, so jobs for
+ * independent projects run concurrently.
+ */
+class ProjectAnalysisJob extends WorkspaceJob
+{
+    private final Object _family;
+    private final Analysis _analysis;
+
+    private volatile AnalysisException _error;
+
+    /**
+     * Initializes an object of ProjectAnalysisJob.
+     *
+     * @param List<IJavaProject> projects The projects to be analyzed together
+     * @param Object family The family the job belongs to
+     *
+     * @throws AnalysisException if the files of the projects can't be listed
+     */
+    ProjectAnalysisJob(List<IJavaProject> projects, Object family) throws AnalysisException
+    {
+        super("AccessAnalysis " + projects.get(0).getElementName());
+
+        _family = family;
+        _analysis = AnalysisFactory.analyzer(projects);
+        _error = null;
+
+        setRule(createModifyRule(_analysis.filesToBeLocked()));
+    }
+
+    @Override
+    public IStatus runInWorkspace(IProgressMonitor monitor)
+    {
+        try
+        {
+            _analysis.run(monitor);
+        }
+        catch (AnalysisException exc)
+        {
+            _error = exc;
+            return Status.CANCEL_STATUS;
+        }
+        return Status.OK_STATUS;
+    }
+
+    @Override
+    public boolean belongsTo(Object family)
+    {
+        return family == _family;
+    }
+
+    /**
+     * Returns the results of the analysis.
+     *
+     * @return List<Result> The results of all projects of this job or null if the analysis did not finish
+     */
+    List<Result> getResults()
+    {
+        return _analysis.getResults();
+    }
+
+    /**
+     * Returns the error that stopped the analysis.
+     *
+     * @return AnalysisException The error or null if there was none
+     */
+    AnalysisException getError()
+    {
+        return _error;
+    }
+
+    private static ISchedulingRule createModifyRule(IFile[] files)
+    {
+        ISchedulingRule combinedRule = null;
+        IResourceRuleFactory ruleFactory = ResourcesPlugin.getWorkspace().getRuleFactory();
+        for (int i = 0; i < files.length; i++)
+        {
+            ISchedulingRule rule = ruleFactory.modifyRule(files[i]);
+            combinedRule = MultiRule.combine(rule, combinedRule);
+        }
+        return combinedRule;
+    }
+}
@@ -0,0 +1,134 @@
+package de.uni_hamburg.informatik.swt.accessanalysis.analysis;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import de.uni_hamburg.informatik.swt.accessanalysis.access.Access;
+
+
+/**
+ * Adds and removes contributions to a ledger and checks that it keeps the maximal
+ * access that is still contributed, without looking at the other IDs.
+ */
+public class AccessLedgerTest
+{
+    private static final Access[] ACCESSES = Access.values();
+    private static final int IDS = 3000;
+    private static final int OPERATIONS = 100000;
+
+    private AccessLedger _ledger;
+
+    @Before
+    public void setUp()
+    {
+        _ledger = new AccessLedger();
+    }
+
+    @Test
+    public void retractingTheMaximumFallsBackToTheNextLowerAccess()
+    {
+        _ledger.add(7, Access.PRIVATE);
+        _ledger.add(7, Access.PUBLIC);
+        _ledger.add(7, Access.DEFAULT);
+        assertEquals(Access.PUBLIC, _ledger.get(7));
+
+        _ledger.remove(7, Access.PUBLIC);
+        assertEquals(Access.DEFAULT, _ledger.get(7));
+
+        _ledger.remove(7, Access.DEFAULT);
+        assertEquals(Access.PRIVATE, _ledger.get(7));
+
+        _ledger.remove(7, Access.PRIVATE);
+        assertNull(_ledger.get(7));
+    }
+
+    @Test
+    public void keepsTheMaximumWhileOtherUnitsStillContributeIt()
+    {
+        _ledger.add(3, Access.PROTECTED);
+        _ledger.add(3, Access.PROTECTED);
+        _ledger.add(3, Access.PRIVATE);
+
+        _ledger.remove(3, Access.PROTECTED);
+        assertEquals(Access.PROTECTED, _ledger.get(3));
+
+        _ledger.remove(3, Access.PRIVATE);
+        assertEquals(Access.PROTECTED, _ledger.get(3));
+
+        _ledger.remove(3, Access.PROTECTED);
+        assertNull(_ledger.get(3));
+    }
+
+    @Test
+    public void reportsOnlyTheIdsWhoseAccessChanged()
+    {
+        _ledger.add(1, Access.DEFAULT);
+        _ledger.add(2, Access.PUBLIC);
+        _ledger.clearChanges();
+
+        _ledger.add(1, Access.PRIVATE);
+        _ledger.add(2, Access.PRIVATE);
+        _ledger.remove(2, Access.PUBLIC);
+        _ledger.add(5000, Access.PUBLIC);
+        _ledger.add(4, Access.PROTECTED);
+        _ledger.remove(4, Access.PROTECTED);
+
+        assertArrayEquals(new int[] { 2, 5000 }, _ledger.getChangedIds());
+
+        _ledger.clearChanges();
+        assertArrayEquals(new int[0], _ledger.getChangedIds());
+    }
+
+    @Test
+    public void equalsTheMaximumOfTheRemainingContributions()
+    {
+        List<List<Access>> contributions = new ArrayList<List<Access>>();
+        for (int id = 0; id < IDS; id++)
+        {
+            contributions.add(new ArrayList<Access>());
+        }
+
+        Random random = new Random(42);
+        for (int i = 0; i < OPERATIONS; i++)
+        {
+            int id = random.nextInt(IDS);
+            List<Access> accesses = contributions.get(id);
+            if (accesses.isEmpty() || random.nextInt(5) < 3)
+            {
+                Access access = ACCESSES[random.nextInt(ACCESSES.length)];
+                accesses.add(access);
+                _ledger.add(id, access);
+            }
+            else
+            {
+                _ledger.remove(id, accesses.remove(random.nextInt(accesses.size())));
+            }
+        }
+
+        for (int id = 0; id < IDS; id++)
+        {
+            assertEquals("Access of ID " + id, maximum(contributions.get(id)), _ledger.get(id));
+        }
+    }
+
+    private static Access maximum(List<Access> accesses)
+    {
+        Access maximum = null;
+        for (Access access : accesses)
+        {
+            if (maximum == null || access.compareTo(maximum) > 0)
+            {
+                maximum = access;
+            }
+        }
+        return maximum;
+    }
+}
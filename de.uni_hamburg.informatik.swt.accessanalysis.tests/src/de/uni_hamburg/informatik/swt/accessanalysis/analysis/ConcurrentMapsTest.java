@@ -0,0 +1,179 @@
+package de.uni_hamburg.informatik.swt.accessanalysis.analysis;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.Test;
+
+import de.uni_hamburg.informatik.swt.accessanalysis.access.Access;
+import de.uni_hamburg.informatik.swt.accessanalysis.bindings.KeyDictionary;
+
+
+/**
+ * Lets several threads update the concurrent maps at once and compares them
+ * with sequential maps that got the same updates one after another.
+ */
+public class ConcurrentMapsTest
+{
+    private static final Access[] ACCESSES = Access.values();
+    private static final int THREADS = 8;
+    private static final int UPDATES = 200000;
+    private static final int IDS = 150000;
+
+    @Test
+    public void concurrentMaximumEqualsSequentialMaximum() throws Exception
+    {
+        KeyDictionary keys = new KeyDictionary();
+        final ConcurrentTypeMap concurrentMap = new ConcurrentTypeMap(keys);
+        TypeMap sequentialMap = new TypeMap(keys);
+
+        final CountDownLatch start = new CountDownLatch(1);
+        List<Callable<Void>> writers = new ArrayList<Callable<Void>>();
+        for (int thread = 0; thread < THREADS; thread++)
+        {
+            final long seed = thread;
+            writers.add(new Callable<Void>()
+            {
+                @Override
+                public Void call() throws InterruptedException
+                {
+                    start.await();
+                    Random random = new Random(seed);
+                    for (int i = 0; i < UPDATES; i++)
+                    {
+                        concurrentMap.getAccessTable().putMaximum(random.nextInt(IDS), ACCESSES[random.nextInt(ACCESSES.length)]);
+                    }
+                    return null;
+                }
+            });
+
+            Random random = new Random(seed);
+            for (int i = 0; i < UPDATES; i++)
+            {
+                sequentialMap.getAccessTable().putMaximum(random.nextInt(IDS), ACCESSES[random.nextInt(ACCESSES.length)]);
+            }
+        }
+
+        runAtOnce(writers, start);
+
+        assertSameAccesses(sequentialMap.getAccessTable(), concurrentMap.getAccessTable());
+    }
+
+    @Test
+    public void concurrentMergeEqualsSequentialMerge() throws Exception
+    {
+        KeyDictionary keys = new KeyDictionary();
+        for (int id = 0; id < IDS; id++)
+        {
+            keys.id("m" + id);
+        }
+
+        List<MethodMap> workerMaps = new ArrayList<MethodMap>();
+        for (int thread = 0; thread < THREADS; thread++)
+        {
+            Random random = new Random(thread);
+            MethodMap workerMap = new MethodMap(keys);
+            for (int i = 0; i < UPDATES / THREADS; i++)
+            {
+                workerMap.getAccessTable().putMaximum(random.nextInt(IDS), ACCESSES[random.nextInt(ACCESSES.length)]);
+            }
+            for (int i = 0; i < IDS / THREADS / 4; i++)
+            {
+                int overriding = random.nextInt(IDS);
+                workerMap.putOverride(overriding, overriding / 2);
+            }
+            workerMaps.add(workerMap);
+        }
+
+        MethodMap sequentialMap = new MethodMap(keys);
+        for (MethodMap workerMap : workerMaps)
+        {
+            sequentialMap.putAll(workerMap);
+        }
+
+        final ConcurrentMethodMap concurrentMap = new ConcurrentMethodMap(keys);
+        final CountDownLatch start = new CountDownLatch(1);
+        List<Callable<Void>> mergers = new ArrayList<Callable<Void>>();
+        for (final MethodMap workerMap : workerMaps)
+        {
+            mergers.add(new Callable<Void>()
+            {
+                @Override
+                public Void call() throws InterruptedException
+                {
+                    start.await();
+                    concurrentMap.putAll(workerMap);
+                    return null;
+                }
+            });
+        }
+
+        runAtOnce(mergers, start);
+
+        assertSameAccesses(sequentialMap.getAccessTable(), concurrentMap.getAccessTable());
+        assertSameAccesses(sequentialMap.resolveOverrides(), concurrentMap.resolveOverrides());
+    }
+
+    @Test
+    public void putOverwritesOnlyItsOwnId()
+    {
+        ConcurrentAccessTable table = new ConcurrentAccessTable();
+        for (int id = 0; id < 8; id++)
+        {
+            table.putMaximum(id, Access.PROTECTED);
+        }
+
+        table.put(5, Access.PRIVATE);
+        table.put(6, null);
+        table.put(70000, Access.DEFAULT);
+
+        assertEquals(Access.PROTECTED, table.get(4));
+        assertEquals(Access.PRIVATE, table.get(5));
+        assertNull(table.get(6));
+        assertEquals(Access.PROTECTED, table.get(7));
+        assertEquals(Access.DEFAULT, table.get(70000));
+        assertNull(table.get(69999));
+        assertTrue(table.capacity() > 70000);
+    }
+
+    private static void runAtOnce(List<Callable<Void>> tasks, CountDownLatch start) throws Exception
+    {
+        ExecutorService threads = Executors.newFixedThreadPool(tasks.size());
+        try
+        {
+            List<Future<Void>> results = new ArrayList<Future<Void>>();
+            for (Callable<Void> task : tasks)
+            {
+                results.add(threads.submit(task));
+            }
+            start.countDown();
+            for (Future<Void> result : results)
+            {
+                result.get();
+            }
+        }
+        finally
+        {
+            threads.shutdownNow();
+        }
+    }
+
+    private static void assertSameAccesses(AccessTable expected, AccessTable actual)
+    {
+        int capacity = Math.max(expected.capacity(), actual.capacity());
+        for (int id = 0; id < capacity; id++)
+        {
+            assertEquals("Access of ID " + id, expected.get(id), actual.get(id));
+        }
+    }
+}
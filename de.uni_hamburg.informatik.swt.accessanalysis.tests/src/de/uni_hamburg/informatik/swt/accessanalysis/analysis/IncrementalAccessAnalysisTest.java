@@ -0,0 +1,106 @@
+package de.uni_hamburg.informatik.swt.accessanalysis.analysis;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.jdt.core.ICompilationUnit;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+
+/**
+ * Changes some classes of a project, updates an incremental analysis with the changed
+ * units only and checks that it has the same results as a full run on the changed project.
+ *
+ * Must be run as a JUnit plug-in test, since it analyses a project of the workspace.
+ */
+public class IncrementalAccessAnalysisTest
+{
+    private static final int PACKAGES = 4;
+    private static final int CLASSES = 6;
+    private static final int EDITS = 20;
+
+    private TestProject _project;
+    private IncrementalAccessAnalysis _analysis;
+
+    @Before
+    public void setUp() throws Exception
+    {
+        _project = TestProject.create("IncrementalAccessAnalysisTest", PACKAGES, CLASSES);
+        _analysis = new IncrementalAccessAnalysis(_project.asList());
+        _analysis.run(new NullProgressMonitor());
+    }
+
+    @After
+    public void tearDown() throws Exception
+    {
+        _project.delete();
+    }
+
+    @Test
+    public void fullRunEqualsBatchRun() throws Exception
+    {
+        assertSameResultsAsFullRun();
+    }
+
+    @Test
+    public void changedCallsEqualFullRun() throws Exception
+    {
+        update(_project.write(0, 1, 2), _project.write(2, 3, 4));
+        assertSameResultsAsFullRun();
+    }
+
+    @Test
+    public void changedDeclarationsEqualFullRun() throws Exception
+    {
+        update(_project.write(1, 2, 1));
+        assertSameResultsAsFullRun();
+
+        update(_project.write(1, 2, 2));
+        assertSameResultsAsFullRun();
+    }
+
+    @Test
+    public void addedAndRemovedUnitsEqualFullRun() throws Exception
+    {
+        ICompilationUnit added = _project.write(3, CLASSES, 5);
+        update(added);
+        assertSameResultsAsFullRun();
+
+        added.delete(true, null);
+        update(added);
+        assertSameResultsAsFullRun();
+    }
+
+    @Test
+    public void everyEditEqualsFullRun() throws Exception
+    {
+        Random random = new Random(7);
+        for (int edit = 1; edit <= EDITS; edit++)
+        {
+            List<ICompilationUnit> units = new ArrayList<ICompilationUnit>();
+            for (int n = random.nextInt(3); n >= 0; n--)
+            {
+                units.add(_project.write(random.nextInt(PACKAGES), random.nextInt(CLASSES), edit));
+            }
+            _analysis.update(units, new NullProgressMonitor());
+            assertSameResultsAsFullRun();
+        }
+    }
+
+    private void update(ICompilationUnit... units) throws Exception
+    {
+        _analysis.update(Arrays.asList(units), new NullProgressMonitor());
+    }
+
+    private void assertSameResultsAsFullRun() throws Exception
+    {
+        assertEquals(_project.analyze(ParsingStrategy.BATCH), TestProject.describe(_analysis.getResults()));
+    }
+}
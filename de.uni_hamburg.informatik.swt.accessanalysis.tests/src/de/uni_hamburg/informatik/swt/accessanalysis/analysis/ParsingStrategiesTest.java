@@ -0,0 +1,70 @@
+package de.uni_hamburg.informatik.swt.accessanalysis.analysis;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Map;
+
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+
+/**
+ * Checks that the strategies that visit the units with one handler set per worker
+ * and reduce the maps afterwards find the same results as a sequential run.
+ *
+ * Must be run as a JUnit plug-in test, since it analyses a project of the workspace.
+ */
+public class ParsingStrategiesTest
+{
+    private static final int PACKAGES = 6;
+    private static final int CLASSES = 8;
+    private static final int RUNS = 3;
+
+    private static TestProject _project;
+    private static Map<String, String> _sequentialResults;
+
+    @BeforeClass
+    public static void setUp() throws Exception
+    {
+        _project = TestProject.create("ParsingStrategiesTest", PACKAGES, CLASSES);
+        _sequentialResults = _project.analyze(ParsingStrategy.BATCH);
+    }
+
+    @AfterClass
+    public static void tearDown() throws Exception
+    {
+        _project.delete();
+    }
+
+    @Test
+    public void sequentialRunFindsEveryElement()
+    {
+        assertTrue(_sequentialResults.size() > PACKAGES * CLASSES);
+    }
+
+    @Test
+    public void perUnitEqualsSequentialRun() throws Exception
+    {
+        assertEquals(_sequentialResults, _project.analyze(ParsingStrategy.PER_UNIT));
+    }
+
+    @Test
+    public void pipelineEqualsSequentialRun() throws Exception
+    {
+        for (int run = 0; run < RUNS; run++)
+        {
+            assertEquals(_sequentialResults, _project.analyze(ParsingStrategy.PIPELINE));
+        }
+    }
+
+    @Test
+    public void packageTasksEqualSequentialRun() throws Exception
+    {
+        for (int run = 0; run < RUNS; run++)
+        {
+            assertEquals(_sequentialResults, _project.analyze(ParsingStrategy.PACKAGE_TASKS));
+        }
+    }
+}
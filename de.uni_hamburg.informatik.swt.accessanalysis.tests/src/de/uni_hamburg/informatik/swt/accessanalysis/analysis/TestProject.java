@@ -0,0 +1,232 @@
+package de.uni_hamburg.informatik.swt.accessanalysis.analysis;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import org.eclipse.core.resources.IFolder;
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.resources.IProjectDescription;
+import org.eclipse.core.resources.ResourcesPlugin;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.core.runtime.Path;
+import org.eclipse.jdt.core.IClasspathEntry;
+import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.IJavaProject;
+import org.eclipse.jdt.core.IPackageFragment;
+import org.eclipse.jdt.core.IPackageFragmentRoot;
+import org.eclipse.jdt.core.JavaCore;
+
+import de.uni_hamburg.informatik.swt.accessanalysis.AnalysisException;
+import de.uni_hamburg.informatik.swt.accessanalysis.results.Result;
+import de.uni_hamburg.informatik.swt.accessanalysis.results.ResultFormatter;
+
+
+/**
+ * A Java project in the workspace of the test run with generated classes.
+ *
+ * Every class calls methods of some other classes, chosen by a seed, so its methods
+ * need every access from private to public. A class can be written again with
+ * another seed, which changes its calls and, for odd seeds, adds a method.
+ */
+class TestProject
+{
+    private static final String JRE_CONTAINER = "org.eclipse.jdt.launching.JRE_CONTAINER";
+    private static final int CALLS = 4;
+
+    private final IJavaProject _project;
+    private final IPackageFragmentRoot _sourceFolder;
+    private final int _packages;
+    private final int _classes;
+
+    private TestProject(IJavaProject project, IPackageFragmentRoot sourceFolder, int packages, int classes)
+    {
+        _project = project;
+        _sourceFolder = sourceFolder;
+        _packages = packages;
+        _classes = classes;
+    }
+
+    /**
+     * Creates a Java project with some packages of classes that were written with the seed 0.
+     *
+     * @param String name The name of the project
+     * @param int packages The number of packages
+     * @param int classes The number of classes per package
+     * @return TestProject The project
+     *
+     * @throws CoreException if the project can't be created
+     */
+    static TestProject create(String name, int packages, int classes) throws CoreException
+    {
+        IProject project = ResourcesPlugin.getWorkspace().getRoot().getProject(name);
+        if (project.exists())
+        {
+            project.delete(true, true, null);
+        }
+        project.create(null);
+        project.open(null);
+        IProjectDescription description = project.getDescription();
+        description.setNatureIds(new String[] { JavaCore.NATURE_ID });
+        project.setDescription(description, null);
+
+        IFolder sourceFolder = project.getFolder("src");
+        sourceFolder.create(true, true, null);
+        IFolder outputFolder = project.getFolder("bin");
+        outputFolder.create(true, true, null);
+
+        IJavaProject javaProject = JavaCore.create(project);
+        javaProject.setRawClasspath(new IClasspathEntry[] {
+                JavaCore.newSourceEntry(sourceFolder.getFullPath()),
+                JavaCore.newContainerEntry(new Path(JRE_CONTAINER)) }, outputFolder.getFullPath(), null);
+
+        TestProject testProject = new TestProject(javaProject, javaProject.getPackageFragmentRoot(sourceFolder), packages, classes);
+        for (int pkg = 0; pkg < packages; pkg++)
+        {
+            for (int cls = 0; cls < classes; cls++)
+            {
+                testProject.write(pkg, cls, 0);
+            }
+        }
+        return testProject;
+    }
+
+    /**
+     * Returns the Java project.
+     *
+     * @return IJavaProject The project
+     */
+    IJavaProject getJavaProject()
+    {
+        return _project;
+    }
+
+    /**
+     * Returns the Java project in a list, as the analyses take it.
+     *
+     * @return List<IJavaProject> The list
+     */
+    List<IJavaProject> asList()
+    {
+        return Collections.singletonList(_project);
+    }
+
+    /**
+     * Writes a class, which replaces the class that has been written before.
+     * Classes beyond the number of classes per package are added.
+     *
+     * @param int pkg The number of the package
+     * @param int cls The number of the class
+     * @param long seed The seed the calls of the class are chosen by
+     * @return ICompilationUnit The compilation unit of the class
+     *
+     * @throws CoreException if the class can't be written
+     */
+    ICompilationUnit write(int pkg, int cls, long seed) throws CoreException
+    {
+        IPackageFragment packageFragment = _sourceFolder.createPackageFragment(packageName(pkg), true, null);
+        return packageFragment.createCompilationUnit(className(cls) + ".java", source(pkg, cls, seed), true, null);
+    }
+
+    /**
+     * Deletes the project from the workspace.
+     *
+     * @throws CoreException if the project can't be deleted
+     */
+    void delete() throws CoreException
+    {
+        _project.getProject().delete(true, true, null);
+    }
+
+    /**
+     * Runs a new AccessAnalysis on the project.
+     *
+     * @param ParsingStrategy parsingStrategy The way the ASTs are created
+     * @return Map<String, String> The results, see describe()
+     *
+     * @throws AnalysisException if the analysis fails
+     */
+    Map<String, String> analyze(ParsingStrategy parsingStrategy) throws AnalysisException
+    {
+        AccessAnalysis analysis = new AccessAnalysis(asList(), false, parsingStrategy);
+        analysis.run(new NullProgressMonitor());
+        return describe(analysis.getResults());
+    }
+
+    /**
+     * Describes every element of some result trees by the strings its formatter shows,
+     * identified by the handle of its Java element.
+     *
+     * @param List<Result> results The results of the projects
+     * @return Map<String, String> The descriptions
+     */
+    static Map<String, String> describe(List<Result> results)
+    {
+        Map<String, String> descriptions = new LinkedHashMap<String, String>();
+        describe(results, descriptions);
+        return descriptions;
+    }
+
+    private static void describe(List<Result> results, Map<String, String> descriptions)
+    {
+        for (Result result : results)
+        {
+            ResultFormatter formatter = result.getFormatter();
+            descriptions.put(result.getJavaElement().getHandleIdentifier(),
+                    formatter.name() + " " + formatter.minimalAccess() + " " + formatter.actualAccess()
+                    + " " + formatter.igat() + " " + formatter.igam() + " " + formatter.accessAlert());
+            describe(result.getChildren(), descriptions);
+        }
+    }
+
+    private String source(int pkg, int cls, long seed)
+    {
+        Random random = new Random((seed * _packages + pkg) * _classes + cls);
+        String superClass = packageName((pkg + 1) % _packages) + "." + className(cls - 1);
+
+        StringBuilder source = new StringBuilder();
+        source.append("package ").append(packageName(pkg)).append(";\n\n");
+        source.append("public class ").append(className(cls));
+        source.append(cls > 0 ? " extends " + superClass : "").append("\n{\n");
+        source.append("    public void run()\n    {\n");
+        for (int call = 0; call < CALLS; call++)
+        {
+            String target = packageName(random.nextInt(_packages)) + "." + className(random.nextInt(_classes));
+            switch (random.nextInt(3))
+            {
+                case 0:
+                    source.append("        new ").append(target).append("().helper();\n");
+                    break;
+                case 1:
+                    source.append("        ").append(target).append(".util();\n");
+                    break;
+                default:
+                    source.append("        ").append(cls > 0 ? "super.hook();\n" : "hook();\n");
+                    break;
+            }
+        }
+        source.append("    }\n\n");
+        source.append("    public void helper()\n    {\n    }\n\n");
+        source.append("    public static void util()\n    {\n    }\n\n");
+        source.append("    protected void hook()\n    {\n    }\n");
+        if (seed % 2 == 1)
+        {
+            source.append("\n    public void added").append(seed).append("()\n    {\n    }\n");
+        }
+        source.append("}\n");
+        return source.toString();
+    }
+
+    private static String packageName(int pkg)
+    {
+        return "p" + pkg;
+    }
+
+    private static String className(int cls)
+    {
+        return "C" + cls;
+    }
+}
@@ -0,0 +1,177 @@
+package de.uni_hamburg.informatik.swt.accessanalysis.results;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.List;
+
+import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.IMethod;
+import org.eclipse.jdt.core.IType;
+import org.junit.Before;
+import org.junit.Test;
+
+
+/**
+ * Checks that the store finds its elements by key and reuses the positions of
+ * removed elements, so it does not grow while the same units are added again and again,
+ * and that the frozen results are read without creating new ones.
+ */
+public class ResultStoreTest
+{
+    private static final int UNITS = 20;
+    private static final int TYPES_PER_UNIT = 3;
+    private static final int METHODS_PER_TYPE = 5;
+
+    private ResultStore _store;
+    private ICompilationUnit[] _units;
+
+    @Before
+    public void setUp()
+    {
+        _store = new ResultStore(null, new Metrics());
+        _units = new ICompilationUnit[UNITS];
+        for (int unit = 0; unit < UNITS; unit++)
+        {
+            _units[unit] = element(ICompilationUnit.class, "Unit" + unit, null);
+            addUnit(unit);
+        }
+        _store.freeze();
+    }
+
+    @Test
+    public void findsElementsOfAddedUnitsOnly()
+    {
+        int type = _store.findType("LUnit3$Type1;");
+        int method = _store.findMethod("LUnit3$Type1;.m4()V");
+        assertTrue(type >= 0);
+        assertEquals(type, _store.getMethodType(method));
+        assertEquals(METHODS_PER_TYPE, _store.getMethods(type).length);
+
+        _store.removeCompilationUnit(_units[3]);
+
+        assertEquals(-1, _store.findType("LUnit3$Type1;"));
+        assertEquals(-1, _store.findMethod("LUnit3$Type1;.m4()V"));
+        assertEquals(0, _store.getTypes(_units[3]).length);
+        assertEquals(TYPES_PER_UNIT, _store.getTypes(_units[4]).length);
+    }
+
+    @Test
+    public void keepsTheOrderOfAddition()
+    {
+        int[] types = _store.getTypes(_units[7]);
+        for (int n = 0; n < TYPES_PER_UNIT; n++)
+        {
+            assertEquals(_store.findType("LUnit7$Type" + n + ";"), types[n]);
+        }
+
+        int[] methods = _store.getMethods(types[2]);
+        for (int n = 0; n < METHODS_PER_TYPE; n++)
+        {
+            assertEquals(_store.findMethod("LUnit7$Type2;.m" + n + "()V"), methods[n]);
+        }
+    }
+
+    @Test
+    public void reusesPositionsOfRemovedElements()
+    {
+        for (int edit = 0; edit < 1000; edit++)
+        {
+            int unit = edit % UNITS;
+            _store.removeCompilationUnit(_units[unit]);
+            addUnit(unit);
+            _store.freeze();
+        }
+
+        for (int unit = 0; unit < UNITS; unit++)
+        {
+            for (int type : _store.getTypes(_units[unit]))
+            {
+                assertTrue("type position " + type, type < (UNITS + 1) * TYPES_PER_UNIT);
+                for (int method : _store.getMethods(type))
+                {
+                    assertTrue("method position " + method, method < (UNITS + 1) * TYPES_PER_UNIT * METHODS_PER_TYPE);
+                }
+            }
+        }
+        assertEquals(UNITS * TYPES_PER_UNIT, _store.getTypeResults().size());
+    }
+
+    @Test
+    public void doesNotReuseRemovedPositionsBeforeFreeze()
+    {
+        int[] removedTypes = _store.getTypes(_units[5]);
+        _store.removeCompilationUnit(_units[5]);
+        addUnit(5);
+
+        for (int type : _store.getTypes(_units[5]))
+        {
+            for (int removedType : removedTypes)
+            {
+                assertTrue(type != removedType);
+            }
+        }
+    }
+
+    @Test
+    public void frozenReadsReturnTheResultsOfTheLayout()
+    {
+        List<Result> types = _store.getTypeResults();
+        assertSame(types, _store.getTypeResults());
+        assertEquals(UNITS * TYPES_PER_UNIT, types.size());
+
+        Result type = types.get(0);
+        assertSame(type, _store.getTypeResults().get(0));
+        List<Result> methods = type.getChildren();
+        assertSame(methods, type.getChildren());
+        assertEquals(METHODS_PER_TYPE, methods.size());
+        assertSame(methods.get(0), type.getChildren().get(0));
+        assertSame(type, methods.get(0).getParent());
+    }
+
+    private void addUnit(int unit)
+    {
+        for (int n = 0; n < TYPES_PER_UNIT; n++)
+        {
+            String typeKey = "LUnit" + unit + "$Type" + n + ";";
+            int type = _store.addType(element(IType.class, typeKey, _units[unit]));
+            for (int m = 0; m < METHODS_PER_TYPE; m++)
+            {
+                _store.addMethod(type, element(IMethod.class, typeKey + ".m" + m + "()V", null));
+            }
+        }
+    }
+
+    /**
+     * Creates a Java element that only knows its key, name and compilation unit.
+     */
+    private static <T> T element(Class<T> elementType, final String key, final ICompilationUnit unit)
+    {
+        return elementType.cast(Proxy.newProxyInstance(ResultStoreTest.class.getClassLoader(), new Class<?>[] { elementType },
+                new InvocationHandler()
+                {
+                    @Override
+                    public Object invoke(Object proxy, Method method, Object[] args)
+                    {
+                        String name = method.getName();
+                        if (name.equals("equals"))
+                        {
+                            return proxy == args[0];
+                        }
+                        if (name.equals("hashCode"))
+                        {
+                            return System.identityHashCode(proxy);
+                        }
+                        if (name.equals("getCompilationUnit"))
+                        {
+                            return unit;
+                        }
+                        return key;
+                    }
+                }));
+    }
+}
@@ -9,6 +9,8 @@ import java.util.List;
 import org.eclipse.jdt.core.IJavaProject;
 
 import de.uni_hamburg.informatik.swt.accessanalysis.analysis.AccessAnalysis;
+import de.uni_hamburg.informatik.swt.accessanalysis.analysis.IncrementalAccessAnalysis;
+import de.uni_hamburg.informatik.swt.accessanalysis.analysis.ParsingStrategy;
 
 
 /**
@@ -23,6 +25,8 @@ public class AnalysisFactory
     {
         ACCESS_QUIET,
         ACCESS_VERBOSE,
+        ACCESS_PIPELINE,
+        ACCESS_PARALLEL,
     }
  
     /**
@@ -42,9 +46,13 @@ public class AnalysisFactory
         switch (mode)
         {
             case ACCESS_QUIET : 
-                return new AccessAnalysis(projects, false);
+                return new AccessAnalysis(projects, false, ParsingStrategy.BATCH);
             case ACCESS_VERBOSE : 
-                return new AccessAnalysis(projects, true);
+                return new AccessAnalysis(projects, true, ParsingStrategy.PER_UNIT);
+            case ACCESS_PIPELINE : 
+                return new AccessAnalysis(projects, false, ParsingStrategy.PIPELINE);
+            case ACCESS_PARALLEL : 
+                return new AccessAnalysis(projects, false, ParsingStrategy.PACKAGE_TASKS);
         }
         
         return null;
@@ -64,6 +72,18 @@ public class AnalysisFactory
         return analyzer(projects, type);
     }
     
+    /**
+     * Returns an analysis for a list of projects that keeps its results up to date
+     * by analysing only the compilation units that changed.
+     * 
+     * @param List<IJavaProject> projects The projects to be analyzed
+     * @return IncrementalAnalysis The analysis object
+     */
+    public static IncrementalAnalysis incrementalAnalyzer(List<IJavaProject> projects)
+    {
+        return new IncrementalAccessAnalysis(projects);
+    }
+    
     /**
      * Returns the analysis for a list of projects at the default mode.
      * 
@@ -0,0 +1,22 @@
+package de.uni_hamburg.informatik.swt.accessanalysis;
+
+import java.util.Collection;
+import java.util.List;
+
+import de.uni_hamburg.informatik.swt.accessanalysis.results.Result;
+
+
+/**
+ * Is notified when an incremental analysis has updated its results
+ */
+public interface AnalysisListener
+{
+    /**
+     * Is called after the results have been updated.
+     *
+     * @param List<Result> results The results of all projects
+     * @param Collection<Result> changedResults The results of the types and methods whose minimal
+     *      access or actual access may have changed, or the results of all projects after a full run
+     */
+    public void resultsChanged(List<Result> results, Collection<Result> changedResults);
+}
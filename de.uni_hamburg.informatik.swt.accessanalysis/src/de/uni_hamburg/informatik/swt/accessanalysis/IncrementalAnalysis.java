@@ -0,0 +1,56 @@
+package de.uni_hamburg.informatik.swt.accessanalysis;
+
+import java.util.Collection;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.jdt.core.ICompilationUnit;
+
+
+/**
+ * Analyses some files once and keeps the results up to date
+ * by analysing only the compilation units that changed
+ */
+public interface IncrementalAnalysis extends Analysis
+{
+    /**
+     * Updates the results after some compilation units have been added, changed or removed.
+     * Runs the whole analysis if it has not run yet.
+     *
+     * @param Collection<ICompilationUnit> units The compilation units
+     * @param IProgressMonitor monitor The progress monitor of choice
+     *
+     * @throws AnalysisException if an error occurs during the update
+     */
+    public void update(Collection<ICompilationUnit> units, IProgressMonitor monitor) throws AnalysisException;
+
+    /**
+     * Starts to follow the changes of the Java model and to update the results in the background.
+     * Files that are edited are analysed again whenever the editor reconciles them.
+     */
+    public void start();
+
+    /**
+     * Starts to follow the changes of the Java model, but updates the results in the
+     * background only after the builds of the analysed projects.
+     */
+    public void startWithBuilds();
+
+    /**
+     * Stops to follow the changes of the Java model and the builds.
+     */
+    public void stop();
+
+    /**
+     * Adds a listener that is notified whenever the results have been updated.
+     *
+     * @param AnalysisListener listener The listener
+     */
+    public void addListener(AnalysisListener listener);
+
+    /**
+     * Removes a listener.
+     *
+     * @param AnalysisListener listener The listener
+     */
+    public void removeListener(AnalysisListener listener);
+}
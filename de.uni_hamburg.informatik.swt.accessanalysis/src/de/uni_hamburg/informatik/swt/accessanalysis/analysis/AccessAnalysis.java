@@ -22,6 +22,7 @@ import de.uni_hamburg.informatik.swt.accessanalysis.Analysis;
 import de.uni_hamburg.informatik.swt.accessanalysis.AnalysisException;
 import de.uni_hamburg.informatik.swt.accessanalysis.analysis.constraints.ConstraintsCollector;
 import de.uni_hamburg.informatik.swt.accessanalysis.analysis.printer.ElementPrinter;
+import de.uni_hamburg.informatik.swt.accessanalysis.bindings.BindingCaches;
 import de.uni_hamburg.informatik.swt.accessanalysis.constraints.MethodAccessConstraintChecker;
 import de.uni_hamburg.informatik.swt.accessanalysis.constraints.TypeAccessConstraintChecker;
 import de.uni_hamburg.informatik.swt.accessanalysis.results.Result;
@@ -36,6 +37,7 @@ public class AccessAnalysis implements Analysis
 {
 	private final List<IJavaProject> _projects;
     private final ElementPrinter _printer;
+    private final ParsingStrategy _parsingStrategy;
 
     private List<Result> _projectResults = null;
     private Set<ICompilationUnit> _compilationUnits = null;
@@ -47,8 +49,21 @@ public class AccessAnalysis implements Analysis
      * @param boolean verbose Should some information be written to console during analysis?
      */
     public AccessAnalysis(List<IJavaProject> projects, boolean verbose)
+    {
+        this(projects, verbose, ParsingStrategy.PER_UNIT);
+    }
+    
+    /**
+     * Initializes an object of AccessAnalysis.
+     * 
+     * @param List<IJavaProject> projects The projects to be analyzed
+     * @param boolean verbose Should some information be written to console during analysis?
+     * @param ParsingStrategy parsingStrategy The way the ASTs of the compilation units are created
+     */
+    public AccessAnalysis(List<IJavaProject> projects, boolean verbose, ParsingStrategy parsingStrategy)
     {
         _projects = projects;
+        _parsingStrategy = parsingStrategy;
         
         if (verbose)
         {
@@ -151,9 +166,10 @@ public class AccessAnalysis implements Analysis
         checkAllReadable(_projects, monitor);
         
         _printer.analysisBefore();
+        BindingCaches caches = new BindingCaches();
         Set<TypeAccessConstraintChecker> typeConstraints = ConstraintsCollector.getTypeConstraints();
-        Set<MethodAccessConstraintChecker> methodConstraints = ConstraintsCollector.getMethodConstraints();
-        AccessAnalysisResultCollector resultCollector = new AccessAnalysisResultCollector(_projects, typeConstraints, methodConstraints, monitor, _printer);
+        Set<MethodAccessConstraintChecker> methodConstraints = ConstraintsCollector.getMethodConstraints(caches);
+        AccessAnalysisResultCollector resultCollector = new AccessAnalysisResultCollector(_projects, typeConstraints, methodConstraints, caches, monitor, _printer, _parsingStrategy);
         resultCollector.collect();
         _projectResults = resultCollector.getResults(monitor);
         _printer.analysisAfter();
@@ -171,7 +187,7 @@ public class AccessAnalysis implements Analysis
      * @throws CoreException if something goes wrong
      * @throws AnalysisException AnalysisException if a project can't be analyzed
      */
-    private void checkAllReadable(Collection<IJavaProject> projects, IProgressMonitor monitor) throws CoreException, AnalysisException, ProgressMonitorCanceledException
+    static void checkAllReadable(Collection<IJavaProject> projects, IProgressMonitor monitor) throws CoreException, AnalysisException, ProgressMonitorCanceledException
     {
         monitor.subTask("Check projects");
         for (IJavaProject project : projects)
@@ -191,7 +207,7 @@ public class AccessAnalysis implements Analysis
      * @throws CoreException if something goes wrong
      * @throws AnalysisException AnalysisException if the project can't be analyzed
      */
-    private void checkReadable(IJavaProject project) throws CoreException, AnalysisException
+    private static void checkReadable(IJavaProject project) throws CoreException, AnalysisException
     {
         if (hasError(project, IJavaModelMarker.BUILDPATH_PROBLEM_MARKER) || 
             hasError(project, IJavaModelMarker.JAVA_MODEL_PROBLEM_MARKER))
@@ -212,7 +228,7 @@ public class AccessAnalysis implements Analysis
      * 
      * @throws CoreException if something goes wrong
      */
-    private boolean hasError(IJavaProject project, String errorType) throws CoreException
+    private static boolean hasError(IJavaProject project, String errorType) throws CoreException
     {
         return IMarker.SEVERITY_ERROR == project.getUnderlyingResource().findMaxProblemSeverity(errorType, true, IResource.DEPTH_INFINITE);
     }  
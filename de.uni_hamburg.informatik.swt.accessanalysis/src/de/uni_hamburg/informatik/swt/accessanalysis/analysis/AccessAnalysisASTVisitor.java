@@ -36,7 +36,6 @@ import org.eclipse.jdt.core.dom.WildcardType;
 
 import de.uni_hamburg.informatik.swt.accessanalysis.analysis.determinators.ExpressionTypeDeterminator;
 import de.uni_hamburg.informatik.swt.accessanalysis.analysis.printer.ElementPrinter;
-import de.uni_hamburg.informatik.swt.accessanalysis.results.MethodResult;
 import de.uni_hamburg.informatik.swt.accessanalysis.results.PackageResult;
 import de.uni_hamburg.informatik.swt.accessanalysis.results.TypeResult;
 
@@ -78,9 +77,7 @@ class AccessAnalysisASTVisitor extends ASTVisitor {
     private void setType(AbstractTypeDeclaration node)
     {
         _printer.typeBefore(node);
-        TypeResult typeResult = new TypeResult(node, _packageResult);
-        _typeResults.push(typeResult);
-        _packageResult.addType(typeResult);
+        _typeResults.push(_packageResult.addType(node));
     }
 
     /**
@@ -239,7 +236,7 @@ class AccessAnalysisASTVisitor extends ASTVisitor {
             _methodHandler.handle(node);
             if (!_localOrAnonymous && node.resolveBinding() != null && node.resolveBinding().getJavaElement() != null)
             {
-                getTypeResult().addMethodResults(new MethodResult(node, getTypeResult()));
+                getTypeResult().addMethod(node);
             }
 
             _typeHandler.handle(node);
@@ -0,0 +1,145 @@
+package de.uni_hamburg.informatik.swt.accessanalysis.analysis;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.IJavaProject;
+import org.eclipse.jdt.core.JavaCore;
+import org.eclipse.jdt.core.JavaModelException;
+import org.eclipse.jdt.core.compiler.BuildContext;
+import org.eclipse.jdt.core.compiler.CompilationParticipant;
+import org.eclipse.jdt.core.compiler.ReconcileContext;
+import org.eclipse.jdt.core.dom.CompilationUnit;
+
+import de.uni_hamburg.informatik.swt.accessanalysis.extensions.RcpExtension;
+
+
+/**
+ * Tells the running incremental analyses when a build of one of their projects
+ * has finished and hands them the ASTs of their reconciled working copies.
+ *
+ * The participant does not look at the compiled files, because the changed
+ * compilation units are already collected from the deltas of the Java model
+ * and the builder does not hand out its ASTs. It only remembers which projects
+ * had a full build, so the build itself is not slowed down.
+ *
+ * A reconcile hands out the AST the reconciler has built anyway. It is visited
+ * synchronously on the reconcile thread, since it is only valid while the
+ * reconcile runs, so a working copy is not parsed a second time.
+ */
+@RcpExtension
+public class AccessAnalysisCompilationParticipant extends CompilationParticipant
+{
+    private static final List<IncrementalAccessAnalysis> ANALYSES = new CopyOnWriteArrayList<IncrementalAccessAnalysis>();
+
+    private final Set<IJavaProject> _fullBuilds = new HashSet<IJavaProject>();
+
+    /**
+     * Lets an analysis be told about the builds and reconciles of its projects.
+     *
+     * @param IncrementalAccessAnalysis analysis The analysis
+     */
+    static void register(IncrementalAccessAnalysis analysis)
+    {
+        ANALYSES.add(analysis);
+    }
+
+    /**
+     * Stops to tell an analysis about builds and reconciles.
+     *
+     * @param IncrementalAccessAnalysis analysis The analysis
+     */
+    static void unregister(IncrementalAccessAnalysis analysis)
+    {
+        ANALYSES.remove(analysis);
+    }
+
+    @Override
+    public boolean isActive(IJavaProject project)
+    {
+        for (IncrementalAccessAnalysis analysis : ANALYSES)
+        {
+            if (analysis.analyses(project))
+            {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public void buildStarting(BuildContext[] files, boolean isBatch)
+    {
+        if (isBatch && files.length > 0)
+        {
+            synchronized (_fullBuilds)
+            {
+                _fullBuilds.add(JavaCore.create(files[0].getFile().getProject()));
+            }
+        }
+    }
+
+    @Override
+    public void buildFinished(IJavaProject project)
+    {
+        boolean fullBuild;
+        synchronized (_fullBuilds)
+        {
+            fullBuild = _fullBuilds.remove(project);
+        }
+
+        for (IncrementalAccessAnalysis analysis : ANALYSES)
+        {
+            if (analysis.analyses(project))
+            {
+                analysis.buildFinished(fullBuild);
+            }
+        }
+    }
+
+    @Override
+    public void reconcile(ReconcileContext context)
+    {
+        ICompilationUnit unit = context.getWorkingCopy();
+        if (unit.getOwner() != null)
+        {
+            return;
+        }
+
+        List<IncrementalAccessAnalysis> analyses = new ArrayList<IncrementalAccessAnalysis>();
+        for (IncrementalAccessAnalysis analysis : ANALYSES)
+        {
+            if (analysis.analyses(unit.getJavaProject()))
+            {
+                analyses.add(analysis);
+            }
+        }
+        if (analyses.isEmpty())
+        {
+            return;
+        }
+
+        CompilationUnit ast;
+        try
+        {
+            ast = context.getAST4();
+        }
+        catch (JavaModelException e)
+        {
+            return;
+        }
+        if (ast == null)
+        {
+            return;
+        }
+
+        for (IncrementalAccessAnalysis analysis : analyses)
+        {
+            analysis.reconciled(unit, ast);
+        }
+    }
+}
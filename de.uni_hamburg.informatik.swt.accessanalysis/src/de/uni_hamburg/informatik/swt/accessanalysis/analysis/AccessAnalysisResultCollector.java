@@ -1,10 +1,22 @@
 package de.uni_hamburg.informatik.swt.accessanalysis.analysis;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.OperationCanceledException;
 import org.eclipse.jdt.core.ICompilationUnit;
 import org.eclipse.jdt.core.IJavaElement;
 import org.eclipse.jdt.core.IJavaProject;
@@ -13,10 +25,13 @@ import org.eclipse.jdt.core.IPackageFragmentRoot;
 import org.eclipse.jdt.core.JavaModelException;
 import org.eclipse.jdt.core.dom.AST;
 import org.eclipse.jdt.core.dom.ASTParser;
+import org.eclipse.jdt.core.dom.ASTRequestor;
 import org.eclipse.jdt.core.dom.CompilationUnit;
 
-import de.uni_hamburg.informatik.swt.accessanalysis.analysis.determinators.ExpressionTypeDeterminator;
+import de.uni_hamburg.informatik.swt.accessanalysis.AnalysisException;
 import de.uni_hamburg.informatik.swt.accessanalysis.analysis.printer.ElementPrinter;
+import de.uni_hamburg.informatik.swt.accessanalysis.bindings.BindingCaches;
+import de.uni_hamburg.informatik.swt.accessanalysis.bindings.KeyDictionary;
 import de.uni_hamburg.informatik.swt.accessanalysis.constraints.MethodAccessConstraintChecker;
 import de.uni_hamburg.informatik.swt.accessanalysis.constraints.TypeAccessConstraintChecker;
 import de.uni_hamburg.informatik.swt.accessanalysis.results.MethodResult;
@@ -28,104 +43,402 @@ import de.uni_hamburg.informatik.swt.accessanalysis.results.TypeResult;
 
 class AccessAnalysisResultCollector {
 
+    private static final int PROCESSORS = Runtime.getRuntime().availableProcessors();
+    private static final int PARSER_THREADS = PROCESSORS;
+    private static final int PACKAGE_THREADS = PROCESSORS;
+    private static final int MERGE_THREADS = PROCESSORS;
+    private static final long AWAIT_MILLIS = 100;
+
     private final List<IJavaProject> _projects;
     private final Set<TypeAccessConstraintChecker> _typeConstraints;
     private final Set<MethodAccessConstraintChecker> _methodConstraints;
+    private final BindingCaches _caches;
     private final IProgressMonitor _monitor;
     private final ElementPrinter _printer;
+    private final ParsingStrategy _parsingStrategy;
     
     private List<ProjectResult> _projectResults;
     private List<Result> _mergedResults;
-    private ExpressionTypeDeterminator _expressionTypeDeterminator;
-    private TypeHandler _typeHandler;
-    private MethodHandler _methodHandler;
-    private ProjectResult _currentProjectResult;
-    private SourceFolderResult _currentSourceFolderResult;
-    private PackageResult _currentPackageResult;
+    private KeyDictionary _typeKeys;
+    private KeyDictionary _methodKeys;
+    private List<HandlerSet> _handlerSets;
+    private HandlerSet _handlers;
+    private ThreadLocal<HandlerSet> _workerHandlers;
+    private ExecutorService _packageWorkers;
+    private List<ForkedPackage> _forkedPackages;
+    private Map<ICompilationUnit, PackageResult> _pendingUnits;
 
     AccessAnalysisResultCollector(List<IJavaProject> projects, Set<TypeAccessConstraintChecker> typeConstraints,
-            Set<MethodAccessConstraintChecker> methodConstraints, IProgressMonitor monitor, ElementPrinter printer)
+            Set<MethodAccessConstraintChecker> methodConstraints, BindingCaches caches, IProgressMonitor monitor,
+            ElementPrinter printer, ParsingStrategy parsingStrategy)
     {
         _projects = projects;
         _typeConstraints = typeConstraints;
         _methodConstraints = methodConstraints;
+        _caches = caches;
         _monitor = monitor;
         _printer = printer;
+        _parsingStrategy = parsingStrategy;
     }
     
-    void collect() throws JavaModelException, ProgressMonitorCanceledException
+    void collect() throws AnalysisException, JavaModelException, ProgressMonitorCanceledException
     {
         _projectResults = new ArrayList<ProjectResult>();
         _mergedResults = null;
-        _expressionTypeDeterminator = new ExpressionTypeDeterminator();
-        _typeHandler = new TypeHandler(_expressionTypeDeterminator, _typeConstraints);
-        _methodHandler = new MethodHandler(_expressionTypeDeterminator, _methodConstraints);
-        _currentProjectResult = null;
-        _currentSourceFolderResult = null;
-        _currentPackageResult = null;
+        _typeKeys = _caches.getTypeKeys();
+        _methodKeys = new KeyDictionary();
+        _handlers = new HandlerSet(_typeConstraints, _methodConstraints, _typeKeys, _methodKeys, _caches);
+        _handlerSets = new ArrayList<HandlerSet>();
+        _handlerSets.add(_handlers);
+        _workerHandlers = null;
+        _packageWorkers = null;
+        _forkedPackages = null;
+        _pendingUnits = null;
+        
+        if (_parsingStrategy == ParsingStrategy.PACKAGE_TASKS)
+        {
+            _workerHandlers = new WorkerHandlers();
+            _packageWorkers = Executors.newFixedThreadPool(PACKAGE_THREADS, new DaemonThreadFactory("AccessAnalysis Package Worker"));
+        }
         
-        for (IJavaProject project : _projects)
+        try
+        {
+            for (IJavaProject project : _projects)
+            {
+                analyzeProject(project);
+            }
+            _printer.counter("Package lookups saved", _caches.getSourcePackages().getSavedLookups());
+            _printer.counter("Supertype checks", _caches.getSupertypes().getQueries());
+            _printer.counter("Supertype checks without hierarchy walk", _caches.getSupertypes().getHits());
+            _printer.counter("Overridden method searches", _caches.getOverriddenMethods().getQueries());
+            _printer.counter("Overridden method searches without hierarchy walk", _caches.getOverriddenMethods().getHits());
+            _printer.counter("Evaluations pruned for public elements", getPrunedEvaluations());
+        }
+        finally
         {
-            analyzeProject(project);
+            if (_packageWorkers != null)
+            {
+                _packageWorkers.shutdownNow();
+                _packageWorkers = null;
+            }
+            _workerHandlers = null;
         }
     }
     
-    private void analyzeProject(IJavaProject project) throws JavaModelException, ProgressMonitorCanceledException
+    private void analyzeProject(IJavaProject project) throws AnalysisException, JavaModelException, ProgressMonitorCanceledException
     {
         _printer.projectBefore(project);
-        _currentProjectResult = new ProjectResult(project);
-        _projectResults.add(_currentProjectResult);
+        ProjectResult projectResult = new ProjectResult(project);
+        _projectResults.add(projectResult);
+        _pendingUnits = new LinkedHashMap<ICompilationUnit, PackageResult>();
+        _forkedPackages = new ArrayList<ForkedPackage>();
         for (IPackageFragmentRoot packageFragmentRoot : project.getPackageFragmentRoots())
         {
-            analyzeSourceFolder(packageFragmentRoot);
+            analyzeSourceFolder(packageFragmentRoot, projectResult);
+        }
+        if (_parsingStrategy == ParsingStrategy.BATCH)
+        {
+            analyzeBatch(project);
+        }
+        else if (_parsingStrategy == ParsingStrategy.PIPELINE)
+        {
+            analyzePipelined(project);
+        }
+        else if (_parsingStrategy == ParsingStrategy.PACKAGE_TASKS)
+        {
+            joinForkedPackages();
         }
         _printer.projectAfter();
-        _currentProjectResult = null;
+        _pendingUnits = null;
+        _forkedPackages = null;
     }
     
-    private void analyzeSourceFolder(IPackageFragmentRoot packageFragmentRoot) throws JavaModelException, ProgressMonitorCanceledException
+    private void analyzeSourceFolder(IPackageFragmentRoot packageFragmentRoot, ProjectResult projectResult) throws JavaModelException, ProgressMonitorCanceledException
     {
         if (packageFragmentRoot.getKind() == IPackageFragmentRoot.K_SOURCE)
         {
             _printer.sourceFolderBefore(packageFragmentRoot);
-            _currentSourceFolderResult = new SourceFolderResult(packageFragmentRoot, _currentProjectResult);
-            _currentProjectResult.addSourceFolder(_currentSourceFolderResult);
+            SourceFolderResult sourceFolderResult = new SourceFolderResult(packageFragmentRoot, projectResult);
+            projectResult.addSourceFolder(sourceFolderResult);
             for (IJavaElement child : packageFragmentRoot.getChildren())
             {
                 if (child instanceof IPackageFragment)
                 {
-                    analyzePackage((IPackageFragment) child);
+                    _caches.getSourcePackages().addSourcePackage((IPackageFragment) child);
+                    analyzePackage((IPackageFragment) child, sourceFolderResult);
                 }
             }
             _printer.sourceFolderAfter();
-            _currentSourceFolderResult = null;
         }
     }
 
-    private void analyzePackage(IPackageFragment packageFragment) throws JavaModelException, ProgressMonitorCanceledException
+    private void analyzePackage(IPackageFragment packageFragment, SourceFolderResult sourceFolderResult) throws JavaModelException, ProgressMonitorCanceledException
     {
         if (packageFragment.getCompilationUnits().length > 0)
         {
+            if (_parsingStrategy == ParsingStrategy.PACKAGE_TASKS)
+            {
+                Future<PackageResult> packageResult = _packageWorkers.submit(new PackageTask(packageFragment, sourceFolderResult));
+                _forkedPackages.add(new ForkedPackage(sourceFolderResult, packageResult));
+                return;
+            }
+            
             _printer.packageBefore(packageFragment);
-            _currentPackageResult = new PackageResult(packageFragment, _currentSourceFolderResult);
-            _currentSourceFolderResult.addPackage(_currentPackageResult);
+            PackageResult packageResult = new PackageResult(packageFragment, sourceFolderResult);
+            sourceFolderResult.addPackage(packageResult);
             for (ICompilationUnit unit : packageFragment.getCompilationUnits())
             {
-                analyzeCompilationUnit(unit);
+                if (_parsingStrategy == ParsingStrategy.PER_UNIT)
+                {
+                    analyzeCompilationUnit(unit, packageResult);
+                }
+                else
+                {
+                    _pendingUnits.put(unit, packageResult);
+                }
             }
             _printer.packageAfter();
-            _currentPackageResult = null;
         }
     }
 
-    private void analyzeCompilationUnit(ICompilationUnit unit) throws ProgressMonitorCanceledException
+    private void analyzeCompilationUnit(ICompilationUnit unit, PackageResult packageResult) throws ProgressMonitorCanceledException
     {
         ProgressMonitorCanceledException.checkMonitor(_monitor);
-        _monitor.subTask("Read " + unit.getPath().toString());
-        CompilationUnit ast = parse(unit);
-        AccessAnalysisASTVisitor visitor = new AccessAnalysisASTVisitor(_currentPackageResult, _typeHandler, _methodHandler, _expressionTypeDeterminator, _printer);
-        ast.accept(visitor);
-        _monitor.worked(1);
+        visit(unit, parse(unit), packageResult, _handlers);
+    }
+    
+    /**
+     * Parses all compilation units of a project that were collected while walking 
+     * its source folders in one batch, so that all of them share one binding environment.
+     * Units that the batch does not deliver are parsed one by one afterwards. 
+     * 
+     * @param IJavaProject project The project the collected units belong to
+     * 
+     * @throws ProgressMonitorCanceledException if the progress monitor is in canceled state
+     */
+    private void analyzeBatch(IJavaProject project) throws ProgressMonitorCanceledException
+    {
+        if (! _pendingUnits.isEmpty())
+        {
+            ICompilationUnit[] units = _pendingUnits.keySet().toArray(new ICompilationUnit[_pendingUnits.size()]);
+            ASTParser parser = newParser();
+            parser.setProject(project);
+            try
+            {
+                parser.createASTs(units, new String[0], new BatchRequestor(), null);
+            }
+            catch (OperationCanceledException cancelExc)
+            {
+                throw new ProgressMonitorCanceledException();
+            }
+            
+            analyzeRemainingUnits();
+        }
+    }
+    
+    /**
+     * Parses all compilation units of a project that were collected while walking 
+     * its source folders in shards on a pool of parser threads. Every parser thread
+     * visits the ASTs of its shard as they become available with a handler set of its own. 
+     * Units that the parsers do not deliver are parsed one by one afterwards. 
+     * 
+     * @param IJavaProject project The project the collected units belong to
+     * 
+     * @throws AnalysisException if a parser thread failed
+     * @throws ProgressMonitorCanceledException if the progress monitor is in canceled state
+     */
+    private void analyzePipelined(IJavaProject project) throws AnalysisException, ProgressMonitorCanceledException
+    {
+        if (! _pendingUnits.isEmpty())
+        {
+            ICompilationUnit[] units = _pendingUnits.keySet().toArray(new ICompilationUnit[_pendingUnits.size()]);
+            AstPipeline.AstConsumer[] consumers = new AstPipeline.AstConsumer[PARSER_THREADS];
+            for (int i = 0; i < consumers.length; i++)
+            {
+                consumers[i] = new HandlerSetConsumer(handlerSet(i));
+            }
+            
+            AstPipeline pipeline = new AstPipeline(project, units);
+            pipeline.run(consumers, _monitor);
+            
+            if (pipeline.getError() != null)
+            {
+                _printer.error(pipeline.getError());
+                throw new AnalysisException(pipeline.getError());
+            }
+            
+            analyzeRemainingUnits();
+        }
+    }
+    
+    /**
+     * Waits for the package tasks of a project in the order they were forked 
+     * and adds their results to their source folders, so the result tree is 
+     * built in the same order as by a sequential walk.
+     * 
+     * @throws JavaModelException if a package task failed to access the Java model
+     * @throws ProgressMonitorCanceledException if the progress monitor is in canceled state
+     */
+    private void joinForkedPackages() throws JavaModelException, ProgressMonitorCanceledException
+    {
+        for (ForkedPackage forkedPackage : _forkedPackages)
+        {
+            forkedPackage._sourceFolderResult.addPackage(join(forkedPackage._packageResult, _monitor));
+        }
+    }
+    
+    /**
+     * Waits for a task while watching the progress monitor.
+     * 
+     * @param Future<T> result The pending result of the task
+     * @param IProgressMonitor monitor The progress monitor to be watched
+     * @return T The result of the task
+     * 
+     * @throws JavaModelException if the task failed to access the Java model
+     * @throws ProgressMonitorCanceledException if the progress monitor is in canceled state
+     */
+    private static <T> T join(Future<T> result, IProgressMonitor monitor) throws JavaModelException, ProgressMonitorCanceledException
+    {
+        while (true)
+        {
+            ProgressMonitorCanceledException.checkMonitor(monitor);
+            try
+            {
+                return result.get(AWAIT_MILLIS, TimeUnit.MILLISECONDS);
+            }
+            catch (TimeoutException e)
+            {
+            }
+            catch (InterruptedException e)
+            {
+                Thread.currentThread().interrupt();
+                throw new ProgressMonitorCanceledException();
+            }
+            catch (ExecutionException e)
+            {
+                Throwable cause = e.getCause();
+                if (cause instanceof JavaModelException)
+                {
+                    throw (JavaModelException) cause;
+                }
+                if (cause instanceof ProgressMonitorCanceledException)
+                {
+                    throw (ProgressMonitorCanceledException) cause;
+                }
+                if (cause instanceof RuntimeException)
+                {
+                    throw (RuntimeException) cause;
+                }
+                throw (Error) cause;
+            }
+        }
+    }
+    
+    /**
+     * Returns the number of access evaluations all handler sets skipped because the element was already public.
+     * 
+     * @return long The number of skipped evaluations
+     */
+    private long getPrunedEvaluations()
+    {
+        long prunedEvaluations = 0;
+        synchronized (_handlerSets)
+        {
+            for (HandlerSet handlerSet : _handlerSets)
+            {
+                prunedEvaluations += handlerSet.getPrunedEvaluations();
+            }
+        }
+        return prunedEvaluations;
+    }
+    
+    /**
+     * Creates a handler set for a new worker thread.
+     * 
+     * @return HandlerSet The handler set
+     */
+    private HandlerSet newWorkerHandlerSet()
+    {
+        HandlerSet handlerSet = new HandlerSet(_typeConstraints, _methodConstraints, _typeKeys, _methodKeys, _caches);
+        synchronized (_handlerSets)
+        {
+            _handlerSets.add(handlerSet);
+        }
+        return handlerSet;
+    }
+    
+    /**
+     * Returns the handler set of a worker and creates it if necessary. 
+     * The handler set with index 0 is the one of the calling thread.
+     * 
+     * @param int index The index of the worker
+     * @return HandlerSet The handler set of the worker
+     */
+    private HandlerSet handlerSet(int index)
+    {
+        while (_handlerSets.size() <= index)
+        {
+            _handlerSets.add(new HandlerSet(_typeConstraints, _methodConstraints, _typeKeys, _methodKeys, _caches));
+        }
+        return _handlerSets.get(index);
+    }
+    
+    /**
+     * Visits the AST of a collected compilation unit 
+     * and removes the unit from the collected ones.
+     * 
+     * @param ICompilationUnit unit The compilation unit
+     * @param CompilationUnit ast The root element of the AST of the unit
+     * @param HandlerSet handlers The handlers of the visiting thread
+     */
+    private void visitPendingUnit(ICompilationUnit unit, CompilationUnit ast, HandlerSet handlers)
+    {
+        PackageResult packageResult;
+        synchronized (_pendingUnits)
+        {
+            packageResult = _pendingUnits.remove(unit);
+        }
+        if (packageResult != null)
+        {
+            visit(unit, ast, packageResult, handlers);
+        }
+    }
+    
+    /**
+     * Parses and visits the collected compilation units that have not been visited yet
+     * one by one.
+     * 
+     * @throws ProgressMonitorCanceledException if the progress monitor is in canceled state
+     */
+    private void analyzeRemainingUnits() throws ProgressMonitorCanceledException
+    {
+        for (Map.Entry<ICompilationUnit, PackageResult> entry : _pendingUnits.entrySet())
+        {
+            analyzeCompilationUnit(entry.getKey(), entry.getValue());
+        }
+        _pendingUnits.clear();
+    }
+    
+    /**
+     * Runs the visitor on the AST of a compilation unit 
+     * and increments the progress monitor by 1.
+     * 
+     * @param ICompilationUnit unit The compilation unit
+     * @param CompilationUnit ast The root element of the AST of the unit 
+     * @param PackageResult packageResult The result of the package the unit belongs to
+     * @param HandlerSet handlers The handlers of the visiting thread
+     */
+    private void visit(ICompilationUnit unit, CompilationUnit ast, PackageResult packageResult, HandlerSet handlers)
+    {
+        synchronized (_monitor)
+        {
+            _monitor.subTask("Read " + unit.getPath().toString());
+        }
+        ast.accept(handlers.newVisitor(packageResult, _printer));
+        synchronized (_monitor)
+        {
+            _monitor.worked(1);
+        }
     }
     
     /**
@@ -136,12 +449,143 @@ class AccessAnalysisResultCollector {
      * @return CompilationUnit The root element of the AST
      */
     private CompilationUnit parse(ICompilationUnit unit)
+    {
+        ASTParser parser = newParser();
+        parser.setSource(unit);
+        return (CompilationUnit) parser.createAST(null);
+    }
+    
+    /**
+     * Creates a parser for compilation units with resolved bindings.
+     * 
+     * @return ASTParser The parser
+     */
+    static ASTParser newParser()
     {
         ASTParser parser = ASTParser.newParser(AST.JLS3);
         parser.setKind(ASTParser.K_COMPILATION_UNIT);
-        parser.setSource(unit);
         parser.setResolveBindings(true);
-        return (CompilationUnit) parser.createAST(null);
+        return parser;
+    }
+    
+    /**
+     * Visits the ASTs of a batch as soon as they are created.
+     */
+    private class BatchRequestor extends ASTRequestor
+    {
+        @Override
+        public void acceptAST(ICompilationUnit source, CompilationUnit ast)
+        {
+            if (_monitor.isCanceled())
+            {
+                throw new OperationCanceledException();
+            }
+            
+            visitPendingUnit(source, ast, _handlers);
+        }
+    }
+    
+    /**
+     * Builds the result subtree of a single package on a worker thread.
+     * All units of the package are parsed in one batch and visited with 
+     * the handlers of the worker thread.
+     */
+    private class PackageTask implements Callable<PackageResult>
+    {
+        private final IPackageFragment _packageFragment;
+        private final SourceFolderResult _sourceFolderResult;
+        
+        private PackageTask(IPackageFragment packageFragment, SourceFolderResult sourceFolderResult)
+        {
+            _packageFragment = packageFragment;
+            _sourceFolderResult = sourceFolderResult;
+        }
+        
+        @Override
+        public PackageResult call() throws JavaModelException, ProgressMonitorCanceledException
+        {
+            final PackageResult packageResult = new PackageResult(_packageFragment, _sourceFolderResult);
+            final HandlerSet handlers = _workerHandlers.get();
+            final Set<ICompilationUnit> remainingUnits = new LinkedHashSet<ICompilationUnit>(Arrays.asList(_packageFragment.getCompilationUnits()));
+            
+            ASTParser parser = newParser();
+            parser.setProject(_packageFragment.getJavaProject());
+            try
+            {
+                parser.createASTs(remainingUnits.toArray(new ICompilationUnit[remainingUnits.size()]), new String[0], new ASTRequestor()
+                {
+                    @Override
+                    public void acceptAST(ICompilationUnit source, CompilationUnit ast)
+                    {
+                        if (_monitor.isCanceled())
+                        {
+                            throw new OperationCanceledException();
+                        }
+                        
+                        remainingUnits.remove(source);
+                        visit(source, ast, packageResult, handlers);
+                    }
+                }, null);
+            }
+            catch (OperationCanceledException cancelExc)
+            {
+                throw new ProgressMonitorCanceledException();
+            }
+            
+            for (ICompilationUnit unit : remainingUnits)
+            {
+                ProgressMonitorCanceledException.checkMonitor(_monitor);
+                visit(unit, parse(unit), packageResult, handlers);
+            }
+            
+            return packageResult;
+        }
+    }
+    
+    /**
+     * A package task together with the source folder its result belongs to.
+     */
+    private static class ForkedPackage
+    {
+        private final SourceFolderResult _sourceFolderResult;
+        private final Future<PackageResult> _packageResult;
+        
+        private ForkedPackage(SourceFolderResult sourceFolderResult, Future<PackageResult> packageResult)
+        {
+            _sourceFolderResult = sourceFolderResult;
+            _packageResult = packageResult;
+        }
+    }
+    
+    /**
+     * Gives every worker thread a handler set of its own.
+     */
+    private class WorkerHandlers extends ThreadLocal<HandlerSet>
+    {
+        @Override
+        protected HandlerSet initialValue()
+        {
+            return newWorkerHandlerSet();
+        }
+    }
+    
+    /**
+     * Visits the ASTs of one shard of the pipeline with the handlers of its parser thread.
+     */
+    private class HandlerSetConsumer implements AstPipeline.AstConsumer
+    {
+        private final HandlerSet _consumerHandlers;
+        
+        private HandlerSetConsumer(HandlerSet handlers)
+        {
+            _consumerHandlers = handlers;
+        }
+        
+        @Override
+        public void accept(ICompilationUnit unit, CompilationUnit ast)
+        {
+            visitPendingUnit(unit, ast, _consumerHandlers);
+        }
     }
     
     /**
@@ -149,9 +593,10 @@ class AccessAnalysisResultCollector {
      * 
      * @return List<Result> All top level result elements (ProjectResults)
      *      or null if collect() haven't been called yet
+     * @throws JavaModelException if the results can't be merged
      * @throws ProgressMonitorCanceledException if ProgressMonitor has canceled state.
      */
-    List<Result> getResults(IProgressMonitor monitor) throws ProgressMonitorCanceledException
+    List<Result> getResults(IProgressMonitor monitor) throws JavaModelException, ProgressMonitorCanceledException
     {
         if (_projectResults != null && _mergedResults == null)
         {
@@ -167,39 +612,125 @@ class AccessAnalysisResultCollector {
      * Extracts the minimal access of types and methods from the maps 
      * and sets the results.
      * 
-     * Starts a new progress monitor subtask and increments it by 1 when successful.
+     * The maps of the handler sets are reduced to one by a task per handler set
+     * on a pool of merge threads, which merge into concurrent maps at once.
+     * Then every package is merged by a task of its own on the same pool,
+     * since the maps are only read while the results are set.
      * 
-     * @param Collection<Result> projectResults The results to be set
-     * @param MethodMap methodMap Map of minimal access of all methods
-     * @param TypeMap typeMap Map of minimal access of all types  
+     * @param IProgressMonitor monitor The current progress monitor
      * 
+     * @throws JavaModelException if a merge task failed
      * @throws ProgressMonitorCanceledException if progress monitor get in canceled state
      */
-    private void mergeResults(IProgressMonitor monitor) throws ProgressMonitorCanceledException
+    private void mergeResults(IProgressMonitor monitor) throws JavaModelException, ProgressMonitorCanceledException
     {
-        MethodMap methodMap = _methodHandler.getMethodMap();
-        TypeMap typeMap = _typeHandler.getTypeMap();
-        
-        for (Result projectResult : _projectResults)
+        ExecutorService mergers = Executors.newFixedThreadPool(MERGE_THREADS, new DaemonThreadFactory("AccessAnalysis Merger"));
+        try
         {
-            for (Result sourceFolderResult : projectResult.getChildren()) //Source Folder
+            MethodMap methodMap = _handlers.getMethodMap();
+            TypeMap typeMap = _handlers.getTypeMap();
+            if (_handlerSets.size() > 1)
             {
-                for (Result packageResult : sourceFolderResult.getChildren()) //Packages
+                methodMap = new ConcurrentMethodMap(_methodKeys);
+                typeMap = new ConcurrentTypeMap(_typeKeys);
+                List<Future<Void>> reducedSets = new ArrayList<Future<Void>>();
+                for (HandlerSet handlerSet : _handlerSets)
                 {
-                    for (Result typeResult : packageResult.getChildren()) //Types
+                    reducedSets.add(mergers.submit(new ReduceTask(handlerSet, typeMap, methodMap)));
+                }
+                for (Future<Void> reducedSet : reducedSets)
+                {
+                    join(reducedSet, monitor);
+                }
+            }
+            methodMap.resolveOverrides();
+            
+            List<Future<Void>> mergedPackages = new ArrayList<Future<Void>>();
+            for (Result projectResult : _projectResults)
+            {
+                for (Result sourceFolderResult : projectResult.getChildren()) //Source Folder
+                {
+                    for (Result packageResult : sourceFolderResult.getChildren()) //Packages
                     {
-                        ProgressMonitorCanceledException.checkMonitor(monitor);
-                        
-                        for (Result methodResult : typeResult.getChildren()) //Methods
-                        {
-                            ((MethodResult) methodResult).setMinimalAccess(methodMap.getAccess(((MethodResult) methodResult).getJavaElement()));
-                        }
-                        ((TypeResult) typeResult).setMinimalAccess(typeMap.getAccess(((TypeResult) typeResult).getJavaElement()));
+                        mergedPackages.add(mergers.submit(new MergeTask(packageResult, methodMap, typeMap, monitor)));
                     }
                 }
             }
+            
+            for (Future<Void> mergedPackage : mergedPackages)
+            {
+                join(mergedPackage, monitor);
+            }
+        }
+        finally
+        {
+            mergers.shutdownNow();
         }
         
+        for (ProjectResult projectResult : _projectResults)
+        {
+            projectResult.freeze();
+        }
         _mergedResults = new ArrayList<Result>(_projectResults);
     }
+    
+    /**
+     * Merges the maps of a single handler set into the reduced maps.
+     */
+    private static class ReduceTask implements Callable<Void>
+    {
+        private final HandlerSet _handlerSet;
+        private final TypeMap _typeMap;
+        private final MethodMap _methodMap;
+        
+        private ReduceTask(HandlerSet handlerSet, TypeMap typeMap, MethodMap methodMap)
+        {
+            _handlerSet = handlerSet;
+            _typeMap = typeMap;
+            _methodMap = methodMap;
+        }
+        
+        @Override
+        public Void call()
+        {
+            _handlerSet.mergeInto(_typeMap, _methodMap);
+            return null;
+        }
+    }
+    
+    /**
+     * Sets the minimal access of all types and methods of a single package.
+     */
+    private static class MergeTask implements Callable<Void>
+    {
+        private final Result _packageResult;
+        private final MethodMap _methodMap;
+        private final TypeMap _typeMap;
+        private final IProgressMonitor _monitor;
+        
+        private MergeTask(Result packageResult, MethodMap methodMap, TypeMap typeMap, IProgressMonitor monitor)
+        {
+            _packageResult = packageResult;
+            _methodMap = methodMap;
+            _typeMap = typeMap;
+            _monitor = monitor;
+        }
+        
+        @Override
+        public Void call() throws JavaModelException, ProgressMonitorCanceledException
+        {
+            for (Result typeResult : _packageResult.getChildren()) //Types
+            {
+                ProgressMonitorCanceledException.checkMonitor(_monitor);
+                
+                for (Result methodResult : typeResult.getChildren()) //Methods
+                {
+                    ((MethodResult) methodResult).setMinimalAccess(_methodMap.getAccess(((MethodResult) methodResult).getJavaElement()));
+                }
+                ((TypeResult) typeResult).setMinimalAccess(_typeMap.getAccess(((TypeResult) typeResult).getJavaElement()));
+            }
+            
+            return null;
+        }
+    }
 }
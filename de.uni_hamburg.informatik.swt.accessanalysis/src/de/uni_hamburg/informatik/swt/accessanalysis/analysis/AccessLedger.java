@@ -0,0 +1,123 @@
+package de.uni_hamburg.informatik.swt.accessanalysis.analysis;
+
+import java.util.Arrays;
+
+import de.uni_hamburg.informatik.swt.accessanalysis.access.Access;
+
+
+/**
+ * An AccessTable that counts per ID how many compilation units contributed each access,
+ * so the contribution of a unit can be taken back again.
+ *
+ * There is one counter per ID and access. The table keeps the maximal access that
+ * is still contributed, so it is read like any other AccessTable, and a retraction
+ * only has to look at the five counters of the ID. Accesses must be added and removed
+ * with add() and remove(), the table must be used by a single thread only.
+ *
+ * The ledger remembers the access every ID had before it was first touched since
+ * the last clearChanges(), so the IDs whose access changed are known without
+ * looking at the whole table.
+ */
+class AccessLedger extends AccessTable
+{
+    private static final Access[] ACCESSES = Access.values();
+    private static final int LEVELS = ACCESSES.length;
+    private static final int INITIAL_CAPACITY = 1024;
+
+    private int[] _counts;
+    private final TouchedIds _touched;
+    private final AccessTable _previous;
+
+    /**
+     * Initializes an empty AccessLedger.
+     */
+    AccessLedger()
+    {
+        _counts = new int[INITIAL_CAPACITY * LEVELS];
+        _touched = new TouchedIds();
+        _previous = new AccessTable();
+    }
+
+    /**
+     * Adds the contribution of an access to an ID.
+     *
+     * @param int id The ID
+     * @param Access access The contributed access
+     */
+    void add(int id, Access access)
+    {
+        if ((id + 1) * LEVELS > _counts.length)
+        {
+            _counts = Arrays.copyOf(_counts, Math.max((id + 1) * LEVELS, _counts.length * 2));
+        }
+
+        touch(id);
+        _counts[id * LEVELS + access.ordinal()]++;
+        putMaximum(id, access);
+    }
+
+    /**
+     * Removes the contribution of an access to an ID that has been added before.
+     * If it was the last contribution of the maximal access, the next lower access
+     * that is still contributed becomes the access of the ID.
+     *
+     * @param int id The ID
+     * @param Access access The contributed access
+     */
+    void remove(int id, Access access)
+    {
+        touch(id);
+        int count = --_counts[id * LEVELS + access.ordinal()];
+        if (count == 0 && get(id) == access)
+        {
+            put(id, maximum(id));
+        }
+    }
+
+    /**
+     * Returns the IDs whose access changed since the last clearChanges().
+     *
+     * @return int[] The IDs
+     */
+    int[] getChangedIds()
+    {
+        int[] touched = _touched.toArray();
+        int n = 0;
+        for (int id : touched)
+        {
+            if (_previous.get(id) != get(id))
+            {
+                touched[n++] = id;
+            }
+        }
+        return Arrays.copyOf(touched, n);
+    }
+
+    /**
+     * Forgets the changes, so the current accesses are the ones later changes are compared to.
+     */
+    void clearChanges()
+    {
+        _touched.clear();
+    }
+
+    private void touch(int id)
+    {
+        if (_touched.touch(id))
+        {
+            _previous.put(id, get(id));
+        }
+    }
+
+    private Access maximum(int id)
+    {
+        for (int level = LEVELS - 1; level >= 0; level--)
+        {
+            if (_counts[id * LEVELS + level] > 0)
+            {
+                return ACCESSES[level];
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,132 @@
+package de.uni_hamburg.informatik.swt.accessanalysis.analysis;
+
+import de.uni_hamburg.informatik.swt.accessanalysis.access.Access;
+
+
+/**
+ * Maps the IDs of a KeyDictionary to their maximal access with one byte per ID.
+ *
+ * A byte holds the ordinal of the access plus 1, the value 0 marks IDs without an access.
+ * The table grows as needed and must be used by a single thread only.
+ */
+class AccessTable
+{
+    private static final Access[] ACCESSES = Access.values();
+    private static final int INITIAL_CAPACITY = 1024;
+
+    private byte[] _accesses;
+
+    /**
+     * Initializes an empty AccessTable.
+     */
+    AccessTable()
+    {
+        this(INITIAL_CAPACITY);
+    }
+
+    /**
+     * Initializes an empty AccessTable with the given initial capacity.
+     *
+     * @param int initialCapacity The number of IDs the table holds before it grows
+     */
+    AccessTable(int initialCapacity)
+    {
+        _accesses = new byte[initialCapacity];
+    }
+
+    /**
+     * Puts an access for an ID unless the table already holds the same or a more generous one.
+     *
+     * @param int id The ID
+     * @param Access access The access to be merged into the table
+     */
+    void putMaximum(int id, Access access)
+    {
+        ensureCapacity(id);
+
+        byte value = encode(access);
+        if (value > _accesses[id])
+        {
+            _accesses[id] = value;
+        }
+    }
+
+    /**
+     * Puts an access for an ID, even if the table holds a more generous one.
+     *
+     * @param int id The ID
+     * @param Access access The access or null to remove the access of the ID
+     */
+    void put(int id, Access access)
+    {
+        ensureCapacity(id);
+        _accesses[id] = access == null ? 0 : encode(access);
+    }
+
+    /**
+     * Returns the access of an ID.
+     *
+     * @param int id The ID
+     * @return Access The access or null if there is none
+     */
+    Access get(int id)
+    {
+        if (id < 0 || id >= _accesses.length)
+        {
+            return null;
+        }
+        return decode(_accesses[id]);
+    }
+
+    /**
+     * Returns a bound of the IDs in this table.
+     *
+     * @return int A number greater than all IDs with an access
+     */
+    int capacity()
+    {
+        return _accesses.length;
+    }
+
+    /**
+     * Merges all accesses of another table into this table, keeping the maximal access per ID.
+     *
+     * @param AccessTable other The table to be merged into this table
+     */
+    void putAll(AccessTable other)
+    {
+        int capacity = other.capacity();
+        for (int id = 0; id < capacity; id++)
+        {
+            Access access = other.get(id);
+            if (access != null)
+            {
+                putMaximum(id, access);
+            }
+        }
+    }
+
+    private void ensureCapacity(int id)
+    {
+        if (id >= _accesses.length)
+        {
+            byte[] accesses = new byte[Math.max(id + 1, _accesses.length * 2)];
+            System.arraycopy(_accesses, 0, accesses, 0, _accesses.length);
+            _accesses = accesses;
+        }
+    }
+
+    static byte encode(Access access)
+    {
+        return (byte) (access.ordinal() + 1);
+    }
+
+    static Access decode(int value)
+    {
+        if (value == 0)
+        {
+            return null;
+        }
+        return ACCESSES[value - 1];
+    }
+}
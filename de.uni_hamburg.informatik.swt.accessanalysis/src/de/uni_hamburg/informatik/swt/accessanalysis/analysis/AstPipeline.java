@@ -0,0 +1,256 @@
+package de.uni_hamburg.informatik.swt.accessanalysis.analysis;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.core.runtime.OperationCanceledException;
+import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.IJavaProject;
+import org.eclipse.jdt.core.dom.ASTParser;
+import org.eclipse.jdt.core.dom.ASTRequestor;
+import org.eclipse.jdt.core.dom.CompilationUnit;
+
+
+/**
+ * Parses the compilation units of a project on a pool of parser threads
+ * and hands the resolved ASTs over to one consumer per thread.
+ *
+ * The units are split into one contiguous shard per consumer and every shard is
+ * parsed in one batch. Every AST is passed to the consumer of its shard while the
+ * parser is still in <code>acceptAST</code>, because the compiler cleans up the
+ * bindings of a unit as soon as it returns and goes on to the next unit in the
+ * same binding environment. So the ASTs never leave their parser thread and the
+ * parsers can only run ahead as far as their consumers.
+ */
+class AstPipeline
+{
+    private static final long AWAIT_MILLIS = 100;
+
+    /**
+     * Receives the parsed ASTs.
+     */
+    interface AstConsumer
+    {
+        /**
+         * Handles the AST of a single compilation unit.
+         *
+         * @param ICompilationUnit unit The compilation unit
+         * @param CompilationUnit ast The root element of the AST of the unit
+         */
+        public void accept(ICompilationUnit unit, CompilationUnit ast);
+    }
+
+    private final IJavaProject _project;
+    private final ICompilationUnit[] _units;
+
+    private volatile boolean _stopped;
+    private volatile Throwable _error;
+
+    /**
+     * Initializes an object of AstPipeline.
+     *
+     * @param IJavaProject project The project all units belong to
+     * @param ICompilationUnit[] units The units to be parsed
+     */
+    AstPipeline(IJavaProject project, ICompilationUnit[] units)
+    {
+        _project = project;
+        _units = units;
+
+        _stopped = false;
+        _error = null;
+    }
+
+    /**
+     * Starts one parser thread per consumer and waits until all of them are finished.
+     *
+     * Every consumer gets the ASTs of its own shard on its own parser thread,
+     * so a consumer is never called by two threads. If there are fewer units
+     * than consumers, the last consumers get nothing.
+     * Units that could not be parsed are not passed to any consumer.
+     * The first error of a consumer or parser stops all parsers and
+     * can be asked for with getError(). When this method returns, all parser
+     * threads have terminated, even if it was canceled, so no consumer is
+     * called any more.
+     *
+     * @param AstConsumer[] consumers The consumers of the ASTs, at least one
+     * @param IProgressMonitor monitor The current progress monitor
+     *
+     * @throws ProgressMonitorCanceledException if the progress monitor is in canceled state
+     */
+    void run(AstConsumer[] consumers, IProgressMonitor monitor) throws ProgressMonitorCanceledException
+    {
+        if (_units.length == 0)
+        {
+            return;
+        }
+
+        int shards = Math.min(consumers.length, _units.length);
+        ExecutorService parsers = Executors.newFixedThreadPool(shards, new DaemonThreadFactory("AccessAnalysis Parser"));
+        try
+        {
+            List<Future<?>> parserResults = new ArrayList<Future<?>>();
+            for (int i = 0; i < shards; i++)
+            {
+                int from = i * _units.length / shards;
+                int to = (i + 1) * _units.length / shards;
+                parserResults.add(parsers.submit(new ParserTask(Arrays.copyOfRange(_units, from, to), consumers[i])));
+            }
+
+            for (Future<?> parserResult : parserResults)
+            {
+                await(parserResult, monitor);
+            }
+        }
+        finally
+        {
+            _stopped = true;
+            parsers.shutdownNow();
+            awaitTermination(parsers);
+        }
+    }
+
+    /**
+     * Returns the first error that stopped a parser thread.
+     *
+     * @return Throwable The error or null if all threads finished normally
+     */
+    Throwable getError()
+    {
+        return _error;
+    }
+
+    private void await(Future<?> parserResult, IProgressMonitor monitor) throws ProgressMonitorCanceledException
+    {
+        while (true)
+        {
+            ProgressMonitorCanceledException.checkMonitor(monitor);
+            try
+            {
+                parserResult.get(AWAIT_MILLIS, TimeUnit.MILLISECONDS);
+                return;
+            }
+            catch (TimeoutException e)
+            {
+            }
+            catch (ExecutionException e)
+            {
+                setError(e.getCause());
+                return;
+            }
+            catch (InterruptedException e)
+            {
+                Thread.currentThread().interrupt();
+                throw new ProgressMonitorCanceledException();
+            }
+        }
+    }
+
+    private static void awaitTermination(ExecutorService parsers)
+    {
+        boolean interrupted = false;
+        boolean terminated = false;
+        while (! terminated)
+        {
+            try
+            {
+                terminated = parsers.awaitTermination(AWAIT_MILLIS, TimeUnit.MILLISECONDS);
+            }
+            catch (InterruptedException e)
+            {
+                interrupted = true;
+            }
+        }
+        if (interrupted)
+        {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private synchronized void setError(Throwable error)
+    {
+        if (_error == null)
+        {
+            _error = error;
+        }
+        _stopped = true;
+    }
+
+    /**
+     * Parses one shard of units in one batch and visits them with the consumer of the shard.
+     */
+    private class ParserTask implements Runnable
+    {
+        private final ICompilationUnit[] _shard;
+        private final AstConsumer _consumer;
+
+        private ParserTask(ICompilationUnit[] shard, AstConsumer consumer)
+        {
+            _shard = shard;
+            _consumer = consumer;
+        }
+
+        @Override
+        public void run()
+        {
+            try
+            {
+                ASTParser parser = AccessAnalysisResultCollector.newParser();
+                parser.setProject(_project);
+                parser.createASTs(_shard, new String[0], new ConsumingRequestor(_consumer), new StopMonitor());
+            }
+            catch (OperationCanceledException cancelExc)
+            {
+            }
+            catch (RuntimeException exc)
+            {
+                setError(exc);
+            }
+        }
+    }
+
+    /**
+     * Lets the parser stop between two units as soon as the pipeline is stopped.
+     */
+    private class StopMonitor extends NullProgressMonitor
+    {
+        @Override
+        public boolean isCanceled()
+        {
+            return _stopped;
+        }
+    }
+
+    /**
+     * Passes every AST of a batch to a consumer before the compiler cleans it up.
+     */
+    private class ConsumingRequestor extends ASTRequestor
+    {
+        private final AstConsumer _consumer;
+
+        private ConsumingRequestor(AstConsumer consumer)
+        {
+            _consumer = consumer;
+        }
+
+        @Override
+        public void acceptAST(ICompilationUnit source, CompilationUnit ast)
+        {
+            if (_stopped)
+            {
+                throw new OperationCanceledException();
+            }
+
+            _consumer.accept(source, ast);
+        }
+    }
+}
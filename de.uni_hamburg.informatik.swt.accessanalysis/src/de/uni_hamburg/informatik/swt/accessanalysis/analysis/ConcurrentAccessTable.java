@@ -0,0 +1,132 @@
+package de.uni_hamburg.informatik.swt.accessanalysis.analysis;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import de.uni_hamburg.informatik.swt.accessanalysis.access.Access;
+
+
+/**
+ * An AccessTable that can be updated by several threads at once without locking.
+ *
+ * The bytes of four IDs are packed into one int of an AtomicIntegerArray and updated
+ * by compare-and-set, so the maximal access of an ID is never lost by a concurrent update.
+ * The arrays are chunks of fixed size that are created on demand, so the table grows 
+ * without copying and readers never see a table that is being copied.
+ */
+class ConcurrentAccessTable extends AccessTable
+{
+    private static final int LANES = 4;
+    private static final int CHUNK_BITS = 14;
+    private static final int CHUNK_INTS = 1 << CHUNK_BITS;
+    private static final int CHUNK_IDS = CHUNK_INTS * LANES;
+    private static final int MAX_CHUNKS = 1 << 14;
+
+    private final AtomicReferenceArray<AtomicIntegerArray> _chunks;
+    private final AtomicInteger _chunkCount;
+
+    /**
+     * Initializes an empty ConcurrentAccessTable.
+     */
+    ConcurrentAccessTable()
+    {
+        super(0);
+        _chunks = new AtomicReferenceArray<AtomicIntegerArray>(MAX_CHUNKS);
+        _chunkCount = new AtomicInteger();
+    }
+
+    @Override
+    void putMaximum(int id, Access access)
+    {
+        AtomicIntegerArray chunk = chunk(id);
+        int index = (id % CHUNK_IDS) / LANES;
+        int shift = (id % LANES) * 8;
+        int value = encode(access);
+
+        while (true)
+        {
+            int packed = chunk.get(index);
+            if (((packed >>> shift) & 0xFF) >= value)
+            {
+                return;
+            }
+            int updated = (packed & ~(0xFF << shift)) | (value << shift);
+            if (chunk.compareAndSet(index, packed, updated))
+            {
+                return;
+            }
+        }
+    }
+
+    @Override
+    void put(int id, Access access)
+    {
+        AtomicIntegerArray chunk = chunk(id);
+        int index = (id % CHUNK_IDS) / LANES;
+        int shift = (id % LANES) * 8;
+        int value = access == null ? 0 : encode(access);
+
+        while (true)
+        {
+            int packed = chunk.get(index);
+            int updated = (packed & ~(0xFF << shift)) | (value << shift);
+            if (packed == updated || chunk.compareAndSet(index, packed, updated))
+            {
+                return;
+            }
+        }
+    }
+
+    @Override
+    Access get(int id)
+    {
+        if (id < 0 || id / CHUNK_IDS >= MAX_CHUNKS)
+        {
+            return null;
+        }
+
+        AtomicIntegerArray chunk = _chunks.get(id / CHUNK_IDS);
+        if (chunk == null)
+        {
+            return null;
+        }
+        int packed = chunk.get((id % CHUNK_IDS) / LANES);
+        return decode((packed >>> ((id % LANES) * 8)) & 0xFF);
+    }
+
+    @Override
+    int capacity()
+    {
+        return _chunkCount.get() * CHUNK_IDS;
+    }
+
+    /**
+     * Returns the chunk of an ID and creates it if necessary.
+     *
+     * @param int id The ID
+     * @return AtomicIntegerArray The chunk
+     */
+    private AtomicIntegerArray chunk(int id)
+    {
+        if (id < 0 || id / CHUNK_IDS >= MAX_CHUNKS)
+        {
+            throw new IndexOutOfBoundsException("ID out of range: " + id);
+        }
+
+        int chunkIndex = id / CHUNK_IDS;
+        AtomicIntegerArray chunk = _chunks.get(chunkIndex);
+        if (chunk == null)
+        {
+            _chunks.compareAndSet(chunkIndex, null, new AtomicIntegerArray(CHUNK_INTS));
+            chunk = _chunks.get(chunkIndex);
+
+            int chunkCount = _chunkCount.get();
+            while (chunkCount <= chunkIndex && ! _chunkCount.compareAndSet(chunkCount, chunkIndex + 1))
+            {
+                chunkCount = _chunkCount.get();
+            }
+        }
+        return chunk;
+    }
+}
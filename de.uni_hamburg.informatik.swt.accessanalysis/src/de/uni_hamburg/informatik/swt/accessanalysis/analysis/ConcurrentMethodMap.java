@@ -0,0 +1,34 @@
+package de.uni_hamburg.informatik.swt.accessanalysis.analysis;
+
+import de.uni_hamburg.informatik.swt.accessanalysis.bindings.KeyDictionary;
+
+
+/**
+ * A MethodMap that can be updated by several threads at once.
+ * 
+ * The accesses are merged without locking, only the overrides are put under the lock of the map.
+ */
+class ConcurrentMethodMap extends MethodMap
+{
+    /**
+     * Initializes an object of ConcurrentMethodMap. 
+     * 
+     * @param KeyDictionary keys The dictionary of method keys
+     */
+    ConcurrentMethodMap(KeyDictionary keys)
+    {
+        super(keys, new ConcurrentAccessTable());
+    }
+    
+    @Override
+    synchronized void putOverride(int overridingId, int overriddenId)
+    {
+        super.putOverride(overridingId, overriddenId);
+    }
+    
+    @Override
+    synchronized void putOverrides(IdTable overrideTable)
+    {
+        super.putOverrides(overrideTable);
+    }
+}
@@ -0,0 +1,20 @@
+package de.uni_hamburg.informatik.swt.accessanalysis.analysis;
+
+import de.uni_hamburg.informatik.swt.accessanalysis.bindings.KeyDictionary;
+
+
+/**
+ * A TypeMap that can be updated by several threads at once without locking.
+ */
+class ConcurrentTypeMap extends TypeMap
+{
+    /**
+     * Initializes an object of ConcurrentTypeMap. 
+     * 
+     * @param KeyDictionary keys The dictionary of type keys
+     */
+    ConcurrentTypeMap(KeyDictionary keys)
+    {
+        super(keys, new ConcurrentAccessTable());
+    }
+}
@@ -0,0 +1,31 @@
+package de.uni_hamburg.informatik.swt.accessanalysis.analysis;
+
+import java.util.concurrent.ThreadFactory;
+
+
+/**
+ * Creates the daemon threads of the thread pools used by the analysis,
+ * so a pool that is left behind never keeps the platform alive.
+ */
+class DaemonThreadFactory implements ThreadFactory
+{
+    private final String _name;
+
+    /**
+     * Initializes an object of DaemonThreadFactory.
+     *
+     * @param String name The name of all created threads
+     */
+    DaemonThreadFactory(String name)
+    {
+        _name = name;
+    }
+
+    @Override
+    public Thread newThread(Runnable runnable)
+    {
+        Thread thread = new Thread(runnable, _name);
+        thread.setDaemon(true);
+        return thread;
+    }
+}
@@ -0,0 +1,163 @@
+package de.uni_hamburg.informatik.swt.accessanalysis.analysis;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.jdt.core.dom.ASTVisitor;
+import org.eclipse.jdt.core.dom.AbstractTypeDeclaration;
+import org.eclipse.jdt.core.dom.AnnotationTypeDeclaration;
+import org.eclipse.jdt.core.dom.CompilationUnit;
+import org.eclipse.jdt.core.dom.EnumDeclaration;
+import org.eclipse.jdt.core.dom.IMethodBinding;
+import org.eclipse.jdt.core.dom.ITypeBinding;
+import org.eclipse.jdt.core.dom.IVariableBinding;
+import org.eclipse.jdt.core.dom.TypeDeclaration;
+
+
+/**
+ * A hash over everything the declarations of a compilation unit tell other units,
+ * together with the binding keys of its types and methods.
+ *
+ * The hash covers the keys and modifiers of the types, their super types, the keys
+ * of their methods, which contain the parameter and return types, the modifiers of
+ * the methods and the names, types and modifiers of the fields. Everything is read
+ * from the resolved bindings of the AST, so the keys are the ones the dependency
+ * index is built from. The access other units need only depends on these declarations,
+ * so units that refer to a changed unit only have to be visited again if its
+ * fingerprint changed.
+ */
+final class DeclarationFingerprint
+{
+    private static final long OFFSET = 0xcbf29ce484222325L;
+    private static final long PRIME = 0x100000001b3L;
+
+    private final long _hash;
+    private final String[] _typeKeys;
+    private final String[] _methodKeys;
+
+    private DeclarationFingerprint(long hash, List<String> typeKeys, List<String> methodKeys)
+    {
+        _hash = hash;
+        _typeKeys = typeKeys.toArray(new String[typeKeys.size()]);
+        _methodKeys = methodKeys.toArray(new String[methodKeys.size()]);
+    }
+
+    /**
+     * Returns the fingerprint of the declarations of a compilation unit.
+     * Local and anonymous types are left out, since other units can't refer to them.
+     *
+     * @param CompilationUnit ast The root element of the AST of the unit with resolved bindings
+     * @return DeclarationFingerprint The fingerprint
+     */
+    static DeclarationFingerprint of(CompilationUnit ast)
+    {
+        final List<ITypeBinding> types = new ArrayList<ITypeBinding>();
+        ast.accept(new ASTVisitor()
+        {
+            @Override
+            public boolean visit(TypeDeclaration node)
+            {
+                return add(node);
+            }
+
+            @Override
+            public boolean visit(EnumDeclaration node)
+            {
+                return add(node);
+            }
+
+            @Override
+            public boolean visit(AnnotationTypeDeclaration node)
+            {
+                return add(node);
+            }
+
+            private boolean add(AbstractTypeDeclaration node)
+            {
+                ITypeBinding binding = node.resolveBinding();
+                if (binding != null && ! binding.isLocal())
+                {
+                    types.add(binding);
+                }
+                return true;
+            }
+        });
+
+        long hash = OFFSET;
+        List<String> typeKeys = new ArrayList<String>();
+        List<String> methodKeys = new ArrayList<String>();
+        for (ITypeBinding type : types)
+        {
+            typeKeys.add(type.getKey());
+            hash = hash(hash, type.getKey());
+            hash = hash(hash, type.getModifiers());
+            hash = hash(hash, type.getSuperclass() == null ? null : type.getSuperclass().getKey());
+            for (ITypeBinding superInterface : type.getInterfaces())
+            {
+                hash = hash(hash, superInterface.getKey());
+            }
+            for (IMethodBinding method : type.getDeclaredMethods())
+            {
+                methodKeys.add(method.getKey());
+                hash = hash(hash, method.getKey());
+                hash = hash(hash, method.getModifiers());
+            }
+            for (IVariableBinding field : type.getDeclaredFields())
+            {
+                hash = hash(hash, field.getName());
+                hash = hash(hash, field.getType().getKey());
+                hash = hash(hash, field.getModifiers());
+            }
+        }
+        return new DeclarationFingerprint(hash, typeKeys, methodKeys);
+    }
+
+    /**
+     * Checks whether the declarations of this fingerprint tell other units the same as another one.
+     *
+     * @param DeclarationFingerprint other The other fingerprint
+     * @return boolean true, if the hashes are equal
+     */
+    boolean matches(DeclarationFingerprint other)
+    {
+        return _hash == other._hash;
+    }
+
+    /**
+     * Returns the binding keys of the declared types.
+     *
+     * @return String[] The keys
+     */
+    String[] getTypeKeys()
+    {
+        return _typeKeys;
+    }
+
+    /**
+     * Returns the binding keys of the declared methods.
+     *
+     * @return String[] The keys
+     */
+    String[] getMethodKeys()
+    {
+        return _methodKeys;
+    }
+
+    private static long hash(long hash, String value)
+    {
+        if (value == null)
+        {
+            return hash(hash, 0);
+        }
+        for (int i = 0; i < value.length(); i++)
+        {
+            hash = (hash ^ value.charAt(i)) * PRIME;
+        }
+        return (hash ^ value.length()) * PRIME;
+    }
+
+    private static long hash(long hash, int value)
+    {
+        return (hash ^ value) * PRIME;
+    }
+}
@@ -0,0 +1,93 @@
+package de.uni_hamburg.informatik.swt.accessanalysis.analysis;
+
+import java.util.Arrays;
+
+
+/**
+ * Maps the IDs of the types or methods of a KeyDictionary to the IDs
+ * of the compilation units that refer to them. The OverrideLedger uses it
+ * to map methods to the methods that override them.
+ *
+ * Every ID keeps a small array of unit IDs, a unit is listed once per reference
+ * it reported. The index grows as needed and must be used by a single thread only.
+ */
+class DependencyIndex
+{
+    private static final int INITIAL_CAPACITY = 256;
+    private static final int[] NO_UNITS = new int[0];
+
+    private int[][] _units;
+    private int[] _numberOfUnits;
+
+    /**
+     * Initializes an empty DependencyIndex.
+     */
+    DependencyIndex()
+    {
+        _units = new int[INITIAL_CAPACITY][];
+        _numberOfUnits = new int[INITIAL_CAPACITY];
+    }
+
+    /**
+     * Adds a unit that refers to an ID.
+     *
+     * @param int id The ID of the type or method
+     * @param int unit The ID of the compilation unit
+     */
+    void add(int id, int unit)
+    {
+        if (id >= _units.length)
+        {
+            int capacity = Math.max(id + 1, _units.length * 2);
+            _units = Arrays.copyOf(_units, capacity);
+            _numberOfUnits = Arrays.copyOf(_numberOfUnits, capacity);
+        }
+
+        int[] units = _units[id];
+        if (units == null)
+        {
+            units = new int[2];
+            _units[id] = units;
+        }
+        else if (_numberOfUnits[id] == units.length)
+        {
+            units = Arrays.copyOf(units, units.length * 2);
+            _units[id] = units;
+        }
+        units[_numberOfUnits[id]++] = unit;
+    }
+
+    /**
+     * Removes a unit that has been added for an ID before.
+     *
+     * @param int id The ID of the type or method
+     * @param int unit The ID of the compilation unit
+     */
+    void remove(int id, int unit)
+    {
+        int[] units = _units[id];
+        for (int i = 0; i < _numberOfUnits[id]; i++)
+        {
+            if (units[i] == unit)
+            {
+                units[i] = units[--_numberOfUnits[id]];
+                return;
+            }
+        }
+    }
+
+    /**
+     * Returns the units that refer to an ID.
+     *
+     * @param int id The ID of the type or method
+     * @return int[] The IDs of the units, a unit may be contained more than once
+     */
+    int[] get(int id)
+    {
+        if (id < 0 || id >= _units.length || _units[id] == null)
+        {
+            return NO_UNITS;
+        }
+        return Arrays.copyOf(_units[id], _numberOfUnits[id]);
+    }
+}
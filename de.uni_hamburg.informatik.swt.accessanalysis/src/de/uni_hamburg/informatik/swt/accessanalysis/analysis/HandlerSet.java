@@ -0,0 +1,120 @@
+package de.uni_hamburg.informatik.swt.accessanalysis.analysis;
+
+import java.util.Set;
+
+import de.uni_hamburg.informatik.swt.accessanalysis.analysis.determinators.ExpressionTypeDeterminator;
+import de.uni_hamburg.informatik.swt.accessanalysis.analysis.printer.ElementPrinter;
+import de.uni_hamburg.informatik.swt.accessanalysis.bindings.BindingCaches;
+import de.uni_hamburg.informatik.swt.accessanalysis.bindings.KeyDictionary;
+import de.uni_hamburg.informatik.swt.accessanalysis.constraints.MethodAccessConstraintChecker;
+import de.uni_hamburg.informatik.swt.accessanalysis.constraints.TypeAccessConstraintChecker;
+import de.uni_hamburg.informatik.swt.accessanalysis.results.PackageResult;
+
+
+/**
+ * The handlers a visitor needs together with the maps they fill.
+ *
+ * The handlers keep the type and method that are currently visited,
+ * so a handler set must be used by a single thread only.
+ * Every worker thread gets its own handler set and the maps of all sets
+ * are reduced to one afterwards.
+ */
+class HandlerSet
+{
+    private final ExpressionTypeDeterminator _expressionTypeDeterminator;
+    private final TypeHandler _typeHandler;
+    private final MethodHandler _methodHandler;
+
+    /**
+     * Initializes an object of HandlerSet with its own method and type map.
+     * The maps of all handler sets of a run share the dictionaries, so they can be
+     * reduced by merging their tables.
+     *
+     * @param Set<TypeAccessConstraintChecker> typeConstraints The constraints for types
+     * @param Set<MethodAccessConstraintChecker> methodConstraints The constraints for methods
+     * @param KeyDictionary typeKeys The dictionary of type keys of the run
+     * @param KeyDictionary methodKeys The dictionary of method keys of the run
+     * @param BindingCaches caches The binding caches of the run
+     */
+    HandlerSet(Set<TypeAccessConstraintChecker> typeConstraints, Set<MethodAccessConstraintChecker> methodConstraints,
+            KeyDictionary typeKeys, KeyDictionary methodKeys, BindingCaches caches)
+    {
+        this(typeConstraints, methodConstraints, new TypeMap(typeKeys), new MethodMap(methodKeys), caches);
+    }
+
+    /**
+     * Initializes an object of HandlerSet that fills the given maps.
+     *
+     * @param Set<TypeAccessConstraintChecker> typeConstraints The constraints for types
+     * @param Set<MethodAccessConstraintChecker> methodConstraints The constraints for methods
+     * @param TypeMap typeMap The map the type handler fills
+     * @param MethodMap methodMap The map the method handler fills
+     * @param BindingCaches caches The binding caches of the run
+     */
+    HandlerSet(Set<TypeAccessConstraintChecker> typeConstraints, Set<MethodAccessConstraintChecker> methodConstraints,
+            TypeMap typeMap, MethodMap methodMap, BindingCaches caches)
+    {
+        _expressionTypeDeterminator = new ExpressionTypeDeterminator(caches.getDeclaredMethods());
+        _typeHandler = new TypeHandler(_expressionTypeDeterminator, typeConstraints, typeMap, caches);
+        _methodHandler = new MethodHandler(_expressionTypeDeterminator, methodConstraints, methodMap, caches);
+    }
+
+    /**
+     * Creates a visitor that uses the handlers of this set.
+     *
+     * @param PackageResult packageResult The result of the package the visited unit belongs to
+     * @param ElementPrinter printer The printer that prints element information to the console
+     *
+     * @return AccessAnalysisASTVisitor The visitor
+     */
+    AccessAnalysisASTVisitor newVisitor(PackageResult packageResult, ElementPrinter printer)
+    {
+        return new AccessAnalysisASTVisitor(packageResult, _typeHandler, _methodHandler, _expressionTypeDeterminator, printer);
+    }
+
+    /**
+     * Returns the method map filled by the handlers of this set.
+     *
+     * @return MethodMap The map
+     */
+    MethodMap getMethodMap()
+    {
+        return _methodHandler.getMethodMap();
+    }
+
+    /**
+     * Returns the type map filled by the handlers of this set.
+     *
+     * @return TypeMap The map
+     */
+    TypeMap getTypeMap()
+    {
+        return _typeHandler.getTypeMap();
+    }
+
+    /**
+     * Returns the number of access evaluations the handlers of this set skipped
+     * because the element was already public.
+     *
+     * @return long The number of skipped evaluations
+     */
+    long getPrunedEvaluations()
+    {
+        return _typeHandler.getPrunedEvaluations() + _methodHandler.getPrunedEvaluations();
+    }
+
+    /**
+     * Merges the maps of this set into the given maps by taking the maximal access per element.
+     * The result does not depend on the order in which the sets are merged or on which set 
+     * handled which unit, so the sets of several workers can be merged into a ConcurrentTypeMap 
+     * and a ConcurrentMethodMap at once.
+     *
+     * @param TypeMap typeMap The map the type map of this set is merged into
+     * @param MethodMap methodMap The map the method map of this set is merged into
+     */
+    void mergeInto(TypeMap typeMap, MethodMap methodMap)
+    {
+        typeMap.putAll(getTypeMap());
+        methodMap.putAll(getMethodMap());
+    }
+}
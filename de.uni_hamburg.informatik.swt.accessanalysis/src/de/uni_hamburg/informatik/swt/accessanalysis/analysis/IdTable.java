@@ -0,0 +1,88 @@
+package de.uni_hamburg.informatik.swt.accessanalysis.analysis;
+
+import java.util.Arrays;
+
+import de.uni_hamburg.informatik.swt.accessanalysis.bindings.KeyDictionary;
+
+
+/**
+ * Maps the IDs of a KeyDictionary to other IDs with one int per ID.
+ *
+ * The table grows as needed and must be used by a single thread only.
+ */
+class IdTable
+{
+    private static final int INITIAL_CAPACITY = 256;
+
+    private int[] _ids;
+
+    /**
+     * Initializes an empty IdTable.
+     */
+    IdTable()
+    {
+        _ids = new int[INITIAL_CAPACITY];
+        Arrays.fill(_ids, KeyDictionary.NO_ID);
+    }
+
+    /**
+     * Maps an ID to another one.
+     *
+     * @param int id The ID
+     * @param int value The ID it is mapped to
+     */
+    void put(int id, int value)
+    {
+        if (id >= _ids.length)
+        {
+            int[] ids = new int[Math.max(id + 1, _ids.length * 2)];
+            System.arraycopy(_ids, 0, ids, 0, _ids.length);
+            Arrays.fill(ids, _ids.length, ids.length, KeyDictionary.NO_ID);
+            _ids = ids;
+        }
+        _ids[id] = value;
+    }
+
+    /**
+     * Returns the ID an ID is mapped to.
+     *
+     * @param int id The ID
+     * @return int The mapped ID or KeyDictionary.NO_ID if the ID is not mapped
+     */
+    int get(int id)
+    {
+        if (id < 0 || id >= _ids.length)
+        {
+            return KeyDictionary.NO_ID;
+        }
+        return _ids[id];
+    }
+
+    /**
+     * Returns a bound of the mapped IDs.
+     *
+     * @return int A number greater than all mapped IDs
+     */
+    int capacity()
+    {
+        return _ids.length;
+    }
+
+    /**
+     * Copies all mappings of another table into this table.
+     *
+     * @param IdTable other The table to be copied
+     */
+    void putAll(IdTable other)
+    {
+        int capacity = other.capacity();
+        for (int id = 0; id < capacity; id++)
+        {
+            int value = other.get(id);
+            if (value != KeyDictionary.NO_ID)
+            {
+                put(id, value);
+            }
+        }
+    }
+}
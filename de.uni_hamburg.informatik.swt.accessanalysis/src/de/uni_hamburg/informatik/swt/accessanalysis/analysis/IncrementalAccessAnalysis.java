@@ -0,0 +1,1081 @@
+package de.uni_hamburg.informatik.swt.accessanalysis.analysis;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.core.runtime.OperationCanceledException;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.Job;
+import org.eclipse.jdt.core.ElementChangedEvent;
+import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.IElementChangedListener;
+import org.eclipse.jdt.core.IJavaElement;
+import org.eclipse.jdt.core.IJavaElementDelta;
+import org.eclipse.jdt.core.IJavaProject;
+import org.eclipse.jdt.core.IPackageFragment;
+import org.eclipse.jdt.core.IPackageFragmentRoot;
+import org.eclipse.jdt.core.JavaCore;
+import org.eclipse.jdt.core.JavaModelException;
+import org.eclipse.jdt.core.dom.ASTParser;
+import org.eclipse.jdt.core.dom.ASTRequestor;
+import org.eclipse.jdt.core.dom.CompilationUnit;
+
+import de.uni_hamburg.informatik.swt.accessanalysis.AnalysisException;
+import de.uni_hamburg.informatik.swt.accessanalysis.AnalysisListener;
+import de.uni_hamburg.informatik.swt.accessanalysis.IncrementalAnalysis;
+import de.uni_hamburg.informatik.swt.accessanalysis.analysis.constraints.ConstraintsCollector;
+import de.uni_hamburg.informatik.swt.accessanalysis.analysis.printer.ElementPrinter;
+import de.uni_hamburg.informatik.swt.accessanalysis.bindings.BindingCaches;
+import de.uni_hamburg.informatik.swt.accessanalysis.bindings.KeyDictionary;
+import de.uni_hamburg.informatik.swt.accessanalysis.bindings.SourcePackages;
+import de.uni_hamburg.informatik.swt.accessanalysis.constraints.MethodAccessConstraintChecker;
+import de.uni_hamburg.informatik.swt.accessanalysis.constraints.TypeAccessConstraintChecker;
+import de.uni_hamburg.informatik.swt.accessanalysis.internal.AccessAnalysisActivator;
+import de.uni_hamburg.informatik.swt.accessanalysis.results.MethodResult;
+import de.uni_hamburg.informatik.swt.accessanalysis.results.PackageResult;
+import de.uni_hamburg.informatik.swt.accessanalysis.results.ProjectResult;
+import de.uni_hamburg.informatik.swt.accessanalysis.results.Result;
+import de.uni_hamburg.informatik.swt.accessanalysis.results.SourceFolderResult;
+import de.uni_hamburg.informatik.swt.accessanalysis.results.TypeResult;
+
+
+/**
+ * Analyses some projects once and keeps the result tree up to date afterwards.
+ *
+ * Every compilation unit is visited with maps of its own, so the accesses and
+ * overrides it contributed are kept per unit and counted in ledgers. When some units
+ * change, only these units are parsed and visited again. Their old types and methods
+ * are removed from the result tree, their old contributions are taken back from the
+ * ledgers and their new ones are added. Only the types and methods of the changed
+ * units and the ones whose minimal access changed are set again.
+ *
+ * The units that refer to a type or method are kept in an index. If the declarations
+ * of a visited unit changed, the units that refer to its old or new types and methods
+ * are visited again afterwards, since the access they need depends on these declarations.
+ *
+ * The changes are collected from the deltas of the Java model. They are either
+ * handled shortly after they arrived or, if the analysis follows the builds,
+ * after the next build of an analysed project. The AST of a reconciled working copy
+ * is handed over by the compilation participant and visited on the reconcile thread.
+ *
+ * The results are read without waiting for a running update. A reader sees the
+ * structure the packages had when they were last frozen and the values they have now.
+ *
+ * Bindings of different runs of the parser are not comparable, so every update
+ * and every reconcile uses fresh binding caches. The dictionaries of type and method
+ * keys and the source packages are kept, so the IDs of the contributions stay valid.
+ */
+public class IncrementalAccessAnalysis implements IncrementalAnalysis
+{
+    private static final long UPDATE_DELAY = 300;
+
+    private final List<IJavaProject> _projects;
+    private final ElementPrinter _printer;
+    private final List<AnalysisListener> _listeners;
+    private final IElementChangedListener _deltaListener;
+    private final Job _updateJob;
+    private final Lock _lock;
+
+    private final Set<ICompilationUnit> _changedUnits;
+    private boolean _fullRunPending;
+    private volatile boolean _followingBuilds;
+    private volatile boolean _listening;
+
+    private volatile List<Result> _projectResults;
+    private boolean _complete;
+    private KeyDictionary _typeKeys;
+    private KeyDictionary _methodKeys;
+    private AccessLedger _typeLedger;
+    private AccessLedger _methodLedger;
+    private OverrideLedger _overrideLedger;
+    private TypeMap _typeMap;
+    private MethodMap _methodMap;
+    private Map<ICompilationUnit, UnitContributions> _contributions;
+    private KeyDictionary _unitKeys;
+    private DependencyIndex _typeDependents;
+    private DependencyIndex _methodDependents;
+    private Map<ICompilationUnit, DeclarationFingerprint> _declarations;
+    private Map<ICompilationUnit, DeclarationFingerprint> _retractedDeclarations;
+    private Map<IPackageFragment, PackageResult> _packages;
+    private SourcePackages _sourcePackages;
+    private List<PackageResult> _typeLocations;
+    private List<PackageResult> _methodLocations;
+    private Set<ICompilationUnit> _unfinishedUnits;
+    private Set<PackageResult> _unfinishedPackages;
+
+    /**
+     * Initializes an object of IncrementalAccessAnalysis.
+     *
+     * @param List<IJavaProject> projects The projects to be analyzed
+     */
+    public IncrementalAccessAnalysis(List<IJavaProject> projects)
+    {
+        _projects = projects;
+        _printer = ElementPrinter.QUIET;
+        _listeners = new CopyOnWriteArrayList<AnalysisListener>();
+        _deltaListener = new DeltaListener();
+        _updateJob = new UpdateJob();
+        _lock = new ReentrantLock();
+
+        _changedUnits = new LinkedHashSet<ICompilationUnit>();
+        _fullRunPending = false;
+        _followingBuilds = false;
+        _listening = false;
+
+        _projectResults = null;
+        _complete = false;
+        _unfinishedUnits = new LinkedHashSet<ICompilationUnit>();
+        _unfinishedPackages = new LinkedHashSet<PackageResult>();
+    }
+
+    @Override
+    public IFile[] filesToBeLocked() throws AnalysisException
+    {
+        Set<IFile> files = new HashSet<IFile>();
+
+        try
+        {
+            for (ICompilationUnit compilationUnit : getCompilationUnits())
+            {
+                files.add((IFile) compilationUnit.getCorrespondingResource());
+            }
+        }
+        catch (JavaModelException e)
+        {
+            throw new AnalysisException(e);
+        }
+
+        return files.toArray(new IFile[files.size()]);
+    }
+
+    @Override
+    public void run(IProgressMonitor monitor) throws AnalysisException
+    {
+        _lock.lock();
+        try
+        {
+            AccessAnalysis.checkAllReadable(_projects, monitor);
+            createResults(monitor);
+        }
+        catch (ProgressMonitorCanceledException cancelExc)
+        {
+            _printer.message("Canceled by user.");
+        }
+        catch (CoreException coreExc)
+        {
+            _printer.error(coreExc);
+            throw new AnalysisException(coreExc);
+        }
+        finally
+        {
+            monitor.done();
+            _lock.unlock();
+        }
+    }
+
+    @Override
+    public void update(Collection<ICompilationUnit> units, IProgressMonitor monitor) throws AnalysisException
+    {
+        refresh(units, false, monitor);
+    }
+
+    /**
+     * Updates the results after some compilation units changed or runs the whole analysis again.
+     * The old results are kept until the new ones are complete. If the update is canceled
+     * while the analysis listens to changes, the unfinished work is scheduled again.
+     *
+     * @param Collection<ICompilationUnit> units The added, changed or removed compilation units
+     * @param boolean fullRun Must the whole analysis run again?
+     * @param IProgressMonitor monitor The progress monitor of choice
+     *
+     * @throws AnalysisException if an error occurs during the update
+     */
+    private void refresh(Collection<ICompilationUnit> units, boolean fullRun, IProgressMonitor monitor) throws AnalysisException
+    {
+        _lock.lock();
+        try
+        {
+            if (fullRun || ! _complete)
+            {
+                createResults(monitor);
+            }
+            else
+            {
+                updateResults(units, monitor);
+            }
+        }
+        catch (ProgressMonitorCanceledException cancelExc)
+        {
+            _printer.message("Canceled by user.");
+            if (_listening && (! _complete || ! _unfinishedUnits.isEmpty()))
+            {
+                schedule(new LinkedHashSet<ICompilationUnit>(_unfinishedUnits), ! _complete, true);
+            }
+        }
+        catch (CoreException coreExc)
+        {
+            _printer.error(coreExc);
+            throw new AnalysisException(coreExc);
+        }
+        finally
+        {
+            monitor.done();
+            _lock.unlock();
+        }
+    }
+
+    @Override
+    public void start()
+    {
+        _listening = true;
+        JavaCore.addElementChangedListener(_deltaListener, ElementChangedEvent.POST_CHANGE);
+        AccessAnalysisCompilationParticipant.register(this);
+    }
+
+    @Override
+    public void startWithBuilds()
+    {
+        _followingBuilds = true;
+        start();
+    }
+
+    @Override
+    public void stop()
+    {
+        _listening = false;
+        JavaCore.removeElementChangedListener(_deltaListener);
+        AccessAnalysisCompilationParticipant.unregister(this);
+        _followingBuilds = false;
+        _updateJob.cancel();
+    }
+
+    /**
+     * Checks whether a project is analysed.
+     *
+     * @param IJavaProject project The project
+     * @return boolean true, if the project is analysed
+     */
+    boolean analyses(IJavaProject project)
+    {
+        return _projects.contains(project);
+    }
+
+    /**
+     * Schedules the update of the changes collected so far after a build of an analysed project,
+     * if the analysis follows the builds.
+     *
+     * @param boolean fullBuild Was it a full build, so the whole analysis must run again?
+     */
+    void buildFinished(boolean fullBuild)
+    {
+        if (_followingBuilds)
+        {
+            schedule(new LinkedHashSet<ICompilationUnit>(), fullBuild, true);
+        }
+    }
+
+    /**
+     * Analyses the AST of a primary working copy that is being reconciled on the
+     * reconcile thread. The reconciler does not wait for a running update. If an update
+     * runs, the unit is updated from the working copy after it instead.
+     *
+     * @param ICompilationUnit unit The primary compilation unit of the working copy
+     * @param CompilationUnit ast The AST of the reconcile with resolved bindings
+     */
+    void reconciled(ICompilationUnit unit, CompilationUnit ast)
+    {
+        if (! _lock.tryLock())
+        {
+            schedule(Collections.singleton(unit), false, true);
+            return;
+        }
+
+        try
+        {
+            updateReconciledResults(unit, ast);
+        }
+        catch (CoreException coreExc)
+        {
+            _printer.error(coreExc);
+        }
+        finally
+        {
+            _lock.unlock();
+        }
+    }
+
+    /**
+     * Adds changes to the collected ones and schedules the update job, unless the
+     * analysis follows the builds and no build has finished.
+     *
+     * @param Set<ICompilationUnit> units The changed units
+     * @param boolean fullRun Must the whole analysis run again?
+     * @param boolean built Has a build of an analysed project finished?
+     */
+    private void schedule(Set<ICompilationUnit> units, boolean fullRun, boolean built)
+    {
+        boolean pending;
+        synchronized (_changedUnits)
+        {
+            _changedUnits.addAll(units);
+            _fullRunPending |= fullRun;
+            pending = _fullRunPending || ! _changedUnits.isEmpty();
+        }
+        if (pending && (built || ! _followingBuilds))
+        {
+            _updateJob.schedule(UPDATE_DELAY);
+        }
+    }
+
+    @Override
+    public void addListener(AnalysisListener listener)
+    {
+        _listeners.add(listener);
+    }
+
+    @Override
+    public void removeListener(AnalysisListener listener)
+    {
+        _listeners.remove(listener);
+    }
+
+    @Override
+    public List<Result> getResults()
+    {
+        return _projectResults;
+    }
+
+    @Override
+    public Result getResult(String name)
+    {
+        List<Result> projectResults = _projectResults;
+        if (projectResults != null && ! projectResults.isEmpty())
+        {
+            for (Result result : projectResults)
+            {
+                if (result.getFormatter().name().equals(name))
+                {
+                    return result;
+                }
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * Returns all compilation units of all projects
+     *
+     * @return Set<ICompilationUnit> All compilation units
+     *
+     * @throws JavaModelException if something goes wrong
+     */
+    private Set<ICompilationUnit> getCompilationUnits() throws JavaModelException
+    {
+        Set<ICompilationUnit> compilationUnits = new HashSet<ICompilationUnit>();
+
+        for (IJavaProject project : _projects)
+        {
+            for (IPackageFragment packageFragment : project.getPackageFragments())
+            {
+                if (packageFragment.getKind() == IPackageFragmentRoot.K_SOURCE)
+                {
+                    compilationUnits.addAll(Arrays.asList(packageFragment.getCompilationUnits()));
+                }
+            }
+        }
+
+        return compilationUnits;
+    }
+
+    /**
+     * Runs the whole analysis for all projects, keeps the contributions of all units
+     * and notifies the listeners.
+     *
+     * @param IProgressMonitor monitor The current progress monitor
+     *
+     * @throws CoreException if something goes wrong
+     * @throws ProgressMonitorCanceledException if the progress monitor is in canceled state
+     */
+    private void createResults(IProgressMonitor monitor) throws CoreException, ProgressMonitorCanceledException
+    {
+        monitor.beginTask("", getCompilationUnits().size() + 1);
+
+        _complete = false;
+        _typeKeys = new KeyDictionary();
+        _methodKeys = new KeyDictionary();
+        _typeLedger = new AccessLedger();
+        _methodLedger = new AccessLedger();
+        _overrideLedger = new OverrideLedger();
+        _typeMap = new TypeMap(_typeKeys, _typeLedger);
+        _methodMap = new MethodMap(_methodKeys, _methodLedger, _overrideLedger);
+        _contributions = new HashMap<ICompilationUnit, UnitContributions>();
+        _unitKeys = new KeyDictionary();
+        _typeDependents = new DependencyIndex();
+        _methodDependents = new DependencyIndex();
+        _declarations = new HashMap<ICompilationUnit, DeclarationFingerprint>();
+        _retractedDeclarations = new HashMap<ICompilationUnit, DeclarationFingerprint>();
+        _packages = new LinkedHashMap<IPackageFragment, PackageResult>();
+        _sourcePackages = new SourcePackages();
+        _typeLocations = new ArrayList<PackageResult>();
+        _methodLocations = new ArrayList<PackageResult>();
+        _unfinishedUnits.clear();
+        _unfinishedPackages.clear();
+
+        _printer.analysisBefore();
+        List<ProjectResult> projectResults = new ArrayList<ProjectResult>();
+        Map<IJavaProject, Map<ICompilationUnit, PackageResult>> units = new LinkedHashMap<IJavaProject, Map<ICompilationUnit, PackageResult>>();
+        for (IJavaProject project : _projects)
+        {
+            ProjectResult projectResult = new ProjectResult(project);
+            projectResults.add(projectResult);
+            units.put(project, buildProject(projectResult));
+        }
+
+        Pass pass = new Pass(monitor);
+        for (Map.Entry<IJavaProject, Map<ICompilationUnit, PackageResult>> entry : units.entrySet())
+        {
+            pass.analyze(entry.getKey(), entry.getValue());
+        }
+
+        monitor.subTask("Merge results");
+        _methodMap.resolveOverrides();
+        clearChanges();
+        for (PackageResult packageResult : _packages.values())
+        {
+            ProgressMonitorCanceledException.checkMonitor(monitor);
+            for (Result typeResult : packageResult.getChildren())
+            {
+                assign((TypeResult) typeResult, packageResult);
+                for (Result methodResult : typeResult.getChildren())
+                {
+                    assign((MethodResult) methodResult, packageResult);
+                }
+            }
+        }
+        for (ProjectResult projectResult : projectResults)
+        {
+            projectResult.freeze();
+        }
+        monitor.worked(1);
+        _printer.analysisAfter();
+
+        _projectResults = Collections.unmodifiableList(new ArrayList<Result>(projectResults));
+        _complete = true;
+        notifyListeners(_projectResults);
+    }
+
+    /**
+     * Builds the results of the source folders and packages of a project.
+     *
+     * @param ProjectResult projectResult The result of the project
+     * @return Map<ICompilationUnit, PackageResult> The compilation units of the project and the results of their packages
+     *
+     * @throws JavaModelException if something goes wrong
+     */
+    private Map<ICompilationUnit, PackageResult> buildProject(ProjectResult projectResult) throws JavaModelException
+    {
+        Map<ICompilationUnit, PackageResult> units = new LinkedHashMap<ICompilationUnit, PackageResult>();
+        for (IPackageFragmentRoot packageFragmentRoot : projectResult.getJavaElement().getPackageFragmentRoots())
+        {
+            if (packageFragmentRoot.getKind() == IPackageFragmentRoot.K_SOURCE)
+            {
+                SourceFolderResult sourceFolderResult = new SourceFolderResult(packageFragmentRoot, projectResult);
+                projectResult.addSourceFolder(sourceFolderResult);
+                for (IJavaElement child : packageFragmentRoot.getChildren())
+                {
+                    if (child instanceof IPackageFragment && ((IPackageFragment) child).getCompilationUnits().length > 0)
+                    {
+                        IPackageFragment packageFragment = (IPackageFragment) child;
+                        PackageResult packageResult = new PackageResult(packageFragment, sourceFolderResult);
+                        sourceFolderResult.addPackage(packageResult);
+                        _packages.put(packageFragment, packageResult);
+                        _sourcePackages.addSourcePackage(packageFragment);
+                        for (ICompilationUnit unit : packageFragment.getCompilationUnits())
+                        {
+                            units.put(unit, packageResult);
+                        }
+                    }
+                }
+            }
+        }
+        return units;
+    }
+
+    /**
+     * Analyses some changed compilation units and the units that depend on their
+     * declarations again and updates the affected results.
+     * Runs the whole analysis if a unit belongs to a package that has not been analysed.
+     *
+     * The changed units are visited first. Then the units that refer to the declarations
+     * of the visited units whose fingerprint changed are visited, until no more
+     * declarations change.
+     *
+     * Units whose update was canceled are updated again by the next call. The ledgers keep
+     * their changes and the fingerprints of the retracted units are kept until an update
+     * is published, so the next call still publishes the changes of the canceled one.
+     *
+     * @param Collection<ICompilationUnit> changedUnits The added, changed or removed compilation units
+     * @param IProgressMonitor monitor The current progress monitor
+     *
+     * @throws CoreException if something goes wrong
+     * @throws ProgressMonitorCanceledException if the progress monitor is in canceled state
+     */
+    private void updateResults(Collection<ICompilationUnit> changedUnits, IProgressMonitor monitor) throws CoreException, ProgressMonitorCanceledException
+    {
+        _unfinishedUnits.addAll(changedUnits);
+        for (ICompilationUnit unit : _unfinishedUnits)
+        {
+            if (_projects.contains(unit.getJavaProject()) && ! _packages.containsKey(unit.getParent()) && unit.exists())
+            {
+                createResults(monitor);
+                return;
+            }
+        }
+        monitor.beginTask("", _unfinishedUnits.size() + 1);
+
+        Pass pass = new Pass(monitor);
+        Set<ICompilationUnit> analysedUnits = new HashSet<ICompilationUnit>();
+        Map<ICompilationUnit, PackageResult> visitedUnits = new LinkedHashMap<ICompilationUnit, PackageResult>();
+        Set<ICompilationUnit> units = new LinkedHashSet<ICompilationUnit>(_unfinishedUnits);
+        while (! units.isEmpty())
+        {
+            visitedUnits.putAll(reanalyze(units, pass));
+            analysedUnits.addAll(units);
+
+            units = findDependents(units);
+            units.removeAll(analysedUnits);
+            _unfinishedUnits.addAll(units);
+        }
+
+        monitor.subTask("Merge results");
+        publish(visitedUnits);
+        monitor.worked(1);
+        _unfinishedUnits.clear();
+        _retractedDeclarations.clear();
+    }
+
+    /**
+     * Retracts some units of the analysed projects and visits the ones that still exist again.
+     * The fingerprint a unit had before its first retraction since the last update is kept.
+     *
+     * @param Set<ICompilationUnit> units The units
+     * @param Pass pass The pass of the update
+     * @return Map<ICompilationUnit, PackageResult> The visited units and the results of their packages
+     *
+     * @throws ProgressMonitorCanceledException if the progress monitor is in canceled state
+     */
+    private Map<ICompilationUnit, PackageResult> reanalyze(Set<ICompilationUnit> units, Pass pass) throws ProgressMonitorCanceledException
+    {
+        Map<IJavaProject, Map<ICompilationUnit, PackageResult>> projectUnits = new LinkedHashMap<IJavaProject, Map<ICompilationUnit, PackageResult>>();
+        for (ICompilationUnit unit : units)
+        {
+            PackageResult packageResult = _packages.get(unit.getParent());
+            if (! _projects.contains(unit.getJavaProject()) || packageResult == null)
+            {
+                continue;
+            }
+
+            retract(unit, packageResult);
+            _unfinishedPackages.add(packageResult);
+            if (! _retractedDeclarations.containsKey(unit))
+            {
+                _retractedDeclarations.put(unit, _declarations.get(unit));
+            }
+            _declarations.remove(unit);
+            if (unit.exists())
+            {
+                Map<ICompilationUnit, PackageResult> unitsOfProject = projectUnits.get(unit.getJavaProject());
+                if (unitsOfProject == null)
+                {
+                    unitsOfProject = new LinkedHashMap<ICompilationUnit, PackageResult>();
+                    projectUnits.put(unit.getJavaProject(), unitsOfProject);
+                }
+                unitsOfProject.put(unit, packageResult);
+            }
+        }
+
+        Map<ICompilationUnit, PackageResult> visitedUnits = new LinkedHashMap<ICompilationUnit, PackageResult>();
+        for (Map.Entry<IJavaProject, Map<ICompilationUnit, PackageResult>> entry : projectUnits.entrySet())
+        {
+            pass.analyze(entry.getKey(), entry.getValue());
+            visitedUnits.putAll(entry.getValue());
+        }
+        return visitedUnits;
+    }
+
+    /**
+     * Analyses the AST of a working copy that has just been reconciled and updates the
+     * results of its unit. The units that depend on its declarations are left alone until
+     * the working copy is saved, so the fingerprint of the saved declarations is kept.
+     *
+     * Every reconcile is visited by a pass of its own, since the bindings of its AST are
+     * not comparable with the ones of other reconciles. The AST is only read while the
+     * reconcile runs, so nothing of it is kept.
+     *
+     * @param ICompilationUnit unit The primary compilation unit of the working copy
+     * @param CompilationUnit ast The AST of the reconcile with resolved bindings
+     *
+     * @throws CoreException if something goes wrong
+     */
+    private void updateReconciledResults(ICompilationUnit unit, CompilationUnit ast) throws CoreException
+    {
+        PackageResult packageResult = _complete ? _packages.get(unit.getParent()) : null;
+        if (packageResult == null)
+        {
+            return;
+        }
+
+        _unfinishedPackages.add(packageResult);
+
+        retract(unit, packageResult);
+        new Pass(new NullProgressMonitor()).visit(unit, ast, packageResult, _declarations.get(unit));
+        publish(Collections.singletonMap(unit, packageResult));
+    }
+
+
+    /**
+     * Removes the results of a unit from the result tree and takes its contributions back.
+     *
+     * @param ICompilationUnit unit The compilation unit
+     * @param PackageResult packageResult The result of its package
+     */
+    private void retract(ICompilationUnit unit, PackageResult packageResult)
+    {
+        packageResult.removeCompilationUnit(unit);
+        UnitContributions contributions = _contributions.remove(unit);
+        if (contributions != null)
+        {
+            contributions.removeFrom(_typeLedger, _methodLedger, _overrideLedger);
+            contributions.removeDependent(_typeDependents, _methodDependents, _unitKeys.lookup(unit.getHandleIdentifier()));
+        }
+    }
+
+    /**
+     * Sets the minimal access of the types and methods of the visited units and of all types
+     * and methods whose minimal access changed since the last publish, freezes the changed
+     * packages and notifies the listeners.
+     *
+     * Only the IDs the ledgers changed are looked at. The overrides are resolved again
+     * for the changed methods and the methods that override them.
+     *
+     * @param Map<ICompilationUnit, PackageResult> visitedUnits The visited units and the results of their packages
+     *
+     * @throws JavaModelException if the actual access can't be read
+     */
+    private void publish(Map<ICompilationUnit, PackageResult> visitedUnits) throws JavaModelException
+    {
+        Set<PackageResult> changedPackages = new LinkedHashSet<PackageResult>(_unfinishedPackages);
+        int[] changedTypes = _typeLedger.getChangedIds();
+        int[] changedMethods = _methodMap.updateResolution(
+                union(_methodLedger.getChangedIds(), _overrideLedger.getChangedIds()), _overrideLedger);
+
+        Set<Result> changedResults = new LinkedHashSet<Result>();
+        for (Map.Entry<ICompilationUnit, PackageResult> entry : visitedUnits.entrySet())
+        {
+            for (Result result : entry.getValue().getResults(entry.getKey()))
+            {
+                assign(result, entry.getValue());
+                changedResults.add(result);
+            }
+        }
+        updateChangedTypes(changedTypes, changedPackages, changedResults);
+        updateChangedMethods(changedMethods, changedPackages, changedResults);
+
+        for (PackageResult packageResult : changedPackages)
+        {
+            packageResult.freeze();
+        }
+        _unfinishedPackages.clear();
+        clearChanges();
+
+        notifyListeners(changedResults);
+    }
+
+    /**
+     * Returns the units that refer to the types and methods of some visited or removed units
+     * whose declarations changed. Both the declarations the units had before they were
+     * retracted and the ones recorded by the visit are taken into account.
+     *
+     * @param Set<ICompilationUnit> units The units
+     * @return Set<ICompilationUnit> The units that depend on them, without the units themselves
+     */
+    private Set<ICompilationUnit> findDependents(Set<ICompilationUnit> units)
+    {
+        Set<ICompilationUnit> dependents = new LinkedHashSet<ICompilationUnit>();
+        for (ICompilationUnit unit : units)
+        {
+            DeclarationFingerprint oldDeclarations = _retractedDeclarations.get(unit);
+            DeclarationFingerprint newDeclarations = _declarations.get(unit);
+            if (oldDeclarations != null && newDeclarations != null && oldDeclarations.matches(newDeclarations))
+            {
+                continue;
+            }
+
+            addDependents(oldDeclarations, dependents);
+            addDependents(newDeclarations, dependents);
+        }
+        dependents.removeAll(units);
+        return dependents;
+    }
+
+    private void addDependents(DeclarationFingerprint declarations, Set<ICompilationUnit> dependents)
+    {
+        if (declarations == null)
+        {
+            return;
+        }
+
+        for (String key : declarations.getTypeKeys())
+        {
+            addDependents(_typeDependents, _typeKeys, key, dependents);
+        }
+        for (String key : declarations.getMethodKeys())
+        {
+            addDependents(_methodDependents, _methodKeys, key, dependents);
+        }
+    }
+
+    private void addDependents(DependencyIndex index, KeyDictionary keys, String key, Set<ICompilationUnit> dependents)
+    {
+        for (int unit : index.get(keys.lookup(key)))
+        {
+            dependents.add((ICompilationUnit) JavaCore.create(_unitKeys.key(unit)));
+        }
+    }
+
+    /**
+     * Sets the minimal access of the types whose entry in the type ledger changed.
+     */
+    private void updateChangedTypes(int[] changedIds, Set<PackageResult> changedPackages, Set<Result> changedResults) throws JavaModelException
+    {
+        for (int id : changedIds)
+        {
+            PackageResult packageResult = location(_typeLocations, id);
+            TypeResult typeResult = packageResult == null ? null : packageResult.findType(_typeKeys.key(id));
+            if (typeResult != null)
+            {
+                typeResult.setMinimalAccess(_typeMap.getAccess(typeResult.getJavaElement()));
+                changedPackages.add(packageResult);
+                changedResults.add(typeResult);
+            }
+        }
+    }
+
+    /**
+     * Sets the minimal access of the methods whose resolved minimal access changed.
+     */
+    private void updateChangedMethods(int[] changedIds, Set<PackageResult> changedPackages, Set<Result> changedResults) throws JavaModelException
+    {
+        for (int id : changedIds)
+        {
+            PackageResult packageResult = location(_methodLocations, id);
+            MethodResult methodResult = packageResult == null ? null : packageResult.findMethod(_methodKeys.key(id));
+            if (methodResult != null)
+            {
+                methodResult.setMinimalAccess(_methodMap.getAccess(methodResult.getJavaElement()));
+                changedPackages.add(packageResult);
+                changedResults.add(methodResult);
+            }
+        }
+    }
+
+    private void clearChanges()
+    {
+        _typeLedger.clearChanges();
+        _methodLedger.clearChanges();
+        _overrideLedger.clearChanges();
+    }
+
+    private static int[] union(int[] ids, int[] otherIds)
+    {
+        int[] union = Arrays.copyOf(ids, ids.length + otherIds.length);
+        System.arraycopy(otherIds, 0, union, ids.length, otherIds.length);
+        return union;
+    }
+
+    /**
+     * Remembers the package of a type or method and sets its minimal access.
+     *
+     * @param Result result The result of a type or method
+     * @param PackageResult packageResult The result of its package
+     *
+     * @throws JavaModelException if the actual access can't be read
+     */
+    private void assign(Result result, PackageResult packageResult) throws JavaModelException
+    {
+        if (result instanceof TypeResult)
+        {
+            TypeResult typeResult = (TypeResult) result;
+            locate(_typeLocations, _typeKeys.id(typeResult.getJavaElement().getKey()), packageResult);
+            typeResult.setMinimalAccess(_typeMap.getAccess(typeResult.getJavaElement()));
+        }
+        else
+        {
+            MethodResult methodResult = (MethodResult) result;
+            locate(_methodLocations, _methodKeys.id(methodResult.getJavaElement().getKey()), packageResult);
+            methodResult.setMinimalAccess(_methodMap.getAccess(methodResult.getJavaElement()));
+        }
+    }
+
+    private void notifyListeners(Collection<Result> changedResults)
+    {
+        List<Result> results = _projectResults;
+        for (AnalysisListener listener : _listeners)
+        {
+            listener.resultsChanged(results, changedResults);
+        }
+    }
+
+    private static void locate(List<PackageResult> locations, int id, PackageResult packageResult)
+    {
+        while (locations.size() <= id)
+        {
+            locations.add(null);
+        }
+        locations.set(id, packageResult);
+    }
+
+    private static PackageResult location(List<PackageResult> locations, int id)
+    {
+        if (id < locations.size())
+        {
+            return locations.get(id);
+        }
+        return null;
+    }
+
+    /**
+     * Collects the compilation units of a delta of the Java model that were added, removed
+     * or saved. Changes of working copies that are not saved yet are left out. A primary
+     * working copy that was discarded counts as changed, so its unsaved reconciled
+     * contributions are replaced by the ones of its saved source.
+     *
+     * @param IJavaElementDelta delta The delta
+     * @param Set<ICompilationUnit> units The set the units are added to
+     * @return boolean true, if the delta changes a class path, a source folder or a package, so the whole analysis must run again
+     */
+    private boolean collectChangedUnits(IJavaElementDelta delta, Set<ICompilationUnit> units)
+    {
+        IJavaElement element = delta.getElement();
+        int flags = delta.getFlags();
+
+        if (element instanceof ICompilationUnit)
+        {
+            ICompilationUnit unit = (ICompilationUnit) element;
+            if (unit.getOwner() == null
+                    && (delta.getKind() != IJavaElementDelta.CHANGED
+                        || (flags & IJavaElementDelta.F_PRIMARY_RESOURCE) != 0
+                        || (flags & (IJavaElementDelta.F_CONTENT | IJavaElementDelta.F_PRIMARY_WORKING_COPY)) != 0
+                            && ! unit.isWorkingCopy()))
+            {
+                units.add(unit);
+            }
+            return false;
+        }
+
+        if (element instanceof IJavaProject && ! _projects.contains(element))
+        {
+            return false;
+        }
+        if ((flags & (IJavaElementDelta.F_CLASSPATH_CHANGED | IJavaElementDelta.F_RESOLVED_CLASSPATH_CHANGED)) != 0)
+        {
+            return true;
+        }
+        if ((element instanceof IPackageFragmentRoot || element instanceof IPackageFragment)
+                && delta.getKind() != IJavaElementDelta.CHANGED)
+        {
+            return true;
+        }
+
+        boolean fullRun = false;
+        for (IJavaElementDelta child : delta.getAffectedChildren())
+        {
+            fullRun |= collectChangedUnits(child, units);
+        }
+        return fullRun;
+    }
+
+    /**
+     * Parses and visits compilation units with fresh binding caches and constraints
+     * and keeps the contributions of every unit.
+     */
+    private class Pass
+    {
+        private final BindingCaches _caches;
+        private final Set<TypeAccessConstraintChecker> _typeConstraints;
+        private final Set<MethodAccessConstraintChecker> _methodConstraints;
+        private final IProgressMonitor _monitor;
+
+        private Pass(IProgressMonitor monitor) throws CoreException
+        {
+            _caches = new BindingCaches(_typeKeys, _sourcePackages);
+            _typeConstraints = ConstraintsCollector.getTypeConstraints();
+            _methodConstraints = ConstraintsCollector.getMethodConstraints(_caches);
+            _monitor = monitor;
+        }
+
+        /**
+         * Parses some compilation units of a project in one batch and visits them.
+         * Units that the batch does not deliver are parsed one by one afterwards.
+         *
+         * @param IJavaProject project The project the units belong to
+         * @param Map<ICompilationUnit, PackageResult> units The units and the results of their packages
+         *
+         * @throws ProgressMonitorCanceledException if the progress monitor is in canceled state
+         */
+        private void analyze(IJavaProject project, Map<ICompilationUnit, PackageResult> units) throws ProgressMonitorCanceledException
+        {
+            final Map<ICompilationUnit, PackageResult> remainingUnits = new LinkedHashMap<ICompilationUnit, PackageResult>(units);
+
+            ASTParser parser = AccessAnalysisResultCollector.newParser();
+            parser.setProject(project);
+            try
+            {
+                parser.createASTs(remainingUnits.keySet().toArray(new ICompilationUnit[remainingUnits.size()]), new String[0], new ASTRequestor()
+                {
+                    @Override
+                    public void acceptAST(ICompilationUnit source, CompilationUnit ast)
+                    {
+                        if (_monitor.isCanceled())
+                        {
+                            throw new OperationCanceledException();
+                        }
+
+                        PackageResult packageResult = remainingUnits.remove(source);
+                        if (packageResult != null)
+                        {
+                            visit(source, ast, packageResult);
+                        }
+                    }
+                }, null);
+            }
+            catch (OperationCanceledException cancelExc)
+            {
+                throw new ProgressMonitorCanceledException();
+            }
+
+            for (Map.Entry<ICompilationUnit, PackageResult> entry : remainingUnits.entrySet())
+            {
+                ProgressMonitorCanceledException.checkMonitor(_monitor);
+                ASTParser unitParser = AccessAnalysisResultCollector.newParser();
+                unitParser.setSource(entry.getKey());
+                visit(entry.getKey(), (CompilationUnit) unitParser.createAST(null), entry.getValue());
+            }
+        }
+
+        /**
+         * Visits the AST of a compilation unit with maps of its own, adds its contributions
+         * to the ledgers and the dependency index and increments the progress monitor by 1.
+         *
+         * @param ICompilationUnit unit The compilation unit
+         * @param CompilationUnit ast The root element of the AST of the unit
+         * @param PackageResult packageResult The result of the package the unit belongs to
+         */
+        private void visit(ICompilationUnit unit, CompilationUnit ast, PackageResult packageResult)
+        {
+            visit(unit, ast, packageResult, DeclarationFingerprint.of(ast));
+        }
+
+        /**
+         * Visits the AST of a compilation unit whose declarations have been fingerprinted already.
+         * Without a fingerprint, the unit is not known to declare anything.
+         *
+         * @param ICompilationUnit unit The compilation unit
+         * @param CompilationUnit ast The root element of the AST of the unit
+         * @param PackageResult packageResult The result of the package the unit belongs to
+         * @param DeclarationFingerprint declarations The fingerprint of the declarations in the AST or null
+         */
+        private void visit(ICompilationUnit unit, CompilationUnit ast, PackageResult packageResult, DeclarationFingerprint declarations)
+        {
+            _monitor.subTask("Read " + unit.getPath().toString());
+            HandlerSet handlers = new HandlerSet(_typeConstraints, _methodConstraints,
+                    UnitContributions.newTypeMap(_typeKeys), UnitContributions.newMethodMap(_methodKeys), _caches);
+            ast.accept(handlers.newVisitor(packageResult, _printer));
+            UnitContributions contributions = new UnitContributions(handlers.getTypeMap(), handlers.getMethodMap());
+            contributions.addTo(_typeLedger, _methodLedger, _overrideLedger);
+            contributions.addDependent(_typeDependents, _methodDependents, _unitKeys.id(unit.getHandleIdentifier()));
+            _contributions.put(unit, contributions);
+            if (declarations != null)
+            {
+                _declarations.put(unit, declarations);
+            }
+            else
+            {
+                _declarations.remove(unit);
+            }
+            _monitor.worked(1);
+        }
+    }
+
+    /**
+     * Collects the changes of the Java model and schedules the update job.
+     */
+    private class DeltaListener implements IElementChangedListener
+    {
+        @Override
+        public void elementChanged(ElementChangedEvent event)
+        {
+            Set<ICompilationUnit> units = new LinkedHashSet<ICompilationUnit>();
+            boolean fullRun = collectChangedUnits(event.getDelta(), units);
+            if (fullRun || ! units.isEmpty())
+            {
+                schedule(units, fullRun, false);
+            }
+        }
+    }
+
+    /**
+     * Updates the results in the background. Changes that arrive while the job
+     * waits are collected, so a burst of changes leads to a single update.
+     */
+    private class UpdateJob extends Job
+    {
+        private UpdateJob()
+        {
+            super("AccessAnalysis Update");
+            setSystem(true);
+        }
+
+        @Override
+        protected IStatus run(IProgressMonitor monitor)
+        {
+            Set<ICompilationUnit> units;
+            boolean fullRun;
+            synchronized (_changedUnits)
+            {
+                units = new LinkedHashSet<ICompilationUnit>(_changedUnits);
+                fullRun = _fullRunPending;
+                _changedUnits.clear();
+                _fullRunPending = false;
+            }
+
+            try
+            {
+                refresh(units, fullRun, monitor);
+            }
+            catch (AnalysisException exc)
+            {
+                return new Status(IStatus.ERROR, AccessAnalysisActivator.PLUGIN_ID, exc.getMessage(), exc);
+            }
+            return Status.OK_STATUS;
+        }
+    }
+}
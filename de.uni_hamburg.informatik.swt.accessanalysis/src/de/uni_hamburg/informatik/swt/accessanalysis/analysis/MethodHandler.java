@@ -23,8 +23,12 @@ import de.uni_hamburg.informatik.swt.accessanalysis.analysis.determinators.Invok
 import de.uni_hamburg.informatik.swt.accessanalysis.analysis.determinators.InvokedMethodAccessDeterminatorForStaticContext;
 import de.uni_hamburg.informatik.swt.accessanalysis.analysis.determinators.OverriddenMethodAccessDeterminator;
 import de.uni_hamburg.informatik.swt.accessanalysis.bindings.Hierarchy;
-import de.uni_hamburg.informatik.swt.accessanalysis.bindings.Locals;
+import de.uni_hamburg.informatik.swt.accessanalysis.bindings.InterfaceMethods;
+import de.uni_hamburg.informatik.swt.accessanalysis.bindings.OverriddenMethods;
+import de.uni_hamburg.informatik.swt.accessanalysis.bindings.BindingCaches;
+import de.uni_hamburg.informatik.swt.accessanalysis.bindings.DeclaredMethods;
 import de.uni_hamburg.informatik.swt.accessanalysis.bindings.Nesting;
+import de.uni_hamburg.informatik.swt.accessanalysis.bindings.SourcePackages;
 import de.uni_hamburg.informatik.swt.accessanalysis.constraints.MethodAccessConstraintChecker;
 
 
@@ -35,6 +39,11 @@ class MethodHandler
 {
     private final Stack<ITypeBinding> _currentTypes;
     private final MethodMap _methodMap;
+    private final SourcePackages _sourcePackages;
+    private final BindingCaches _caches;
+    private final DeclaredMethods _declaredMethods;
+    private final OverriddenMethods _overriddenMethods;
+    private final InterfaceMethods _interfaceMethods;
     
     private final ExpressionTypeDeterminator _expressionTypeDeterminator;
     private final Set<MethodAccessConstraintChecker> _constraints;
@@ -42,6 +51,7 @@ class MethodHandler
     private InvokedMethodAccessDeterminator _invokedMethodAccessDeterminator;
     private InvokedMethodAccessDeterminatorForStaticContext _invokedMethodAccessDeterminatorForStaticContext;
     private boolean _constructorWithoutConstructorCall;
+    private long _prunedEvaluations;
     
     /**
      * Initializes an object of MethodHandler. 
@@ -49,9 +59,27 @@ class MethodHandler
      * @param ExpressionTypeDeterminator expressionTypeDeterminator The ExpressionTypeDeterminator to be used
      */
     MethodHandler(ExpressionTypeDeterminator expressionTypeDeterminator, Set<MethodAccessConstraintChecker> constraints)
+    {
+        this(expressionTypeDeterminator, constraints, new MethodMap(), new BindingCaches());
+    }
+    
+    /**
+     * Initializes an object of MethodHandler that puts the determined accesses to a given map. 
+     * 
+     * @param ExpressionTypeDeterminator expressionTypeDeterminator The ExpressionTypeDeterminator to be used
+     * @param MethodMap methodMap The map to be filled, may be shared with other handlers if it is a ConcurrentMethodMap
+     * @param BindingCaches caches The binding caches of the analysis run
+     */
+    MethodHandler(ExpressionTypeDeterminator expressionTypeDeterminator, Set<MethodAccessConstraintChecker> constraints, MethodMap methodMap,
+            BindingCaches caches)
     {
     	_currentTypes = new Stack<ITypeBinding>();
-    	_methodMap = new MethodMap();
+    	_methodMap = methodMap;
+    	_sourcePackages = caches.getSourcePackages();
+    	_caches = caches;
+    	_declaredMethods = caches.getDeclaredMethods();
+    	_overriddenMethods = caches.getOverriddenMethods();
+    	_interfaceMethods = caches.getInterfaceMethods();
     	
         _expressionTypeDeterminator = expressionTypeDeterminator;
 		_constraints = constraints;
@@ -59,6 +87,7 @@ class MethodHandler
 		_invokedMethodAccessDeterminator = null;
 		_invokedMethodAccessDeterminatorForStaticContext = null;
         _constructorWithoutConstructorCall = false;
+        _prunedEvaluations = 0;
     }
     
     /**
@@ -71,6 +100,16 @@ class MethodHandler
         return _methodMap;
     }
     
+    /**
+     * Returns the number of access evaluations that were skipped because the method was already public.
+     * 
+     * @return long The number of skipped evaluations
+     */
+    long getPrunedEvaluations()
+    {
+        return _prunedEvaluations;
+    }
+    
     /**
      * Handles a MethodDeclaration
      * 
@@ -83,7 +122,7 @@ class MethodHandler
         
         checkConstraints(methodBinding);
         
-        IMethodBinding overriddenBinding = Hierarchy.findOverriddenMethod(methodBinding, true);
+        IMethodBinding overriddenBinding = _overriddenMethods.findOverriddenMethod(methodBinding, true);
         if (overriddenBinding != null)
         {
             overriddenBinding = overriddenBinding.getMethodDeclaration();
@@ -99,6 +138,9 @@ class MethodHandler
     }
     
     private void checkConstraints(IMethodBinding methodBinding) throws JavaModelException {
+    	if (isPruned(methodBinding)) {
+    		return;
+    	}
 		for (MethodAccessConstraintChecker constraint : _constraints) {
         	Access access = constraint.checkMethodDeclaration(methodBinding);
         	if (access != null && access.compareTo(Access.NO_USE) > 0) {
@@ -132,7 +174,7 @@ class MethodHandler
     void handle(MethodInvocation node) throws JavaModelException
     {
         IMethodBinding methodBinding = node.resolveMethodBinding().getMethodDeclaration();
-        if (isLocalMethod(methodBinding))
+        if (isLocalMethod(methodBinding) && ! isPruned(methodBinding))
         {
             ITypeBinding expressionType = _expressionTypeDeterminator.getExpressionType(node);
             _methodMap.putAccess(methodBinding, getAccessDeterminator().determineAccess(methodBinding, expressionType));
@@ -157,7 +199,7 @@ class MethodHandler
     void handle(ClassInstanceCreation node) throws JavaModelException
     {
         IMethodBinding constructorBinding = node.resolveConstructorBinding().getMethodDeclaration();
-        if (constructorBinding.getJavaElement() != null && isLocalMethod(constructorBinding))
+        if (constructorBinding.getJavaElement() != null && isLocalMethod(constructorBinding) && ! isPruned(constructorBinding))
         {
             _methodMap.putAccess(constructorBinding, getAccessDeterminator().determineAccess(constructorBinding, constructorBinding.getDeclaringClass()));
         }
@@ -203,7 +245,7 @@ class MethodHandler
     void handle(EnumConstantDeclaration node) throws JavaModelException
     {
         IMethodBinding constructorBinding = node.resolveConstructorBinding().getMethodDeclaration();
-        if (constructorBinding.getJavaElement() != null && isLocalMethod(constructorBinding))
+        if (constructorBinding.getJavaElement() != null && isLocalMethod(constructorBinding) && ! isPruned(constructorBinding))
         {
             _methodMap.putAccess(constructorBinding, getAccessDeterminator().determineAccess(constructorBinding, constructorBinding.getDeclaringClass()));
         }
@@ -219,11 +261,11 @@ class MethodHandler
         ITypeBinding typeBinding = node.resolveBinding();
         setCurrentType(typeBinding);
         
-        for (IMethodBinding method : Hierarchy.findAllInterfaceMethods(typeBinding))
+        for (IMethodBinding method : _interfaceMethods.findAllInterfaceMethods(typeBinding))
         {
-            if (Hierarchy.findOveridingMethodInType(typeBinding, method) == null)
+            if (Hierarchy.findOveridingMethodInType(typeBinding, method, _declaredMethods) == null)
             {
-                IMethodBinding inheritedImplementation = Hierarchy.findMethodInSuperclasses(typeBinding, method, true);
+                IMethodBinding inheritedImplementation = _interfaceMethods.findMethodInSuperclasses(typeBinding, method, true);
                 if (inheritedImplementation != null)
                 {
                     _methodMap.putAccess(inheritedImplementation, Access.PUBLIC);
@@ -248,7 +290,7 @@ class MethodHandler
     
     private void handleSuperMethod(IMethodBinding methodBinding)
     {
-        if (isLocalMethod(methodBinding))
+        if (isLocalMethod(methodBinding) && ! isPruned(methodBinding))
         {
             ITypeBinding typeBinding = methodBinding.getDeclaringClass();
             Access access = Access.PROTECTED;
@@ -301,20 +343,37 @@ class MethodHandler
        
     private boolean isLocalMethod(IMethodBinding methodBinding)
     { 
-        return Locals.isLocalMethod(methodBinding);
+        return _sourcePackages.isLocalMethod(methodBinding);
+    }
+    
+    /**
+     * Checks whether the evaluation of the access of a method can be skipped,
+     * because the method is already public and no access can change its entry.
+     * 
+     * @param IMethodBinding methodBinding The method to be evaluated
+     * @return boolean true, if the evaluation is skipped
+     */
+    private boolean isPruned(IMethodBinding methodBinding)
+    {
+        if (_methodMap.isPublic(methodBinding))
+        {
+            _prunedEvaluations++;
+            return true;
+        }
+        return false;
     }
     
     private void setCurrentType(ITypeBinding typeBinding)
     {
         _currentTypes.push(typeBinding);
-        _invokedMethodAccessDeterminatorForStaticContext = new InvokedMethodAccessDeterminatorForStaticContext(getCurrentType());
+        _invokedMethodAccessDeterminatorForStaticContext = new InvokedMethodAccessDeterminatorForStaticContext(getCurrentType(), _caches);
         _invokedMethodAccessDeterminator = getAccessDeterminatorForStaticContext();
     }
     
     private void unsetCurrentType()
     {
         _currentTypes.pop();
-        _invokedMethodAccessDeterminatorForStaticContext = new InvokedMethodAccessDeterminatorForStaticContext(getCurrentType());
+        _invokedMethodAccessDeterminatorForStaticContext = new InvokedMethodAccessDeterminatorForStaticContext(getCurrentType(), _caches);
         _invokedMethodAccessDeterminator = getAccessDeterminatorForStaticContext();
     }
     
@@ -330,7 +389,7 @@ class MethodHandler
     
     private void setCurrentMethod(IMethodBinding methodBinding)
     {
-        _invokedMethodAccessDeterminator = new InvokedMethodAccessDeterminator(methodBinding);
+        _invokedMethodAccessDeterminator = new InvokedMethodAccessDeterminator(methodBinding, _caches);
     }
     
     private void unsetCurrentMethod()
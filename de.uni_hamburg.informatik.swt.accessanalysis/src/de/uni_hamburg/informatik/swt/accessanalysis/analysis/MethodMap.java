@@ -3,81 +3,394 @@
  */
 package de.uni_hamburg.informatik.swt.accessanalysis.analysis;
 
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 import org.eclipse.jdt.core.IMethod;
 import org.eclipse.jdt.core.dom.IMethodBinding;
 
 import de.uni_hamburg.informatik.swt.accessanalysis.access.Access;
+import de.uni_hamburg.informatik.swt.accessanalysis.bindings.KeyDictionary;
 
 
 /**
  * Collects minimal access and overridden methods of methods
  * and maps the methods to their actual minimal access.
  *
+ * The methods are identified by the IDs a KeyDictionary assigns to their keys,
+ * so the accesses and overrides are kept in primitive tables.
+ * 
+ * The actual minimal access of a method is the maximum of its own access and the 
+ * actual minimal access of the method it overrides. It is resolved for all methods 
+ * at once by resolveOverrides() after the collection. When the tables are ledgers 
+ * that change later, updateResolution() resolves the changed methods again.
  */
 class MethodMap
 {
-    private final Map<String, Access> _accessMap = new HashMap<String, Access>();
-    private final Map<String, String> _overrideMap = new HashMap<String, String>();;
+    private final KeyDictionary _keys;
+    private final AccessTable _accessTable;
+    private final IdTable _overrideTable;
     
+    private volatile AccessTable _resolvedTable;
     
-    void putAccess(IMethodBinding binding, Access access)
+    /**
+     * Initializes an object of MethodMap with a dictionary of its own 
+     * that must be used by a single thread only. 
+     */
+    MethodMap()
     {
-        putAccess(binding.getKey(), access);
+        this(new KeyDictionary());
     }
     
-    private void putAccess(String key, Access access)
+    /**
+     * Initializes an object of MethodMap that must be used by a single thread only. 
+     * 
+     * @param KeyDictionary keys The dictionary of method keys, may be shared with other maps
+     */
+    MethodMap(KeyDictionary keys)
     {
-        Access old = _accessMap.get(key);
-        if (old == null || access.compareTo(old) > 0)
-        {
-            _accessMap.put(key, access);
-        }
+        this(keys, new AccessTable());
+    }
+    
+    /**
+     * Initializes an object of MethodMap with the given access table. 
+     * 
+     * @param KeyDictionary keys The dictionary of method keys, may be shared with other maps
+     * @param AccessTable accessTable The table of the minimal access per method ID
+     */
+    MethodMap(KeyDictionary keys, AccessTable accessTable)
+    {
+        this(keys, accessTable, new IdTable());
+    }
+    
+    /**
+     * Initializes an object of MethodMap with the given tables. 
+     * 
+     * @param KeyDictionary keys The dictionary of method keys, may be shared with other maps
+     * @param AccessTable accessTable The table of the minimal access per method ID
+     * @param IdTable overrideTable The table of the overridden method per method ID
+     */
+    MethodMap(KeyDictionary keys, AccessTable accessTable, IdTable overrideTable)
+    {
+        _keys = keys;
+        _accessTable = accessTable;
+        _overrideTable = overrideTable;
+        _resolvedTable = null;
+    }
+    
+    /**
+     * Returns the dictionary of method keys.
+     * 
+     * @return KeyDictionary The dictionary
+     */
+    KeyDictionary getKeys()
+    {
+        return _keys;
+    }
+    
+    /**
+     * Returns the table of the minimal access per method ID.
+     * 
+     * @return AccessTable The table
+     */
+    AccessTable getAccessTable()
+    {
+        return _accessTable;
+    }
+    
+    /**
+     * Returns the table of the overridden method per method ID.
+     * 
+     * @return IdTable The table
+     */
+    IdTable getOverrideTable()
+    {
+        return _overrideTable;
+    }
+    
+    void putAccess(IMethodBinding binding, Access access)
+    {
+        _accessTable.putMaximum(_keys.id(binding.getKey()), access);
+        discardResolution();
+    }
+
+    /**
+     * Checks whether a method already has the maximal access of its own, so no later
+     * access can change its entry. Accesses of overriding methods are not taken into account.
+     * 
+     * @param IMethodBinding binding The method
+     * @return boolean true, if the method is public
+     */
+    boolean isPublic(IMethodBinding binding)
+    {
+        return _accessTable.get(_keys.lookup(binding.getKey())) == Access.PUBLIC;
     }
 
     void putOverride(IMethodBinding overriding, IMethodBinding overridden)
     {
-        putOverride(overriding.getKey(), overridden.getKey());
+        putOverride(_keys.id(overriding.getKey()), _keys.id(overridden.getKey()));
+    }
+    
+    void putOverride(int overridingId, int overriddenId)
+    {
+        _overrideTable.put(overridingId, overriddenId);
+        discardResolution();
+    }
+    
+    /**
+     * Merges all entries of another map into this map, keeping the maximal access per method.
+     * Both maps must share the same dictionary.
+     * 
+     * @param MethodMap other The map to be merged into this map
+     */
+    void putAll(MethodMap other)
+    {
+        if (other._keys != _keys)
+        {
+            throw new IllegalArgumentException("The method maps do not share their dictionary");
+        }
+        
+        _accessTable.putAll(other._accessTable);
+        putOverrides(other._overrideTable);
     }
     
-    private void putOverride(String overridingKey, String overriddenKey)
+    void putOverrides(IdTable overrideTable)
     {
-        _overrideMap.put(overridingKey, overriddenKey);
+        _overrideTable.putAll(overrideTable);
+        discardResolution();
     }
     
     Access getAccess(IMethod method)
     {
-        return getAccess(method.getKey());
+        int id = _keys.lookup(method.getKey());
+        if (id == KeyDictionary.NO_ID)
+        {
+            return Access.NO_USE;
+        }
+        
+        return getAccess(id);
     }
 
-    private Access getAccess(String key)
+    /**
+     * Discards the resolved minimal access of all methods. Must be called after
+     * the tables of the map have been changed directly.
+     */
+    void discardResolution()
     {
-        Access access = Access.NO_USE;
+        if (_resolvedTable != null)
+        {
+            _resolvedTable = null;
+        }
+    }
+    
+    private Access getAccess(int id)
+    {
+        AccessTable resolvedTable = _resolvedTable;
+        if (resolvedTable == null)
+        {
+            resolvedTable = resolveOverrides();
+        }
         
-        Access ownAccess = _accessMap.get(key);
-        if (ownAccess != null)
+        Access access = resolvedTable.get(id);
+        if (access != null)
         {
-            access = ownAccess;
+            return access;
         }
         
-        String overrideKey = _overrideMap.get(key);
-        if (overrideKey != null)
+        return Access.NO_USE;
+    }
+    
+    /**
+     * Resolves the actual minimal access of all methods, so every later lookup is a single 
+     * table read. Every override chain is followed iteratively up to the first method 
+     * that is already resolved and the chain is resolved backwards from there, so every 
+     * method is resolved once, however long the chains are.
+     * 
+     * Must be called after the collection, before the map is read by several threads.
+     * Any later update of the map discards the resolution.
+     * 
+     * @return AccessTable The actual minimal access per method ID
+     */
+    synchronized AccessTable resolveOverrides()
+    {
+        if (_resolvedTable != null)
+        {
+            return _resolvedTable;
+        }
+        
+        int size = _keys.size();
+        AccessTable resolvedTable = new AccessTable();
+        boolean[] resolved = new boolean[size];
+        boolean[] onChain = new boolean[size];
+        int[] chain = new int[16];
+        
+        for (int id = 0; id < size; id++)
         {
-            Access overrideAccess = getAccess(overrideKey);
-            if (overrideAccess.compareTo(access) > 0)
+            int length = 0;
+            int current = id;
+            while (current != KeyDictionary.NO_ID && ! resolved[current] && ! onChain[current])
             {
-                access = overrideAccess;
+                if (length == chain.length)
+                {
+                    int[] longerChain = new int[length * 2];
+                    System.arraycopy(chain, 0, longerChain, 0, length);
+                    chain = longerChain;
+                }
+                chain[length++] = current;
+                onChain[current] = true;
+                current = _overrideTable.get(current);
+            }
+            
+            Access inherited = Access.NO_USE;
+            if (current != KeyDictionary.NO_ID && resolved[current])
+            {
+                inherited = resolvedTable.get(current);
+            }
+            
+            while (length > 0)
+            {
+                int member = chain[--length];
+                Access access = _accessTable.get(member);
+                if (access != null && access.compareTo(inherited) > 0)
+                {
+                    inherited = access;
+                }
+                resolvedTable.putMaximum(member, inherited);
+                resolved[member] = true;
+                onChain[member] = false;
             }
         }
         
-        return access;
+        _resolvedTable = resolvedTable;
+        return resolvedTable;
+    }
+    
+    /**
+     * Resolves the actual minimal access again after the access or the overridden method
+     * of some methods changed. Only these methods and the methods that override them
+     * directly or indirectly are resolved again, the others keep their resolution.
+     * If there is no resolution yet, all methods are resolved.
+     * 
+     * @param int[] changedIds The IDs of the methods whose access or overridden method changed
+     * @param OverrideLedger overrideLedger The ledger this map reads its overrides from
+     * @return int[] The IDs of the methods whose actual minimal access changed
+     */
+    synchronized int[] updateResolution(int[] changedIds, OverrideLedger overrideLedger)
+    {
+        AccessTable resolvedTable = _resolvedTable;
+        if (resolvedTable == null)
+        {
+            resolveOverrides();
+            int[] ids = new int[_keys.size()];
+            for (int id = 0; id < ids.length; id++)
+            {
+                ids[id] = id;
+            }
+            return ids;
+        }
+        
+        Set<Integer> affected = new LinkedHashSet<Integer>();
+        List<Integer> pending = new ArrayList<Integer>();
+        for (int id : changedIds)
+        {
+            if (affected.add(id))
+            {
+                pending.add(id);
+            }
+        }
+        while (! pending.isEmpty())
+        {
+            for (int overriding : overrideLedger.getOverriding(pending.remove(pending.size() - 1)))
+            {
+                if (affected.add(overriding))
+                {
+                    pending.add(overriding);
+                }
+            }
+        }
+        
+        Map<Integer, Access> resolved = new HashMap<Integer, Access>();
+        Set<Integer> onChain = new LinkedHashSet<Integer>();
+        int[] chain = new int[16];
+        for (int id : affected)
+        {
+            int length = 0;
+            int current = id;
+            while (current != KeyDictionary.NO_ID && affected.contains(current) 
+                    && ! resolved.containsKey(current) && ! onChain.contains(current))
+            {
+                if (length == chain.length)
+                {
+                    int[] longerChain = new int[length * 2];
+                    System.arraycopy(chain, 0, longerChain, 0, length);
+                    chain = longerChain;
+                }
+                chain[length++] = current;
+                onChain.add(current);
+                current = _overrideTable.get(current);
+            }
+            
+            Access inherited = Access.NO_USE;
+            if (current != KeyDictionary.NO_ID && ! onChain.contains(current))
+            {
+                Access access = affected.contains(current) ? resolved.get(current) : resolvedTable.get(current);
+                if (access != null)
+                {
+                    inherited = access;
+                }
+            }
+            
+            while (length > 0)
+            {
+                int member = chain[--length];
+                Access access = _accessTable.get(member);
+                if (access != null && access.compareTo(inherited) > 0)
+                {
+                    inherited = access;
+                }
+                resolved.put(member, inherited);
+                onChain.remove(member);
+            }
+        }
+        
+        int[] changed = new int[resolved.size()];
+        int n = 0;
+        for (Map.Entry<Integer, Access> entry : resolved.entrySet())
+        {
+            Access oldAccess = resolvedTable.get(entry.getKey());
+            if ((oldAccess == null ? Access.NO_USE : oldAccess) != entry.getValue())
+            {
+                changed[n++] = entry.getKey();
+            }
+            resolvedTable.put(entry.getKey(), entry.getValue());
+        }
+        
+        int[] result = new int[n];
+        System.arraycopy(changed, 0, result, 0, n);
+        return result;
     }
     
     @Override
     public String toString()
     {
-        return _accessMap.toString();
+        StringBuilder builder = new StringBuilder("{");
+        int capacity = _accessTable.capacity();
+        for (int id = 0; id < capacity; id++)
+        {
+            Access access = _accessTable.get(id);
+            if (access != null)
+            {
+                if (builder.length() > 1)
+                {
+                    builder.append(", ");
+                }
+                builder.append(_keys.key(id)).append('=').append(access);
+            }
+        }
+        return builder.append('}').toString();
     }
 }
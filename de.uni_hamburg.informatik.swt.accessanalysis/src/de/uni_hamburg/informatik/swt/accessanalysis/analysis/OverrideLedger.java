@@ -0,0 +1,129 @@
+package de.uni_hamburg.informatik.swt.accessanalysis.analysis;
+
+import java.util.Arrays;
+
+import de.uni_hamburg.informatik.swt.accessanalysis.bindings.KeyDictionary;
+
+
+/**
+ * An IdTable of overridden methods that counts per ID how many compilation units
+ * reported the override, so the report of a unit can be taken back again.
+ *
+ * A method overrides the same method whichever unit reports it, so a mapping is
+ * only removed when no unit reports it any more. The table must be used by a
+ * single thread only.
+ *
+ * The ledger also keeps the overriding methods of every method and remembers
+ * the IDs whose mapping changed since the last clearChanges().
+ */
+class OverrideLedger extends IdTable
+{
+    private static final int INITIAL_CAPACITY = 256;
+
+    private int[] _counts;
+    private final DependencyIndex _overriding;
+    private final TouchedIds _touched;
+    private final IdTable _previous;
+
+    /**
+     * Initializes an empty OverrideLedger.
+     */
+    OverrideLedger()
+    {
+        _counts = new int[INITIAL_CAPACITY];
+        _overriding = new DependencyIndex();
+        _touched = new TouchedIds();
+        _previous = new IdTable();
+    }
+
+    /**
+     * Adds the report of an override.
+     *
+     * @param int id The ID of the overriding method
+     * @param int value The ID of the overridden method
+     */
+    void add(int id, int value)
+    {
+        if (id >= _counts.length)
+        {
+            _counts = Arrays.copyOf(_counts, Math.max(id + 1, _counts.length * 2));
+        }
+
+        _counts[id]++;
+        map(id, value);
+    }
+
+    /**
+     * Removes the report of an override that has been added before.
+     *
+     * @param int id The ID of the overriding method
+     */
+    void remove(int id)
+    {
+        if (--_counts[id] == 0)
+        {
+            map(id, KeyDictionary.NO_ID);
+        }
+    }
+
+    /**
+     * Returns the methods that override a method directly.
+     *
+     * @param int id The ID of the overridden method
+     * @return int[] The IDs of the overriding methods
+     */
+    int[] getOverriding(int id)
+    {
+        return _overriding.get(id);
+    }
+
+    /**
+     * Returns the IDs whose overridden method changed since the last clearChanges().
+     *
+     * @return int[] The IDs of the overriding methods
+     */
+    int[] getChangedIds()
+    {
+        int[] touched = _touched.toArray();
+        int n = 0;
+        for (int id : touched)
+        {
+            if (_previous.get(id) != get(id))
+            {
+                touched[n++] = id;
+            }
+        }
+        return Arrays.copyOf(touched, n);
+    }
+
+    /**
+     * Forgets the changes, so the current mappings are the ones later changes are compared to.
+     */
+    void clearChanges()
+    {
+        _touched.clear();
+    }
+
+    private void map(int id, int value)
+    {
+        int oldValue = get(id);
+        if (oldValue == value)
+        {
+            return;
+        }
+
+        if (_touched.touch(id))
+        {
+            _previous.put(id, oldValue);
+        }
+        if (oldValue != KeyDictionary.NO_ID)
+        {
+            _overriding.remove(oldValue, id);
+        }
+        if (value != KeyDictionary.NO_ID)
+        {
+            _overriding.add(value, id);
+        }
+        put(id, value);
+    }
+}
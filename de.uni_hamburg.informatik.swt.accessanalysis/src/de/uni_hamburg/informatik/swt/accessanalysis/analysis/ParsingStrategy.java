@@ -0,0 +1,36 @@
+package de.uni_hamburg.informatik.swt.accessanalysis.analysis;
+
+/**
+ * All possible ways to create the ASTs of the analyzed compilation units.
+ */
+public enum ParsingStrategy
+{
+    /**
+     * Every compilation unit is parsed on its own with a fresh binding environment
+     * while the Java model is walked.
+     */
+    PER_UNIT,
+
+    /**
+     * All compilation units of a project are parsed at once by
+     * <code>ASTParser.createASTs</code>, so they share one binding environment.
+     * Units the batch does not deliver are parsed on their own afterwards.
+     */
+    BATCH,
+
+    /**
+     * The compilation units of a project are split into one batch per parser thread.
+     * Every parser thread visits the resolved ASTs of its batch as soon as they are
+     * available, with its own handlers and maps, whose maps are merged by taking
+     * the maximal access per key at the end.
+     */
+    PIPELINE,
+
+    /**
+     * Every package is a task of its own on a pool of worker threads. A task parses
+     * the compilation units of its package in one batch, visits them with the handlers
+     * of its worker and builds the result of the package. The package results are
+     * added to the result tree in the order of the Java model.
+     */
+    PACKAGE_TASKS,
+}
@@ -0,0 +1,133 @@
+package de.uni_hamburg.informatik.swt.accessanalysis.analysis;
+
+import java.util.Arrays;
+
+import de.uni_hamburg.informatik.swt.accessanalysis.access.Access;
+import de.uni_hamburg.informatik.swt.accessanalysis.bindings.KeyDictionary;
+
+
+/**
+ * An AccessTable for the few IDs a single compilation unit contributes to.
+ *
+ * The IDs are kept in an open addressing hash table, so the table does not grow
+ * with the largest ID of the run. The table must be used by a single thread only.
+ */
+class SparseAccessTable extends AccessTable
+{
+    private static final int INITIAL_SLOTS = 64;
+
+    private int[] _ids;
+    private byte[] _values;
+    private int _size;
+    private int _bound;
+
+    /**
+     * Initializes an empty SparseAccessTable.
+     */
+    SparseAccessTable()
+    {
+        _ids = newSlots(INITIAL_SLOTS);
+        _values = new byte[INITIAL_SLOTS];
+        _size = 0;
+        _bound = 0;
+    }
+
+    @Override
+    void putMaximum(int id, Access access)
+    {
+        if ((_size + 1) * 2 > _ids.length)
+        {
+            rehash(_ids.length * 2);
+        }
+
+        int slot = slot(_ids, id);
+        if (_ids[slot] == KeyDictionary.NO_ID)
+        {
+            _ids[slot] = id;
+            _size++;
+            _bound = Math.max(_bound, id + 1);
+        }
+
+        byte value = encode(access);
+        if (value > _values[slot])
+        {
+            _values[slot] = value;
+        }
+    }
+
+    @Override
+    Access get(int id)
+    {
+        if (id < 0)
+        {
+            return null;
+        }
+
+        int slot = slot(_ids, id);
+        if (_ids[slot] == KeyDictionary.NO_ID)
+        {
+            return null;
+        }
+        return decode(_values[slot]);
+    }
+
+    @Override
+    int capacity()
+    {
+        return _bound;
+    }
+
+    /**
+     * Returns all IDs with an access.
+     *
+     * @return int[] The IDs in no particular order
+     */
+    int[] ids()
+    {
+        int[] ids = new int[_size];
+        int n = 0;
+        for (int id : _ids)
+        {
+            if (id != KeyDictionary.NO_ID)
+            {
+                ids[n++] = id;
+            }
+        }
+        return ids;
+    }
+
+    private void rehash(int slots)
+    {
+        int[] ids = newSlots(slots);
+        byte[] values = new byte[slots];
+        for (int i = 0; i < _ids.length; i++)
+        {
+            if (_ids[i] != KeyDictionary.NO_ID)
+            {
+                int slot = slot(ids, _ids[i]);
+                ids[slot] = _ids[i];
+                values[slot] = _values[i];
+            }
+        }
+        _ids = ids;
+        _values = values;
+    }
+
+    private static int slot(int[] ids, int id)
+    {
+        int mask = ids.length - 1;
+        int slot = (id * 0x9E3779B9) >>> 7 & mask;
+        while (ids[slot] != KeyDictionary.NO_ID && ids[slot] != id)
+        {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    private static int[] newSlots(int slots)
+    {
+        int[] ids = new int[slots];
+        Arrays.fill(ids, KeyDictionary.NO_ID);
+        return ids;
+    }
+}
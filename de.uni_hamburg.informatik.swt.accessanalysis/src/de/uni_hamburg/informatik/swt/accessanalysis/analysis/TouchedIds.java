@@ -0,0 +1,77 @@
+package de.uni_hamburg.informatik.swt.accessanalysis.analysis;
+
+import java.util.Arrays;
+
+
+/**
+ * Collects the IDs of a KeyDictionary whose entries in a ledger were touched
+ * since the ledger was last cleared, each ID once.
+ *
+ * The set grows as needed and must be used by a single thread only.
+ */
+class TouchedIds
+{
+    private static final int INITIAL_CAPACITY = 64;
+
+    private boolean[] _touched;
+    private int[] _ids;
+    private int _size;
+
+    /**
+     * Initializes an empty TouchedIds.
+     */
+    TouchedIds()
+    {
+        _touched = new boolean[INITIAL_CAPACITY];
+        _ids = new int[INITIAL_CAPACITY];
+        _size = 0;
+    }
+
+    /**
+     * Adds an ID to the set.
+     *
+     * @param int id The ID
+     * @return boolean true, if the ID was not touched before
+     */
+    boolean touch(int id)
+    {
+        if (id >= _touched.length)
+        {
+            _touched = Arrays.copyOf(_touched, Math.max(id + 1, _touched.length * 2));
+        }
+        if (_touched[id])
+        {
+            return false;
+        }
+
+        if (_size == _ids.length)
+        {
+            _ids = Arrays.copyOf(_ids, _size * 2);
+        }
+        _touched[id] = true;
+        _ids[_size++] = id;
+        return true;
+    }
+
+    /**
+     * Returns the touched IDs in the order they were touched first.
+     *
+     * @return int[] The IDs
+     */
+    int[] toArray()
+    {
+        return Arrays.copyOf(_ids, _size);
+    }
+
+    /**
+     * Removes all IDs. Only the touched IDs are looked at.
+     */
+    void clear()
+    {
+        for (int i = 0; i < _size; i++)
+        {
+            _touched[_ids[i]] = false;
+        }
+        _size = 0;
+    }
+}
@@ -38,7 +38,8 @@ import de.uni_hamburg.informatik.swt.accessanalysis.analysis.determinators.Expre
 import de.uni_hamburg.informatik.swt.accessanalysis.analysis.determinators.StaticImportedTypeAccessDeterminator;
 import de.uni_hamburg.informatik.swt.accessanalysis.analysis.determinators.TypeAccessDeterminator;
 import de.uni_hamburg.informatik.swt.accessanalysis.analysis.determinators.UsedTypeAccessDeterminator;
-import de.uni_hamburg.informatik.swt.accessanalysis.bindings.Locals;
+import de.uni_hamburg.informatik.swt.accessanalysis.bindings.BindingCaches;
+import de.uni_hamburg.informatik.swt.accessanalysis.bindings.SourcePackages;
 import de.uni_hamburg.informatik.swt.accessanalysis.constraints.TypeAccessConstraintChecker;
 
 
@@ -47,13 +48,16 @@ import de.uni_hamburg.informatik.swt.accessanalysis.constraints.TypeAccessConstr
  */
 class TypeHandler
 {
-    private final TypeMap _typeMap = new TypeMap();
+    private final TypeMap _typeMap;
+    private final SourcePackages _sourcePackages;
+    private final BindingCaches _caches;
 
     private final ExpressionTypeDeterminator _expressionTypeDeterminator;
     private final Set<TypeAccessConstraintChecker> _constraints;
     
     private Stack<ITypeBinding> _currentTypes;
     private Stack<TypeAccessDeterminator> _typeAccessDeterminators;
+    private long _prunedEvaluations;
     
     
     /**
@@ -63,11 +67,28 @@ class TypeHandler
      */
     TypeHandler(ExpressionTypeDeterminator expressionTypeDeterminator, Set<TypeAccessConstraintChecker> constraints)
     {
+        this(expressionTypeDeterminator, constraints, new TypeMap(), new BindingCaches());
+    }
+    
+    /**
+     * Initializes an object of TypeHandler that puts the determined accesses to a given map. 
+     * 
+     * @param ExpressionTypeDeterminator expressionTypeDeterminator The ExpressionTypeDeterminator to be used
+     * @param TypeMap typeMap The map to be filled, may be shared with other handlers if it is a ConcurrentTypeMap
+     * @param BindingCaches caches The binding caches of the analysis run
+     */
+    TypeHandler(ExpressionTypeDeterminator expressionTypeDeterminator, Set<TypeAccessConstraintChecker> constraints, TypeMap typeMap,
+            BindingCaches caches)
+    {
+        _typeMap = typeMap;
+        _sourcePackages = caches.getSourcePackages();
+        _caches = caches;
         _expressionTypeDeterminator = expressionTypeDeterminator;
         _constraints = constraints;
         
         _currentTypes = null;
         _typeAccessDeterminators = null;
+        _prunedEvaluations = 0;
     }
     
     /**
@@ -80,6 +101,16 @@ class TypeHandler
         return _typeMap;
     }
     
+    /**
+     * Returns the number of access evaluations that were skipped because the type was already public.
+     * 
+     * @return long The number of skipped evaluations
+     */
+    long getPrunedEvaluations()
+    {
+        return _prunedEvaluations;
+    }
+    
     /**
      * Handles a CompilationUnit
      * 
@@ -128,6 +159,9 @@ class TypeHandler
     }
 
 	private void checkConstraints(ITypeBinding typeBinding) throws JavaModelException {
+		if (isPruned(typeBinding)) {
+			return;
+		}
 		for (TypeAccessConstraintChecker constraint : _constraints) {
         	Access access = constraint.checkTypeDeclaration(typeBinding);
         	if (access != null && access.compareTo(Access.NO_USE) > 0) {
@@ -272,7 +306,10 @@ class TypeHandler
     {
         if (isLocalType(binding))
         {
-            _typeMap.putAccess(binding, getAccessDeterminator().determineAccess(binding));
+            if (! isPruned(binding))
+            {
+                _typeMap.putAccess(binding, getAccessDeterminator().determineAccess(binding));
+            }
             
             if (binding.isNested())
             {
@@ -283,7 +320,25 @@ class TypeHandler
     
     private boolean isLocalType(ITypeBinding typeBinding)
     { 
-        return Locals.isLocalType(typeBinding);
+        return _sourcePackages.isLocalType(typeBinding);
+    }
+    
+    /**
+     * Checks whether the evaluation of the access of a type can be skipped,
+     * because the type is already public and no access can change its entry.
+     * Nested types are still passed on to their declaring types.
+     * 
+     * @param ITypeBinding typeBinding The type to be evaluated
+     * @return boolean true, if the evaluation is skipped
+     */
+    private boolean isPruned(ITypeBinding typeBinding)
+    {
+        if (_typeMap.isPublic(typeBinding))
+        {
+            _prunedEvaluations++;
+            return true;
+        }
+        return false;
     }
     
     private void setCurrentCompilationUnit(CompilationUnit compilationUnit)
@@ -296,7 +351,7 @@ class TypeHandler
     private void setCurrentType(ITypeBinding typeBinding)
     {
         _currentTypes.push(typeBinding);
-        _typeAccessDeterminators.push(new UsedTypeAccessDeterminator(typeBinding));
+        _typeAccessDeterminators.push(new UsedTypeAccessDeterminator(typeBinding, _caches));
     }
     
     private void unsetCurrentType()
@@ -3,46 +3,113 @@
  */
 package de.uni_hamburg.informatik.swt.accessanalysis.analysis;
 
-import java.util.HashMap;
-import java.util.Map;
-
 import org.eclipse.jdt.core.IType;
 import org.eclipse.jdt.core.dom.ITypeBinding;
 
 import de.uni_hamburg.informatik.swt.accessanalysis.access.Access;
+import de.uni_hamburg.informatik.swt.accessanalysis.bindings.KeyDictionary;
 
 
 /**
  * Maps types to their minimal access.
+ *
+ * The types are identified by the IDs a KeyDictionary assigns to their keys,
+ * so the accesses are kept in a primitive table.
  */
 class TypeMap
 {
-    private final Map<String, Access> _accessMap = new HashMap<String, Access>();
+    private final KeyDictionary _keys;
+    private final AccessTable _accessTable;
+    
+    /**
+     * Initializes an object of TypeMap with a dictionary of its own 
+     * that must be used by a single thread only. 
+     */
+    TypeMap()
+    {
+        this(new KeyDictionary());
+    }
+    
+    /**
+     * Initializes an object of TypeMap that must be used by a single thread only. 
+     * 
+     * @param KeyDictionary keys The dictionary of type keys, may be shared with other maps
+     */
+    TypeMap(KeyDictionary keys)
+    {
+        this(keys, new AccessTable());
+    }
+    
+    /**
+     * Initializes an object of TypeMap with the given access table. 
+     * 
+     * @param KeyDictionary keys The dictionary of type keys, may be shared with other maps
+     * @param AccessTable accessTable The table of the minimal access per type ID
+     */
+    TypeMap(KeyDictionary keys, AccessTable accessTable)
+    {
+        _keys = keys;
+        _accessTable = accessTable;
+    }
+    
+    /**
+     * Returns the dictionary of type keys.
+     * 
+     * @return KeyDictionary The dictionary
+     */
+    KeyDictionary getKeys()
+    {
+        return _keys;
+    }
+    
+    /**
+     * Returns the table of the minimal access per type ID.
+     * 
+     * @return AccessTable The table
+     */
+    AccessTable getAccessTable()
+    {
+        return _accessTable;
+    }
     
     void putAccess(ITypeBinding binding, Access access)
     {
-        putAccess(binding.getKey(), access);
+        _accessTable.putMaximum(_keys.id(binding.getKey()), access);
+    }
+    
+    /**
+     * Checks whether a type already has the maximal access, so no later access can change its entry.
+     * 
+     * @param ITypeBinding binding The type
+     * @return boolean true, if the type is public
+     */
+    boolean isPublic(ITypeBinding binding)
+    {
+        return _accessTable.get(_keys.lookup(binding.getKey())) == Access.PUBLIC;
     }
     
-    private void putAccess(String key, Access access)
+    /**
+     * Merges all entries of another map into this map, keeping the maximal access per type.
+     * Both maps must share the same dictionary.
+     * 
+     * @param TypeMap other The map to be merged into this map
+     */
+    void putAll(TypeMap other)
     {
-        Access old = _accessMap.get(key);
-        if (old == null || access.compareTo(old) > 0)
+        if (other._keys != _keys)
         {
-            _accessMap.put(key, access);
+            throw new IllegalArgumentException("The type maps do not share their dictionary");
         }
+        
+        _accessTable.putAll(other._accessTable);
     }
     
     Access getAccess(IType type)
     {
-        return getAccess(type.getKey());
-    }
-
-    private Access getAccess(String key)
-    {
-        if (_accessMap.containsKey(key))
+        Access access = _accessTable.get(_keys.lookup(type.getKey()));
+        if (access != null)
         {
-            return _accessMap.get(key);
+            return access;
         }
         
         return Access.NO_USE;
@@ -51,6 +118,20 @@ class TypeMap
     @Override
     public String toString()
     {
-        return _accessMap.toString();
+        StringBuilder builder = new StringBuilder("{");
+        int capacity = _accessTable.capacity();
+        for (int id = 0; id < capacity; id++)
+        {
+            Access access = _accessTable.get(id);
+            if (access != null)
+            {
+                if (builder.length() > 1)
+                {
+                    builder.append(", ");
+                }
+                builder.append(_keys.key(id)).append('=').append(access);
+            }
+        }
+        return builder.append('}').toString();
     }
 }
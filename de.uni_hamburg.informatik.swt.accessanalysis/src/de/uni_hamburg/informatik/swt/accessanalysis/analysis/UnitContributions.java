@@ -0,0 +1,172 @@
+package de.uni_hamburg.informatik.swt.accessanalysis.analysis;
+
+import de.uni_hamburg.informatik.swt.accessanalysis.access.Access;
+import de.uni_hamburg.informatik.swt.accessanalysis.bindings.KeyDictionary;
+
+
+/**
+ * The accesses and overrides a single compilation unit contributed to an analysis run.
+ *
+ * The contributions are kept as compact arrays of IDs and access bytes, so they can be
+ * added to the ledgers of the run and taken back again without visiting the unit.
+ */
+class UnitContributions
+{
+    private final int[] _typeIds;
+    private final byte[] _typeAccesses;
+    private final int[] _methodIds;
+    private final byte[] _methodAccesses;
+    private final int[] _overridingIds;
+    private final int[] _overriddenIds;
+
+    /**
+     * Collects the contributions of a unit from the maps it was visited with.
+     *
+     * @param TypeMap typeMap The type map of the unit, based on a SparseAccessTable
+     * @param MethodMap methodMap The method map of the unit, based on a SparseAccessTable and a SparseIdTable
+     */
+    UnitContributions(TypeMap typeMap, MethodMap methodMap)
+    {
+        AccessTable typeTable = typeMap.getAccessTable();
+        _typeIds = ((SparseAccessTable) typeTable).ids();
+        _typeAccesses = accesses(typeTable, _typeIds);
+
+        AccessTable methodTable = methodMap.getAccessTable();
+        _methodIds = ((SparseAccessTable) methodTable).ids();
+        _methodAccesses = accesses(methodTable, _methodIds);
+
+        IdTable overrideTable = methodMap.getOverrideTable();
+        _overridingIds = ((SparseIdTable) overrideTable).ids();
+        _overriddenIds = new int[_overridingIds.length];
+        for (int i = 0; i < _overridingIds.length; i++)
+        {
+            _overriddenIds[i] = overrideTable.get(_overridingIds[i]);
+        }
+    }
+
+    /**
+     * Creates a type map a unit is visited with, so its contributions can be collected afterwards.
+     *
+     * @param KeyDictionary keys The dictionary of type keys of the run
+     * @return TypeMap The map
+     */
+    static TypeMap newTypeMap(KeyDictionary keys)
+    {
+        return new TypeMap(keys, new SparseAccessTable());
+    }
+
+    /**
+     * Creates a method map a unit is visited with, so its contributions can be collected afterwards.
+     *
+     * @param KeyDictionary keys The dictionary of method keys of the run
+     * @return MethodMap The map
+     */
+    static MethodMap newMethodMap(KeyDictionary keys)
+    {
+        return new MethodMap(keys, new SparseAccessTable(), new SparseIdTable());
+    }
+
+    /**
+     * Adds the contributions to the ledgers of the run.
+     *
+     * @param AccessLedger typeLedger The contributed accesses per type ID
+     * @param AccessLedger methodLedger The contributed accesses per method ID
+     * @param OverrideLedger overrideLedger The reported overridden method per method ID
+     */
+    void addTo(AccessLedger typeLedger, AccessLedger methodLedger, OverrideLedger overrideLedger)
+    {
+        for (int i = 0; i < _typeIds.length; i++)
+        {
+            typeLedger.add(_typeIds[i], AccessTable.decode(_typeAccesses[i]));
+        }
+        for (int i = 0; i < _methodIds.length; i++)
+        {
+            methodLedger.add(_methodIds[i], AccessTable.decode(_methodAccesses[i]));
+        }
+        for (int i = 0; i < _overridingIds.length; i++)
+        {
+            overrideLedger.add(_overridingIds[i], _overriddenIds[i]);
+        }
+    }
+
+    /**
+     * Takes the contributions back from the ledgers of the run they have been added to.
+     *
+     * @param AccessLedger typeLedger The contributed accesses per type ID
+     * @param AccessLedger methodLedger The contributed accesses per method ID
+     * @param OverrideLedger overrideLedger The reported overridden method per method ID
+     */
+    void removeFrom(AccessLedger typeLedger, AccessLedger methodLedger, OverrideLedger overrideLedger)
+    {
+        for (int i = 0; i < _typeIds.length; i++)
+        {
+            typeLedger.remove(_typeIds[i], AccessTable.decode(_typeAccesses[i]));
+        }
+        for (int i = 0; i < _methodIds.length; i++)
+        {
+            methodLedger.remove(_methodIds[i], AccessTable.decode(_methodAccesses[i]));
+        }
+        for (int i = 0; i < _overridingIds.length; i++)
+        {
+            overrideLedger.remove(_overridingIds[i]);
+        }
+    }
+
+    /**
+     * Adds the unit to the index of units that refer to a type or method for everything
+     * it contributed to, including the methods its methods override.
+     *
+     * @param DependencyIndex typeIndex The units per type ID
+     * @param DependencyIndex methodIndex The units per method ID
+     * @param int unit The ID of the unit
+     */
+    void addDependent(DependencyIndex typeIndex, DependencyIndex methodIndex, int unit)
+    {
+        for (int id : _typeIds)
+        {
+            typeIndex.add(id, unit);
+        }
+        for (int id : _methodIds)
+        {
+            methodIndex.add(id, unit);
+        }
+        for (int id : _overriddenIds)
+        {
+            methodIndex.add(id, unit);
+        }
+    }
+
+    /**
+     * Removes the unit from the index it has been added to.
+     *
+     * @param DependencyIndex typeIndex The units per type ID
+     * @param DependencyIndex methodIndex The units per method ID
+     * @param int unit The ID of the unit
+     */
+    void removeDependent(DependencyIndex typeIndex, DependencyIndex methodIndex, int unit)
+    {
+        for (int id : _typeIds)
+        {
+            typeIndex.remove(id, unit);
+        }
+        for (int id : _methodIds)
+        {
+            methodIndex.remove(id, unit);
+        }
+        for (int id : _overriddenIds)
+        {
+            methodIndex.remove(id, unit);
+        }
+    }
+
+    private static byte[] accesses(AccessTable table, int[] ids)
+    {
+        byte[] accesses = new byte[ids.length];
+        for (int i = 0; i < ids.length; i++)
+        {
+            Access access = table.get(ids[i]);
+            accesses[i] = AccessTable.encode(access);
+        }
+        return accesses;
+    }
+}
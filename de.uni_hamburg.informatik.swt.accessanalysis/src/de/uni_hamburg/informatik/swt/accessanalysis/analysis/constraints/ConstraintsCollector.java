@@ -7,6 +7,7 @@ import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IConfigurationElement;
 import org.eclipse.core.runtime.Platform;
 
+import de.uni_hamburg.informatik.swt.accessanalysis.bindings.BindingCaches;
 import de.uni_hamburg.informatik.swt.accessanalysis.constraints.MethodAccessConstraintChecker;
 import de.uni_hamburg.informatik.swt.accessanalysis.constraints.TypeAccessConstraintChecker;
 
@@ -15,7 +16,6 @@ public class ConstraintsCollector {
 	
 	private static final InterfaceMemberConstraint INTERFACE_MEMBER_CONSTRAINT = new InterfaceMemberConstraint();
     private static final MainMethodConstraint MAIN_METHOD_CONSTRAINT = new MainMethodConstraint();
-    private static final OverridingMethodConstraint OVERRIDING_METHOD_CONSTRAINT = new OverridingMethodConstraint();
     
     public static Set<TypeAccessConstraintChecker> getTypeConstraints() throws CoreException {
 		HashSet<TypeAccessConstraintChecker> constraints = new HashSet<TypeAccessConstraintChecker>(1);
@@ -32,11 +32,16 @@ public class ConstraintsCollector {
 		return constraints;
 	}
     
-    public static Set<MethodAccessConstraintChecker> getMethodConstraints() throws CoreException {
+    /**
+     * Returns the constraints for methods of an analysis run.
+     * 
+     * @param BindingCaches caches The binding caches of the run, used by the built-in constraints
+     */
+    public static Set<MethodAccessConstraintChecker> getMethodConstraints(BindingCaches caches) throws CoreException {
 		HashSet<MethodAccessConstraintChecker> constraints = new HashSet<MethodAccessConstraintChecker>(1);
 		constraints.add(MAIN_METHOD_CONSTRAINT);
 		constraints.add(INTERFACE_MEMBER_CONSTRAINT);
-		constraints.add(OVERRIDING_METHOD_CONSTRAINT);
+		constraints.add(new OverridingMethodConstraint(caches));
 		
 		for (IConfigurationElement e : getConfigurationElements()) {
 			final Object extension = e.createExecutableExtension("class");
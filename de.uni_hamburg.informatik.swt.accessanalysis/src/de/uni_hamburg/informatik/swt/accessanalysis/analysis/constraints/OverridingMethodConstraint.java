@@ -5,24 +5,33 @@ import org.eclipse.jdt.core.dom.IMethodBinding;
 
 import de.uni_hamburg.informatik.swt.accessanalysis.access.Access;
 import de.uni_hamburg.informatik.swt.accessanalysis.analysis.determinators.OverriddenMethodAccessDeterminator;
-import de.uni_hamburg.informatik.swt.accessanalysis.bindings.Hierarchy;
-import de.uni_hamburg.informatik.swt.accessanalysis.bindings.Locals;
+import de.uni_hamburg.informatik.swt.accessanalysis.bindings.BindingCaches;
+import de.uni_hamburg.informatik.swt.accessanalysis.bindings.OverriddenMethods;
+import de.uni_hamburg.informatik.swt.accessanalysis.bindings.SourcePackages;
 import de.uni_hamburg.informatik.swt.accessanalysis.constraints.MethodAccessConstraintChecker;
 
 class OverridingMethodConstraint implements MethodAccessConstraintChecker {
+	
+	private final OverriddenMethods _overriddenMethods;
+	private final SourcePackages _sourcePackages;
+	
+	OverridingMethodConstraint(BindingCaches caches) {
+		_overriddenMethods = caches.getOverriddenMethods();
+		_sourcePackages = caches.getSourcePackages();
+	}
 
 	@Override
 	public Access checkMethodDeclaration(IMethodBinding methodBinding) throws JavaModelException {
-		IMethodBinding overriddenBinding = Hierarchy.findOverriddenMethod(methodBinding, true);
+		IMethodBinding overriddenBinding = _overriddenMethods.findOverriddenMethod(methodBinding, true);
         if (overriddenBinding != null)
         {
             overriddenBinding = overriddenBinding.getMethodDeclaration();
             if (! overriddenBinding.getDeclaringClass().isInterface() &&
-            		Hierarchy.findOverriddenMethodInInterfaces(methodBinding) != null)
+            		_overriddenMethods.findOverriddenMethodInInterfaces(methodBinding) != null)
             {
             	return Access.PUBLIC;
             }               
-            else if (! Locals.isLocalMethod(overriddenBinding))
+            else if (! _sourcePackages.isLocalMethod(overriddenBinding))
             {               
                 return OverriddenMethodAccessDeterminator.getActualAccess(overriddenBinding);
             }
@@ -3,8 +3,10 @@
  */
 package de.uni_hamburg.informatik.swt.accessanalysis.analysis.determinators;
 
-import java.util.Collection;
-import java.util.LinkedList;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Stack;
 
 import org.eclipse.jdt.core.Flags;
@@ -21,6 +23,7 @@ import org.eclipse.jdt.core.dom.IVariableBinding;
 import org.eclipse.jdt.core.dom.ImportDeclaration;
 import org.eclipse.jdt.core.dom.MethodInvocation;
 
+import de.uni_hamburg.informatik.swt.accessanalysis.bindings.DeclaredMethods;
 import de.uni_hamburg.informatik.swt.accessanalysis.bindings.Hierarchy;
 
 /**
@@ -29,15 +32,33 @@ import de.uni_hamburg.informatik.swt.accessanalysis.bindings.Hierarchy;
 public class ExpressionTypeDeterminator
 {
     private final Stack<ITypeBinding> _currentTypes;
+    private final DeclaredMethods _declaredMethods;
+    private final Map<String, ITypeBinding> _receiverTypes;
+    private final Map<String, ITypeBinding> _staticImportedTypes;
 
     private CompilationUnit _currentCompilationUnit;
+    private List<IBinding> _staticImports;
     
     /**
      * Initializes an object of ExpressionTypeDeterminator. 
      */
     public ExpressionTypeDeterminator()
+    {
+        this(new DeclaredMethods());
+    }
+    
+    /**
+     * Initializes an object of ExpressionTypeDeterminator that searches methods 
+     * with the index of the analysis run. 
+     * 
+     * @param DeclaredMethods declaredMethods The index of declared methods of the analysis run
+     */
+    public ExpressionTypeDeterminator(DeclaredMethods declaredMethods)
     {
         _currentTypes = new Stack<ITypeBinding>();
+        _declaredMethods = declaredMethods;
+        _receiverTypes = new HashMap<String, ITypeBinding>();
+        _staticImportedTypes = new HashMap<String, ITypeBinding>();
     }
     
     /**
@@ -48,6 +69,9 @@ public class ExpressionTypeDeterminator
     public void handle(CompilationUnit node)
     {
         _currentCompilationUnit = node;
+        _staticImports = null;
+        _staticImportedTypes.clear();
+        _receiverTypes.clear();
     }
     
     /**
@@ -58,6 +82,10 @@ public class ExpressionTypeDeterminator
     public void handle(AbstractTypeDeclaration node)
     {
         ITypeBinding typeBinding = node.resolveBinding();
+        if (getCurrentType() == null)
+        {
+            _receiverTypes.clear();
+        }
         setCurrentType(typeBinding);
     }
     
@@ -75,6 +103,7 @@ public class ExpressionTypeDeterminator
      * Determines the type of method invocation.
      * 
      * Returns not the return type of the invoked method but the expression where the method is called at. 
+     * The answers for unqualified invocations are remembered while a top level type is visited.
      * 
      * @param MethodInvocation node The method invocation to be examined.
      * @return ITypeBinding The type of the expression
@@ -103,11 +132,36 @@ public class ExpressionTypeDeterminator
         }
         
         IMethodBinding method = node.resolveMethodBinding();
+        if (getCurrentType() == null || getCurrentType().getKey() == null || method.getKey() == null)
+        {
+            return getReceiverType(method);
+        }
+        
+        String key = getCurrentType().getKey() + ' ' + method.getKey();
+        if (_receiverTypes.containsKey(key))
+        {
+            return _receiverTypes.get(key);
+        }
+        
+        ITypeBinding receiverType = getReceiverType(method);
+        _receiverTypes.put(key, receiverType);
+        return receiverType;
+    }
+    
+    /**
+     * Determines the type an unqualified method invocation is called on.
+     * 
+     * @param IMethodBinding method The invoked method
+     * @return ITypeBinding The enclosing type that has the method, the statically imported type or null
+     * @throws JavaModelException
+     */
+    private ITypeBinding getReceiverType(IMethodBinding method) throws JavaModelException
+    {
         ITypeBinding enclosingType = getCurrentType();
         
         while (enclosingType != null)
         {
-            if (Hierarchy.findOverriddenMethodInHierarchy(enclosingType, method) != null)
+            if (Hierarchy.findOverriddenMethodInHierarchy(enclosingType, method, _declaredMethods) != null)
             {
                 return enclosingType.getTypeDeclaration();
             }
@@ -155,13 +209,27 @@ public class ExpressionTypeDeterminator
     }
     
     private ITypeBinding getTypeOfStaticImportedMethods(IMethodBinding method)
+    {
+        String key = method.getKey();
+        if (key != null && _staticImportedTypes.containsKey(key))
+        {
+            return _staticImportedTypes.get(key);
+        }
+        
+        ITypeBinding importedType = findTypeOfStaticImportedMethods(method);
+        if (key != null)
+        {
+            _staticImportedTypes.put(key, importedType);
+        }
+        return importedType;
+    }
+    
+    private ITypeBinding findTypeOfStaticImportedMethods(IMethodBinding method)
     {
         ITypeBinding type = method.getDeclaringClass();
         
-        for (ImportDeclaration importDeclaration : getStaticImports())
+        for (IBinding importedBinding : getStaticImports())
         {
-            IBinding importedBinding = importDeclaration.resolveBinding();
-            
             if (importedBinding.getKind() == IBinding.TYPE)
             {
                 ITypeBinding importedType = (ITypeBinding) importedBinding;
@@ -206,19 +274,28 @@ public class ExpressionTypeDeterminator
         return _currentTypes.peek();
     }
     
-    private Iterable<ImportDeclaration> getStaticImports()
+    /**
+     * Returns the resolved static imports of the current compilation unit.
+     * They are resolved once per compilation unit, imports that can't be resolved are left out.
+     * 
+     * @return List<IBinding> The bindings of the imported types and methods
+     */
+    private List<IBinding> getStaticImports()
     {
-        Collection<ImportDeclaration> staticImports = new LinkedList<ImportDeclaration>();
-        
-        for (Object o : _currentCompilationUnit.imports())
+        if (_staticImports == null)
         {
-            ImportDeclaration importDeclaration = (ImportDeclaration) o;
-            if (importDeclaration.isStatic())
+            _staticImports = new ArrayList<IBinding>();
+            
+            for (Object o : _currentCompilationUnit.imports())
             {
-                staticImports.add(importDeclaration);
+                ImportDeclaration importDeclaration = (ImportDeclaration) o;
+                if (importDeclaration.isStatic() && importDeclaration.resolveBinding() != null)
+                {
+                    _staticImports.add(importDeclaration.resolveBinding());
+                }
             }
         }
         
-        return staticImports;
+        return _staticImports;
     }
 }
@@ -11,8 +11,9 @@ import org.eclipse.jdt.core.dom.IPackageBinding;
 import org.eclipse.jdt.core.dom.ITypeBinding;
 
 import de.uni_hamburg.informatik.swt.accessanalysis.access.Access;
-import de.uni_hamburg.informatik.swt.accessanalysis.bindings.Hierarchy;
-import de.uni_hamburg.informatik.swt.accessanalysis.bindings.Nesting;
+import de.uni_hamburg.informatik.swt.accessanalysis.bindings.BindingCaches;
+import de.uni_hamburg.informatik.swt.accessanalysis.bindings.SupertypeIndex;
+import de.uni_hamburg.informatik.swt.accessanalysis.bindings.TypeFacts;
 
 
 /**
@@ -24,6 +25,8 @@ import de.uni_hamburg.informatik.swt.accessanalysis.bindings.Nesting;
 public class InvokedMethodAccessDeterminator
 {
     private final IMethodBinding _invokingMethodBinding;
+    private final SupertypeIndex _supertypes;
+    private final TypeFacts _typeFacts;
 
     /**
      * Initializes an object of InvokedMethodAccessDeterminator.
@@ -32,8 +35,24 @@ public class InvokedMethodAccessDeterminator
      *            invokingMethod The method that invokes other methods
      */
     public InvokedMethodAccessDeterminator(IMethodBinding invokingMethod)
+    {
+        this(invokingMethod, new BindingCaches());
+    }
+
+    /**
+     * Initializes an object of InvokedMethodAccessDeterminator that uses
+     * the binding caches of the analysis run.
+     * 
+     * @param IMethodBinding
+     *            invokingMethod The method that invokes other methods
+     * @param BindingCaches
+     *            caches The binding caches of the analysis run
+     */
+    public InvokedMethodAccessDeterminator(IMethodBinding invokingMethod, BindingCaches caches)
     {
         _invokingMethodBinding = invokingMethod;
+        _supertypes = caches.getSupertypes();
+        _typeFacts = caches.getTypeFacts();
     }
 
     /**
@@ -89,9 +108,9 @@ public class InvokedMethodAccessDeterminator
             return false;
         }
 
-        ITypeBinding currentTopLevelTyp = Nesting.getTopLevelType(getCurrentTypeBinding());
+        ITypeBinding currentType = getCurrentTypeBinding();
         
-        return Nesting.getTopLevelType(binding.getDeclaringClass()).equals(currentTopLevelTyp) && (expressionType == null || Nesting.getTopLevelType(expressionType).equals(currentTopLevelTyp));
+        return _typeFacts.haveSameTopLevelType(binding.getDeclaringClass(), currentType) && (expressionType == null || _typeFacts.haveSameTopLevelType(expressionType, currentType));
     }
 
     private boolean canBeDefault(IMethodBinding binding, ITypeBinding expressionType) throws JavaModelException
@@ -113,24 +132,7 @@ public class InvokedMethodAccessDeterminator
             intermediateType = getCurrentTypeBinding();
         }
 
-        while (intermediateType != null && !intermediateType.getName().equals("void") && !intermediateType.equals(declaringType))
-        {
-            ITypeBinding typeBinding = intermediateType;
-            
-            while (typeBinding.getPackage() == null)
-            {
-                typeBinding = typeBinding.getDeclaringClass();
-            }
-            
-            if (! typeBinding.getPackage().equals(getCurrentPackageBinding()))
-            {
-                return false;
-            }
-
-            intermediateType = intermediateType.getSuperclass().getTypeDeclaration();
-        }
-
-        return true;
+        return _typeFacts.staysInPackage(intermediateType, declaringType);
     }
 
     private boolean canBeProtected(IMethodBinding binding, ITypeBinding expressionType)
@@ -140,8 +142,8 @@ public class InvokedMethodAccessDeterminator
         ITypeBinding currentType = getCurrentTypeBinding();
         while (currentType != null)
         {
-            if (Hierarchy.isSuperType(declaringType, currentType) && 
-                (expressionType == null || Flags.isStatic(binding.getModifiers()) || Hierarchy.isSuperType(currentType, expressionType)))
+            if (_supertypes.isSuperType(declaringType, currentType) && 
+                (expressionType == null || Flags.isStatic(binding.getModifiers()) || _supertypes.isSuperType(currentType, expressionType)))
             {
                 return true;
             }
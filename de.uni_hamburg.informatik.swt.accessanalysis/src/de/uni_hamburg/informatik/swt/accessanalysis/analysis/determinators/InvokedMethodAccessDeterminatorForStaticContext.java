@@ -6,6 +6,8 @@ package de.uni_hamburg.informatik.swt.accessanalysis.analysis.determinators;
 import org.eclipse.jdt.core.dom.IMethodBinding;
 import org.eclipse.jdt.core.dom.ITypeBinding;
 
+import de.uni_hamburg.informatik.swt.accessanalysis.bindings.BindingCaches;
+
 /**
  * @author christian
  *
@@ -21,7 +23,19 @@ public class InvokedMethodAccessDeterminatorForStaticContext extends InvokedMeth
      */
     public InvokedMethodAccessDeterminatorForStaticContext(ITypeBinding invokingType)
     {
-        super(null);
+        this(invokingType, new BindingCaches());
+    }
+    
+    /**
+     * Initializes an object of InvokedMethodAccessDeterminator that uses 
+     * the binding caches of the analysis run. 
+     * 
+     * @param ITypeBinding invokingType The type that invokes other methods
+     * @param BindingCaches caches The binding caches of the analysis run
+     */
+    public InvokedMethodAccessDeterminatorForStaticContext(ITypeBinding invokingType, BindingCaches caches)
+    {
+        super(null, caches);
         _invokingTypeBinding = invokingType;
     }
     
@@ -4,13 +4,14 @@
 package de.uni_hamburg.informatik.swt.accessanalysis.analysis.determinators;
 
 import org.eclipse.jdt.core.ICompilationUnit;
-import org.eclipse.jdt.core.IType;
 import org.eclipse.jdt.core.JavaModelException;
 import org.eclipse.jdt.core.dom.IPackageBinding;
 import org.eclipse.jdt.core.dom.ITypeBinding;
 
-import de.uni_hamburg.informatik.swt.accessanalysis.bindings.Hierarchy;
+import de.uni_hamburg.informatik.swt.accessanalysis.bindings.BindingCaches;
 import de.uni_hamburg.informatik.swt.accessanalysis.bindings.Nesting;
+import de.uni_hamburg.informatik.swt.accessanalysis.bindings.SupertypeIndex;
+import de.uni_hamburg.informatik.swt.accessanalysis.bindings.TypeFacts;
 
 /**
  * Determines the lowest access mode needed for the usage of a type.
@@ -18,6 +19,8 @@ import de.uni_hamburg.informatik.swt.accessanalysis.bindings.Nesting;
 public class UsedTypeAccessDeterminator extends TypeAccessDeterminator
 {
     private final ITypeBinding _usingTypeBinding;
+    private final SupertypeIndex _supertypes;
+    private final TypeFacts _typeFacts;
     
     /**
      * Initializes an object of UsedTypeAccessDeterminator. 
@@ -25,8 +28,22 @@ public class UsedTypeAccessDeterminator extends TypeAccessDeterminator
      * @param ITypeBinding usingType The Type that uses other types
      */
     public UsedTypeAccessDeterminator(ITypeBinding usingType)
+    {
+        this(usingType, new BindingCaches());
+    }
+    
+    /**
+     * Initializes an object of UsedTypeAccessDeterminator that uses 
+     * the binding caches of the analysis run. 
+     * 
+     * @param ITypeBinding usingType The Type that uses other types
+     * @param BindingCaches caches The binding caches of the analysis run
+     */
+    public UsedTypeAccessDeterminator(ITypeBinding usingType, BindingCaches caches)
     {
         _usingTypeBinding = usingType;
+        _supertypes = caches.getSupertypes();
+        _typeFacts = caches.getTypeFacts();
     }
     
     boolean canBeNoUse(ITypeBinding binding)
@@ -42,7 +59,7 @@ public class UsedTypeAccessDeterminator extends TypeAccessDeterminator
             return false;
         }
         
-        ICompilationUnit compilationUnit = ((IType) binding.getJavaElement()).getCompilationUnit();
+        ICompilationUnit compilationUnit = _typeFacts.getCompilationUnit(binding);
         return getCurrentCompilationUnit().equals(compilationUnit);
     }
 
@@ -58,14 +75,14 @@ public class UsedTypeAccessDeterminator extends TypeAccessDeterminator
         ITypeBinding currentType = getCurrentTypeBinding();
         while (currentType != null)
         {
-            if (Hierarchy.isSuperType(declaringType, currentType))
+            if (_supertypes.isSuperType(declaringType, currentType))
             {
                 return true;
             }
             currentType = currentType.getDeclaringClass();
         }
         
-        if (declaringType.getPackage().equals(getCurrentPackageBinding()))
+        if (_typeFacts.isInPackage(declaringType, getCurrentPackageBinding()))
         {
             return true;
         }
@@ -80,7 +97,7 @@ public class UsedTypeAccessDeterminator extends TypeAccessDeterminator
     
     private ICompilationUnit getCurrentCompilationUnit()
     {
-        return ((IType) getCurrentTypeBinding().getJavaElement()).getCompilationUnit();
+        return _typeFacts.getCompilationUnit(getCurrentTypeBinding());
     }
     
     IPackageBinding getCurrentPackageBinding()
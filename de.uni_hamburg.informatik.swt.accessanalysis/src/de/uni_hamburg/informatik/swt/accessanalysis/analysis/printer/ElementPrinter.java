@@ -81,5 +81,7 @@ public interface ElementPrinter
     public void error(Throwable error);
     
     public void message(String message);
+    
+    public void counter(String name, long value);
 
 }
\ No newline at end of file
@@ -36,6 +36,11 @@ final class NullElementPrinter implements ElementPrinter
         Logger.println(m, LoggerMessageType.WARNING);
     }
     
+    @Override
+    public void counter(String name, long value)
+    {
+    }
+    
     @Override
     public void analysisBefore()
     {
@@ -230,6 +230,12 @@ class RealElementPrinter implements ElementPrinter
         Logger.println(m, LoggerMessageType.WARNING);
     }
     
+    @Override
+    public void counter(String name, long value)
+    {
+        Logger.println(name + ": " + value, LoggerMessageType.INFO);
+    }
+    
     private void print(String text)
     {
         print(text, LoggerMessageType.INFO);
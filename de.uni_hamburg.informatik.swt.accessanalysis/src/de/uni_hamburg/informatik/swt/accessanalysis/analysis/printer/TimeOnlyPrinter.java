@@ -53,6 +53,12 @@ final class TimeOnlyPrinter implements ElementPrinter
         Logger.println(m, LoggerMessageType.WARNING);
     }
     
+    @Override
+    public void counter(String name, long value)
+    {
+        Logger.println(name + ": " + value, LoggerMessageType.INFO);
+    }
+    
     @Override
     public void compilationUnitAfter()
     {
@@ -0,0 +1,128 @@
+package de.uni_hamburg.informatik.swt.accessanalysis.bindings;
+
+/**
+ * Holds the caches of binding information for a single analysis run.
+ * 
+ * The bindings of different runs are not comparable, so a new object must be 
+ * created for every run. All caches can be used by several threads at once.
+ */
+public class BindingCaches
+{
+    private final KeyDictionary _typeKeys;
+    private final SourcePackages _sourcePackages;
+    private final SupertypeIndex _supertypes;
+    private final DeclaredMethods _declaredMethods;
+    private final OverriddenMethods _overriddenMethods;
+    private final InterfaceMethods _interfaceMethods;
+    private final TypeFacts _typeFacts;
+    
+    /**
+     * Initializes an object of BindingCaches with empty caches and an empty type dictionary.
+     */
+    public BindingCaches()
+    {
+        this(new KeyDictionary());
+    }
+    
+    /**
+     * Initializes an object of BindingCaches with empty caches that identify types 
+     * by their IDs in a given dictionary.
+     * 
+     * @param KeyDictionary typeKeys The dictionary of the type keys of the run
+     */
+    public BindingCaches(KeyDictionary typeKeys)
+    {
+        this(typeKeys, new SourcePackages());
+    }
+    
+    /**
+     * Initializes an object of BindingCaches with empty caches that identify types 
+     * by their IDs in a given dictionary and a given cache of source packages.
+     * 
+     * The source packages are identified by their keys, not by bindings, 
+     * so they can be shared by several runs.
+     * 
+     * @param KeyDictionary typeKeys The dictionary of the type keys of the run
+     * @param SourcePackages sourcePackages The cache of the packages that belong to a source folder
+     */
+    public BindingCaches(KeyDictionary typeKeys, SourcePackages sourcePackages)
+    {
+        _typeKeys = typeKeys;
+        _sourcePackages = sourcePackages;
+        _supertypes = new SupertypeIndex(typeKeys);
+        _declaredMethods = new DeclaredMethods();
+        _overriddenMethods = new OverriddenMethods(_declaredMethods);
+        _interfaceMethods = new InterfaceMethods(_declaredMethods);
+        _typeFacts = new TypeFacts();
+    }
+    
+    /**
+     * Returns the dictionary of the type keys of the run.
+     * 
+     * @return KeyDictionary The dictionary
+     */
+    public KeyDictionary getTypeKeys()
+    {
+        return _typeKeys;
+    }
+    
+    /**
+     * Returns the cache of the packages that belong to a source folder.
+     * 
+     * @return SourcePackages The cache
+     */
+    public SourcePackages getSourcePackages()
+    {
+        return _sourcePackages;
+    }
+    
+    /**
+     * Returns the index of the super types of all inspected types.
+     * 
+     * @return SupertypeIndex The index
+     */
+    public SupertypeIndex getSupertypes()
+    {
+        return _supertypes;
+    }
+    
+    /**
+     * Returns the index of the declared methods of all searched types.
+     * 
+     * @return DeclaredMethods The index
+     */
+    public DeclaredMethods getDeclaredMethods()
+    {
+        return _declaredMethods;
+    }
+    
+    /**
+     * Returns the cache of the methods that are overridden by the inspected methods.
+     * 
+     * @return OverriddenMethods The cache
+     */
+    public OverriddenMethods getOverriddenMethods()
+    {
+        return _overriddenMethods;
+    }
+    
+    /**
+     * Returns the cache of the methods of interfaces and their inherited implementations.
+     * 
+     * @return InterfaceMethods The cache
+     */
+    public InterfaceMethods getInterfaceMethods()
+    {
+        return _interfaceMethods;
+    }
+    
+    /**
+     * Returns the cache of facts about the inspected types.
+     * 
+     * @return TypeFacts The cache
+     */
+    public TypeFacts getTypeFacts()
+    {
+        return _typeFacts;
+    }
+}
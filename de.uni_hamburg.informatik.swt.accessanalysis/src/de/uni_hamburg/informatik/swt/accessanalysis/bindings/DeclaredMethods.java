@@ -0,0 +1,137 @@
+package de.uni_hamburg.informatik.swt.accessanalysis.bindings;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.eclipse.jdt.core.dom.IMethodBinding;
+import org.eclipse.jdt.core.dom.ITypeBinding;
+
+/**
+ * Indexes the declared methods of types by their name and number of parameters,
+ * so Hierarchy only compares the signatures of methods that can match.
+ *
+ * The index of a type is built when the type is searched for the first time and
+ * is used for every binding with the same key afterwards. It only keeps the
+ * positions of the methods in <code>getDeclaredMethods()</code>, so it does not
+ * hold on to the bindings of a parser run. A position that does not denote a
+ * matching method in another binding of the type makes the search fall back to
+ * scanning all methods.
+ */
+public class DeclaredMethods
+{
+    private static final int[] NO_POSITIONS = new int[0];
+
+    private final ConcurrentMap<String, Map<String, int[]>> _indices;
+
+    /**
+     * Initializes an empty DeclaredMethods.
+     */
+    public DeclaredMethods()
+    {
+        _indices = new ConcurrentHashMap<String, Map<String, int[]>>();
+    }
+
+    /**
+     * Returns the methods declared in a type with a given name and number of parameters.
+     *
+     * @param ITypeBinding type The type to search the methods in
+     * @param String name The name of the methods
+     * @param int parameterCount The number of parameters of the methods
+     * @return List<IMethodBinding> The methods in the order of <code>getDeclaredMethods()</code>
+     */
+    public List<IMethodBinding> getMethods(ITypeBinding type, String name, int parameterCount)
+    {
+        IMethodBinding[] methods = type.getDeclaredMethods();
+        Map<String, int[]> index = getIndex(type, methods);
+        if (index == null)
+        {
+            return scan(methods, name, parameterCount);
+        }
+
+        int[] positions = index.get(signature(name, parameterCount));
+        if (positions == null)
+        {
+            positions = NO_POSITIONS;
+        }
+
+        List<IMethodBinding> result = new ArrayList<IMethodBinding>(positions.length);
+        for (int position : positions)
+        {
+            if (position >= methods.length || ! matches(methods[position], name, parameterCount))
+            {
+                return scan(methods, name, parameterCount);
+            }
+            result.add(methods[position]);
+        }
+        return result;
+    }
+
+    private Map<String, int[]> getIndex(ITypeBinding type, IMethodBinding[] methods)
+    {
+        String key = type.getKey();
+        if (key == null)
+        {
+            return null;
+        }
+
+        Map<String, int[]> index = _indices.get(key);
+        if (index != null)
+        {
+            return index;
+        }
+
+        Map<String, List<Integer>> positions = new HashMap<String, List<Integer>>();
+        for (int i = 0; i < methods.length; i++)
+        {
+            String signature = signature(methods[i].getName(), methods[i].getParameterTypes().length);
+            List<Integer> signaturePositions = positions.get(signature);
+            if (signaturePositions == null)
+            {
+                signaturePositions = new ArrayList<Integer>(1);
+                positions.put(signature, signaturePositions);
+            }
+            signaturePositions.add(i);
+        }
+
+        index = new HashMap<String, int[]>(positions.size() * 2);
+        for (Map.Entry<String, List<Integer>> entry : positions.entrySet())
+        {
+            int[] signaturePositions = new int[entry.getValue().size()];
+            for (int i = 0; i < signaturePositions.length; i++)
+            {
+                signaturePositions[i] = entry.getValue().get(i);
+            }
+            index.put(entry.getKey(), signaturePositions);
+        }
+
+        Map<String, int[]> known = _indices.putIfAbsent(key, index);
+        return known != null ? known : index;
+    }
+
+    private static List<IMethodBinding> scan(IMethodBinding[] methods, String name, int parameterCount)
+    {
+        List<IMethodBinding> result = new ArrayList<IMethodBinding>();
+        for (IMethodBinding method : methods)
+        {
+            if (matches(method, name, parameterCount))
+            {
+                result.add(method);
+            }
+        }
+        return result;
+    }
+
+    private static boolean matches(IMethodBinding method, String name, int parameterCount)
+    {
+        return method.getName().equals(name) && method.getParameterTypes().length == parameterCount;
+    }
+
+    private static String signature(String name, int parameterCount)
+    {
+        return name + '/' + parameterCount;
+    }
+}
@@ -0,0 +1,80 @@
+package de.uni_hamburg.informatik.swt.accessanalysis.bindings;
+
+import java.lang.ref.WeakReference;
+
+import org.eclipse.jdt.core.dom.IBinding;
+import org.eclipse.jdt.core.dom.IMethodBinding;
+
+/**
+ * A method found in a hierarchy together with the binding it was searched for.
+ *
+ * Bindings of different binding environments are not equal, so a found method is
+ * only valid for the very same binding it was searched for. Both bindings are held
+ * by weak references that do not keep the binding environment alive.
+ */
+class FoundMethod
+{
+    /**
+     * The remembered result of a search that found no method.
+     * It is valid for every binding with the same key.
+     */
+    static final Object NOT_FOUND = new Object();
+
+    private final WeakReference<IBinding> _searched;
+    private final WeakReference<IMethodBinding> _found;
+
+    /**
+     * Initializes an object of FoundMethod.
+     *
+     * @param IBinding searched The binding the method was searched for
+     * @param IMethodBinding found The method that was found
+     */
+    FoundMethod(IBinding searched, IMethodBinding found)
+    {
+        _searched = new WeakReference<IBinding>(searched);
+        _found = new WeakReference<IMethodBinding>(found);
+    }
+
+    /**
+     * Returns the found method if it was found for the given binding.
+     *
+     * @param IBinding searched The binding the method is searched for
+     * @return IMethodBinding The found method or null if it was found for another binding
+     */
+    IMethodBinding get(IBinding searched)
+    {
+        if (_searched.get() != searched)
+        {
+            return null;
+        }
+        return _found.get();
+    }
+
+    /**
+     * Returns a remembered result that is valid for a binding.
+     *
+     * @param Object result The remembered result, may be null
+     * @param IBinding searched The binding the method is searched for
+     * @return Object NOT_FOUND, the found method or null if the result is not valid for the binding
+     */
+    static Object valid(Object result, IBinding searched)
+    {
+        if (result instanceof FoundMethod)
+        {
+            return ((FoundMethod) result).get(searched);
+        }
+        return result;
+    }
+
+    /**
+     * Creates the result to be remembered for a search.
+     *
+     * @param IBinding searched The binding the method was searched for
+     * @param IMethodBinding found The found method or null
+     * @return Object NOT_FOUND or a FoundMethod
+     */
+    static Object of(IBinding searched, IMethodBinding found)
+    {
+        return found == null ? NOT_FOUND : new FoundMethod(searched, found);
+    }
+}
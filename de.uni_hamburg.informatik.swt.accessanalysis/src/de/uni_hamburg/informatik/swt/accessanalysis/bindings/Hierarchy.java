@@ -74,16 +74,17 @@ public class Hierarchy
      *            The type to search the method in
      * @param method
      *            The specified method that would override the result
+     * @param declaredMethods
+     *            The index of the declared methods of the types
      * @return the method binding of the method that is overridden by the
      *         specified <code>method<code>, or <code>null</code>
      */
-    private static IMethodBinding findOverriddenMethodInType(ITypeBinding type, IMethodBinding method)
+    private static IMethodBinding findOverriddenMethodInType(ITypeBinding type, IMethodBinding method, DeclaredMethods declaredMethods)
     {
-        IMethodBinding[] methods = type.getDeclaredMethods();
-        for (int i = 0; i < methods.length; i++)
+        for (IMethodBinding candidate : declaredMethods.getMethods(type, method.getName(), method.getParameterTypes().length))
         {
-            if (isSubsignature(method, methods[i]))
-                return methods[i];
+            if (isSubsignature(method, candidate))
+                return candidate;
         }
         return null;
     }
@@ -102,11 +103,30 @@ public class Hierarchy
      */
     public static IMethodBinding findOveridingMethodInType(ITypeBinding type, IMethodBinding method)
     {
-        IMethodBinding[] methods = type.getDeclaredMethods();
-        for (int i = 0; i < methods.length; i++)
+        return findOveridingMethodInType(type, method, new DeclaredMethods());
+    }
+
+    /**
+     * Finds the method in the given <code>type</code> that is overriding the
+     * specified <code>method<code>. Only the methods with the same name and
+     * number of parameters are compared.
+     * Returns <code>null</code> if no such method exits.
+     * 
+     * @param type
+     *            The type to search the method in
+     * @param method
+     *            The specified method that would be overridden by the result
+     * @param declaredMethods
+     *            The index of the declared methods of the types
+     * @return the method binding of the method that is overriding the specified
+     *         <code>method<code>, or <code>null</code>
+     */
+    public static IMethodBinding findOveridingMethodInType(ITypeBinding type, IMethodBinding method, DeclaredMethods declaredMethods)
+    {
+        for (IMethodBinding candidate : declaredMethods.getMethods(type, method.getName(), method.getParameterTypes().length))
         {
-            if (isSubsignature(methods[i], method))
-                return methods[i];
+            if (isSubsignature(candidate, method))
+                return candidate;
         }
         return null;
     }
@@ -126,20 +146,39 @@ public class Hierarchy
      */
     public static IMethodBinding findOverriddenMethodInHierarchy(ITypeBinding type, IMethodBinding binding)
     {
-        IMethodBinding method = findOverriddenMethodInType(type, binding);
+        return findOverriddenMethodInHierarchy(type, binding, new DeclaredMethods());
+    }
+
+    /**
+     * Finds a method in the hierarchy of <code>type</code> that is overridden
+     * by </code>binding</code> and uses an index of the declared methods.
+     * 
+     * @param type
+     *            The type to search the method in
+     * @param binding
+     *            The method that overrides
+     * @param declaredMethods
+     *            The index of the declared methods of the types
+     * @return the method binding overridden the method
+     * 
+     * @see #findOverriddenMethodInHierarchy(ITypeBinding, IMethodBinding)
+     */
+    public static IMethodBinding findOverriddenMethodInHierarchy(ITypeBinding type, IMethodBinding binding, DeclaredMethods declaredMethods)
+    {
+        IMethodBinding method = findOverriddenMethodInType(type, binding, declaredMethods);
         if (method != null)
             return method;
         ITypeBinding superClass = type.getSuperclass();
         if (superClass != null)
         {
-            method = findOverriddenMethodInHierarchy(superClass, binding);
+            method = findOverriddenMethodInHierarchy(superClass, binding, declaredMethods);
             if (method != null)
                 return method;
         }
         ITypeBinding[] interfaces = type.getInterfaces();
         for (int i = 0; i < interfaces.length; i++)
         {
-            method = findOverriddenMethodInHierarchy(interfaces[i], binding);
+            method = findOverriddenMethodInHierarchy(interfaces[i], binding, declaredMethods);
             if (method != null)
                 return method;
         }
@@ -159,6 +198,26 @@ public class Hierarchy
      * @return the method binding representing the method
      */
     public static IMethodBinding findOverriddenMethod(IMethodBinding overriding, boolean testVisibility)
+    {
+        return findOverriddenMethod(overriding, testVisibility, new DeclaredMethods());
+    }
+
+    /**
+     * Finds the method that is overridden by the given method and uses an
+     * index of the declared methods.
+     * 
+     * @param overriding
+     *            overriding method
+     * @param testVisibility
+     *            If true the result is tested on visibility. Null is returned
+     *            if the method is not visible.
+     * @param declaredMethods
+     *            The index of the declared methods of the types
+     * @return the method binding representing the method
+     * 
+     * @see #findOverriddenMethod(IMethodBinding, boolean)
+     */
+    public static IMethodBinding findOverriddenMethod(IMethodBinding overriding, boolean testVisibility, DeclaredMethods declaredMethods)
     {
         int modifiers = overriding.getModifiers();
         if (Modifier.isPrivate(modifiers) || overriding.isConstructor())
@@ -169,7 +228,7 @@ public class Hierarchy
         ITypeBinding type = overriding.getDeclaringClass();
         if (type.getSuperclass() != null)
         {
-            IMethodBinding res = findOverriddenMethodInHierarchy(type.getSuperclass(), overriding);
+            IMethodBinding res = findOverriddenMethodInHierarchy(type.getSuperclass(), overriding, declaredMethods);
             if (res != null && !Modifier.isPrivate(res.getModifiers()))
             {
                 if (!testVisibility || isVisibleInHierarchy(res, overriding.getDeclaringClass().getPackage()))
@@ -179,7 +238,7 @@ public class Hierarchy
             }
         }
 
-        return findOverriddenMethodInInterfaces(overriding);
+        return findOverriddenMethodInInterfaces(overriding, declaredMethods);
     }
 
     /**
@@ -192,6 +251,23 @@ public class Hierarchy
      * @return the method binding representing the method, or null, if no found
      */
     public static IMethodBinding findOverriddenMethodInInterfaces(IMethodBinding overriding)
+    {
+        return findOverriddenMethodInInterfaces(overriding, new DeclaredMethods());
+    }
+
+    /**
+     * Finds the method that is overridden by the given method in interfaces
+     * and uses an index of the declared methods.
+     * 
+     * @param overriding
+     *            overriding method
+     * @param declaredMethods
+     *            The index of the declared methods of the types
+     * @return the method binding representing the method, or null, if no found
+     * 
+     * @see #findOverriddenMethodInInterfaces(IMethodBinding)
+     */
+    public static IMethodBinding findOverriddenMethodInInterfaces(IMethodBinding overriding, DeclaredMethods declaredMethods)
     {
         int modifiers = overriding.getModifiers();
         if (Modifier.isPrivate(modifiers) || Modifier.isStatic(modifiers) || overriding.isConstructor())
@@ -203,7 +279,7 @@ public class Hierarchy
         ITypeBinding[] interfaces = type.getInterfaces();
         for (int i = 0; i < interfaces.length; i++)
         {
-            IMethodBinding res = findOverriddenMethodInHierarchy(interfaces[i], overriding);
+            IMethodBinding res = findOverriddenMethodInHierarchy(interfaces[i], overriding, declaredMethods);
             if (res != null)
             {
                 return res; // methods from interfaces are always and
@@ -226,6 +302,27 @@ public class Hierarchy
      * @return the method binding representing the method
      */
     public static IMethodBinding findMethodInSuperclasses(ITypeBinding type, IMethodBinding method, boolean testVisibility)
+    {
+        return findMethodInSuperclasses(type, method, testVisibility, new DeclaredMethods());
+    }
+
+    /**
+     * Finds the method that is overridden by the given method in classes and
+     * uses an index of the declared methods.
+     * 
+     * @param method
+     *            overriding method
+     * @param testVisibility
+     *            If true the result is tested on visibility. Null is returned
+     *            if the method is not visible.
+     * @param declaredMethods
+     *            The index of the declared methods of the types
+     * @return the method binding representing the method
+     * 
+     * @see #findMethodInSuperclasses(ITypeBinding, IMethodBinding, boolean)
+     */
+    public static IMethodBinding findMethodInSuperclasses(ITypeBinding type, IMethodBinding method, boolean testVisibility,
+            DeclaredMethods declaredMethods)
     {
         int modifiers = method.getModifiers();
         if (Modifier.isPrivate(modifiers) || Modifier.isStatic(modifiers) || method.isConstructor())
@@ -236,7 +333,7 @@ public class Hierarchy
         ITypeBinding superclass = type.getSuperclass();
         if (superclass != null)
         {
-            IMethodBinding res = findOverriddenMethodInType(superclass, method);
+            IMethodBinding res = findOverriddenMethodInType(superclass, method, declaredMethods);
             if (res != null)
             {
                 if (Modifier.isPrivate(res.getModifiers()))
@@ -249,7 +346,7 @@ public class Hierarchy
                 }
             }
 
-            return findMethodInSuperclasses(superclass, method, testVisibility);
+            return findMethodInSuperclasses(superclass, method, testVisibility, declaredMethods);
         }
 
         return null;
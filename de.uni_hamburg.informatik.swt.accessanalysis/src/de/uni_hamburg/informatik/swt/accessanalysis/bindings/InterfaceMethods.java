@@ -0,0 +1,222 @@
+package de.uni_hamburg.informatik.swt.accessanalysis.bindings;
+
+import java.lang.ref.SoftReference;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.eclipse.jdt.core.dom.IMethodBinding;
+import org.eclipse.jdt.core.dom.ITypeBinding;
+
+/**
+ * Remembers for an analysis run the methods of interfaces and their inherited
+ * implementations, so types that implement the same interfaces do not walk the
+ * interface graph again.
+ *
+ * Every interface is represented by an immutable node with its declared methods
+ * and the nodes of all its super interfaces. The nodes of sub interfaces and
+ * implementing types are composed from these nodes without copying any methods.
+ * A node is only valid for the very same binding of the interface and is held by
+ * a soft reference, so nodes of former binding environments can be collected.
+ */
+public class InterfaceMethods
+{
+    private final DeclaredMethods _declaredMethods;
+
+    private final ConcurrentMap<String, SoftReference<Node>> _nodes;
+    private final ConcurrentMap<String, Object> _inheritedImplementations;
+
+    /**
+     * Initializes an empty InterfaceMethods.
+     *
+     * @param DeclaredMethods declaredMethods The index of declared methods used for the searches
+     */
+    public InterfaceMethods(DeclaredMethods declaredMethods)
+    {
+        _declaredMethods = declaredMethods;
+
+        _nodes = new ConcurrentHashMap<String, SoftReference<Node>>();
+        _inheritedImplementations = new ConcurrentHashMap<String, Object>();
+    }
+
+    /**
+     * Returns all methods that are declared in implemented interfaces of a type.
+     * Every method is returned once.
+     *
+     * @param ITypeBinding type The type which interfaces should be examined
+     * @return Iterable<IMethodBinding> The methods
+     *
+     * @see Hierarchy#findAllInterfaceMethods(ITypeBinding)
+     */
+    public Iterable<IMethodBinding> findAllInterfaceMethods(ITypeBinding type)
+    {
+        Set<Node> visited = Collections.newSetFromMap(new IdentityHashMap<Node, Boolean>());
+        final List<Node> nodes = new ArrayList<Node>();
+        for (ITypeBinding superInterface : type.getInterfaces())
+        {
+            for (Node node : getNode(superInterface)._closure)
+            {
+                if (visited.add(node))
+                {
+                    nodes.add(node);
+                }
+            }
+        }
+
+        return new Iterable<IMethodBinding>()
+        {
+            @Override
+            public Iterator<IMethodBinding> iterator()
+            {
+                return new MethodIterator(nodes);
+            }
+        };
+    }
+
+    /**
+     * Finds the method of a superclass that implements a given method. The result only
+     * depends on the superclass of the type, so it is shared by all its subclasses.
+     *
+     * @param ITypeBinding type The type whose superclasses are searched
+     * @param IMethodBinding method The method to be implemented
+     * @param boolean testVisibility If true the result is tested on visibility
+     * @return IMethodBinding The implementing method or null
+     *
+     * @see Hierarchy#findMethodInSuperclasses(ITypeBinding, IMethodBinding, boolean)
+     */
+    public IMethodBinding findMethodInSuperclasses(ITypeBinding type, IMethodBinding method, boolean testVisibility)
+    {
+        ITypeBinding superclass = type.getSuperclass();
+        if (superclass == null || superclass.getKey() == null || method.getKey() == null)
+        {
+            return Hierarchy.findMethodInSuperclasses(type, method, testVisibility, _declaredMethods);
+        }
+
+        String key = superclass.getKey() + ' ' + method.getKey() + ' ' + testVisibility;
+        Object result = FoundMethod.valid(_inheritedImplementations.get(key), superclass);
+        if (result != null)
+        {
+            return result == FoundMethod.NOT_FOUND ? null : (IMethodBinding) result;
+        }
+
+        IMethodBinding implementation = Hierarchy.findMethodInSuperclasses(type, method, testVisibility, _declaredMethods);
+        _inheritedImplementations.put(key, FoundMethod.of(superclass, implementation));
+        return implementation;
+    }
+
+    private Node getNode(ITypeBinding interfaceBinding)
+    {
+        String key = interfaceBinding.getKey();
+        if (key != null)
+        {
+            SoftReference<Node> reference = _nodes.get(key);
+            Node node = reference != null ? reference.get() : null;
+            if (node != null && node._interface == interfaceBinding)
+            {
+                return node;
+            }
+        }
+
+        ITypeBinding[] superInterfaces = interfaceBinding.getInterfaces();
+        Node[] superNodes = new Node[superInterfaces.length];
+        for (int i = 0; i < superInterfaces.length; i++)
+        {
+            superNodes[i] = getNode(superInterfaces[i]);
+        }
+
+        Node node = new Node(interfaceBinding, superNodes);
+        if (key != null)
+        {
+            _nodes.put(key, new SoftReference<Node>(node));
+        }
+        return node;
+    }
+
+    /**
+     * The methods of a single interface.
+     */
+    private static class Node
+    {
+        private final ITypeBinding _interface;
+        private final IMethodBinding[] _methods;
+        private final Node[] _closure;
+
+        /**
+         * Initializes a node of an interface.
+         *
+         * @param ITypeBinding interfaceBinding The interface
+         * @param Node[] superNodes The nodes of the direct super interfaces
+         */
+        private Node(ITypeBinding interfaceBinding, Node[] superNodes)
+        {
+            _interface = interfaceBinding;
+            _methods = interfaceBinding.getDeclaredMethods();
+
+            Set<Node> visited = Collections.newSetFromMap(new IdentityHashMap<Node, Boolean>());
+            List<Node> closure = new ArrayList<Node>();
+            visited.add(this);
+            closure.add(this);
+            for (Node superNode : superNodes)
+            {
+                for (Node node : superNode._closure)
+                {
+                    if (visited.add(node))
+                    {
+                        closure.add(node);
+                    }
+                }
+            }
+            _closure = closure.toArray(new Node[closure.size()]);
+        }
+    }
+
+    /**
+     * Iterates over the methods of several nodes.
+     */
+    private static class MethodIterator implements Iterator<IMethodBinding>
+    {
+        private final List<Node> _nodes;
+        private int _node;
+        private int _method;
+
+        private MethodIterator(List<Node> nodes)
+        {
+            _nodes = nodes;
+            _node = 0;
+            _method = 0;
+        }
+
+        @Override
+        public boolean hasNext()
+        {
+            while (_node < _nodes.size() && _method >= _nodes.get(_node)._methods.length)
+            {
+                _node++;
+                _method = 0;
+            }
+            return _node < _nodes.size();
+        }
+
+        @Override
+        public IMethodBinding next()
+        {
+            if (! hasNext())
+            {
+                throw new NoSuchElementException();
+            }
+            return _nodes.get(_node)._methods[_method++];
+        }
+
+        @Override
+        public void remove()
+        {
+            throw new UnsupportedOperationException();
+        }
+    }
+}
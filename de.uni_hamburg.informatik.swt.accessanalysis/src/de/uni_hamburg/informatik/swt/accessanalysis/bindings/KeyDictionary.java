@@ -0,0 +1,104 @@
+package de.uni_hamburg.informatik.swt.accessanalysis.bindings;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+
+/**
+ * Interns binding keys and assigns dense int IDs to them.
+ *
+ * The first key gets the ID 0 and every new key gets the next free ID, so the IDs
+ * can be used as indices of primitive arrays. Known keys are looked up without locking,
+ * so a dictionary can be shared by all threads of an analysis run.
+ */
+public class KeyDictionary
+{
+    /**
+     * The ID returned for keys that are not in the dictionary.
+     */
+    public static final int NO_ID = -1;
+
+    private final ConcurrentMap<String, Integer> _ids;
+    private final List<String> _keys;
+
+    /**
+     * Initializes an empty KeyDictionary.
+     */
+    public KeyDictionary()
+    {
+        _ids = new ConcurrentHashMap<String, Integer>();
+        _keys = new ArrayList<String>();
+    }
+
+    /**
+     * Returns the ID of a key and assigns a new one if the key is unknown.
+     *
+     * @param String key The binding key
+     * @return int The ID of the key
+     */
+    public int id(String key)
+    {
+        Integer id = _ids.get(key);
+        if (id != null)
+        {
+            return id;
+        }
+
+        synchronized (_keys)
+        {
+            id = _ids.get(key);
+            if (id == null)
+            {
+                id = _keys.size();
+                _keys.add(key);
+                _ids.put(key, id);
+            }
+            return id;
+        }
+    }
+
+    /**
+     * Returns the ID of a key without assigning a new one.
+     *
+     * @param String key The binding key
+     * @return int The ID of the key or NO_ID if the key is unknown
+     */
+    public int lookup(String key)
+    {
+        Integer id = _ids.get(key);
+        if (id == null)
+        {
+            return NO_ID;
+        }
+        return id;
+    }
+
+    /**
+     * Returns the key of an ID.
+     *
+     * @param int id The ID
+     * @return String The binding key
+     */
+    public String key(int id)
+    {
+        synchronized (_keys)
+        {
+            return _keys.get(id);
+        }
+    }
+
+    /**
+     * Returns the number of keys.
+     *
+     * @return int The number of keys, all IDs are smaller than this number
+     */
+    public int size()
+    {
+        synchronized (_keys)
+        {
+            return _keys.size();
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package de.uni_hamburg.informatik.swt.accessanalysis.bindings;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.eclipse.jdt.core.dom.IMethodBinding;
+
+/**
+ * Remembers for an analysis run which methods are overridden by the methods
+ * that were inspected, so the handlers and constraints that ask for the same
+ * method share one walk through the hierarchy.
+ *
+ * The results are identified by the keys of the overriding methods. A method that
+ * overrides nothing is remembered by a sentinel, which is valid for every binding
+ * of the method. A found method is only valid in the binding environment it was
+ * found in, because bindings of different environments are not equal. So it is only
+ * returned for the very same overriding binding and is held by weak references that
+ * do not keep the environment alive.
+ */
+public class OverriddenMethods
+{
+    private final DeclaredMethods _declaredMethods;
+
+    private final ConcurrentMap<String, Object> _visibleOverridden;
+    private final ConcurrentMap<String, Object> _overridden;
+    private final ConcurrentMap<String, Object> _overriddenInInterfaces;
+
+    private final AtomicLong _queries;
+    private final AtomicLong _hits;
+
+    /**
+     * Initializes an empty OverriddenMethods.
+     *
+     * @param DeclaredMethods declaredMethods The index of declared methods used for the searches
+     */
+    public OverriddenMethods(DeclaredMethods declaredMethods)
+    {
+        _declaredMethods = declaredMethods;
+
+        _visibleOverridden = new ConcurrentHashMap<String, Object>();
+        _overridden = new ConcurrentHashMap<String, Object>();
+        _overriddenInInterfaces = new ConcurrentHashMap<String, Object>();
+
+        _queries = new AtomicLong();
+        _hits = new AtomicLong();
+    }
+
+    /**
+     * Finds the method that is overridden by the given method.
+     *
+     * @param IMethodBinding overriding The overriding method
+     * @param boolean testVisibility If true the result is tested on visibility
+     * @return IMethodBinding The overridden method or null
+     *
+     * @see Hierarchy#findOverriddenMethod(IMethodBinding, boolean)
+     */
+    public IMethodBinding findOverriddenMethod(IMethodBinding overriding, boolean testVisibility)
+    {
+        ConcurrentMap<String, Object> results = testVisibility ? _visibleOverridden : _overridden;
+        Object result = lookup(results, overriding);
+        if (result != null)
+        {
+            return result == FoundMethod.NOT_FOUND ? null : (IMethodBinding) result;
+        }
+
+        IMethodBinding overridden = Hierarchy.findOverriddenMethod(overriding, testVisibility, _declaredMethods);
+        remember(results, overriding, overridden);
+        return overridden;
+    }
+
+    /**
+     * Finds the method that is overridden by the given method in interfaces.
+     *
+     * @param IMethodBinding overriding The overriding method
+     * @return IMethodBinding The overridden method or null
+     *
+     * @see Hierarchy#findOverriddenMethodInInterfaces(IMethodBinding)
+     */
+    public IMethodBinding findOverriddenMethodInInterfaces(IMethodBinding overriding)
+    {
+        Object result = lookup(_overriddenInInterfaces, overriding);
+        if (result != null)
+        {
+            return result == FoundMethod.NOT_FOUND ? null : (IMethodBinding) result;
+        }
+
+        IMethodBinding overridden = Hierarchy.findOverriddenMethodInInterfaces(overriding, _declaredMethods);
+        remember(_overriddenInInterfaces, overriding, overridden);
+        return overridden;
+    }
+
+    /**
+     * Returns the number of searches for overridden methods.
+     *
+     * @return long The number of searches
+     */
+    public long getQueries()
+    {
+        return _queries.get();
+    }
+
+    /**
+     * Returns the number of searches that were answered without walking the hierarchy.
+     *
+     * @return long The number of remembered results
+     */
+    public long getHits()
+    {
+        return _hits.get();
+    }
+
+    /**
+     * Returns the remembered result for a method.
+     *
+     * @return Object NOT_FOUND, the overridden method or null if there is no valid result
+     */
+    private Object lookup(ConcurrentMap<String, Object> results, IMethodBinding overriding)
+    {
+        _queries.incrementAndGet();
+        String key = overriding.getKey();
+        if (key == null)
+        {
+            return null;
+        }
+
+        Object result = FoundMethod.valid(results.get(key), overriding);
+        if (result != null)
+        {
+            _hits.incrementAndGet();
+        }
+        return result;
+    }
+
+    private void remember(ConcurrentMap<String, Object> results, IMethodBinding overriding, IMethodBinding overridden)
+    {
+        String key = overriding.getKey();
+        if (key != null)
+        {
+            results.put(key, FoundMethod.of(overriding, overridden));
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package de.uni_hamburg.informatik.swt.accessanalysis.bindings;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.eclipse.jdt.core.IJavaElement;
+import org.eclipse.jdt.core.IPackageFragment;
+import org.eclipse.jdt.core.IPackageFragmentRoot;
+import org.eclipse.jdt.core.JavaModelException;
+import org.eclipse.jdt.core.dom.IMethodBinding;
+import org.eclipse.jdt.core.dom.IPackageBinding;
+import org.eclipse.jdt.core.dom.ITypeBinding;
+
+/**
+ * Remembers for an analysis run which packages belong to a source folder,
+ * so the handlers do not need a Java model lookup for every binding.
+ * 
+ * The packages are identified by the keys of their package bindings, which the
+ * bindings hold anyway. The packages of the analyzed source folders are added while
+ * the folders are walked. Any other package is looked up in the Java model once
+ * and remembered.
+ * 
+ * A package key stands for all fragments of the package, e.g. of a package that is
+ * split between a source folder and a library or that is source in one project and
+ * binary in another. So a type is only local if it was compiled from source as well,
+ * which its binding tells without asking the Java model.
+ */
+public class SourcePackages
+{
+    private final ConcurrentMap<String, Boolean> _sourcePackages;
+    private final AtomicLong _savedLookups;
+    
+    /**
+     * Initializes an empty SourcePackages.
+     */
+    public SourcePackages()
+    {
+        _sourcePackages = new ConcurrentHashMap<String, Boolean>();
+        _savedLookups = new AtomicLong();
+    }
+    
+    /**
+     * Adds a package of an analyzed source folder.
+     * 
+     * @param IPackageFragment packageFragment The package
+     */
+    public void addSourcePackage(IPackageFragment packageFragment)
+    {
+        _sourcePackages.put(packageFragment.getElementName().replace('.', '/'), Boolean.TRUE);
+    }
+    
+    /**
+     * Checks whether a method is included in the analyzed source code.
+     * Default constructors are not, since they are not declared in the source.
+     * 
+     * @param IMethodBinding methodBinding The method to be inspected
+     */
+    public boolean isLocalMethod(IMethodBinding methodBinding)
+    {
+        if (methodBinding == null || methodBinding.isDefaultConstructor())
+        {
+            return false;
+        }
+        
+        return isLocalType(methodBinding.getDeclaringClass());
+    }
+    
+    /**
+     * Checks whether a type is included in the analyzed source code.
+     * An array type is local if its element type is.
+     * 
+     * @param ITypeBinding typeBinding The type to be inspected
+     */
+    public boolean isLocalType(ITypeBinding typeBinding)
+    {
+        if (typeBinding == null || typeBinding.isTypeVariable())
+        {
+            return false;
+        }
+        
+        ITypeBinding type = typeBinding.isArray() ? typeBinding.getElementType() : typeBinding;
+        return type.isFromSource() && isSourcePackage(type.getPackage());
+    }
+    
+    /**
+     * Checks whether a package belongs to a source folder.
+     * 
+     * @param IPackageBinding packageBinding The package to be inspected or null
+     */
+    private boolean isSourcePackage(IPackageBinding packageBinding)
+    {
+        if (packageBinding == null)
+        {
+            return false;
+        }
+        
+        String key = packageBinding.getKey();
+        Boolean sourcePackage = _sourcePackages.get(key);
+        if (sourcePackage != null)
+        {
+            _savedLookups.incrementAndGet();
+            return sourcePackage;
+        }
+        
+        IJavaElement packageFragment = packageBinding.getJavaElement();
+        try
+        {
+            sourcePackage = packageFragment instanceof IPackageFragment
+                    && ((IPackageFragment) packageFragment).getKind() == IPackageFragmentRoot.K_SOURCE;
+        }
+        catch (JavaModelException e)
+        {
+            sourcePackage = false;
+        }
+        _sourcePackages.put(key, sourcePackage);
+        return sourcePackage;
+    }
+    
+    /**
+     * Returns the number of Java model lookups that were answered from this cache.
+     * 
+     * @return long The number of saved lookups
+     */
+    public long getSavedLookups()
+    {
+        return _savedLookups.get();
+    }
+}
@@ -0,0 +1,187 @@
+package de.uni_hamburg.informatik.swt.accessanalysis.bindings;
+
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.eclipse.jdt.core.dom.ITypeBinding;
+
+/**
+ * Remembers for an analysis run the super types of every type that was inspected,
+ * so Hierarchy does not need to walk the hierarchy again for every check.
+ *
+ * The type declarations are identified by their IDs in the type KeyDictionary of the run.
+ * The closure of a type is a sorted array of the IDs of the type itself, its superclasses
+ * and all implemented interfaces, so it only takes as much memory as the type has super
+ * types. It is computed once from the closures of the direct super types and never
+ * changed afterwards.
+ */
+public class SupertypeIndex
+{
+    private final KeyDictionary _typeKeys;
+    private final ConcurrentMap<Integer, int[]> _closures;
+
+    private final AtomicLong _queries;
+    private final AtomicLong _hits;
+
+    /**
+     * Initializes an empty SupertypeIndex.
+     *
+     * @param KeyDictionary typeKeys The dictionary of the type keys of the run
+     */
+    public SupertypeIndex(KeyDictionary typeKeys)
+    {
+        _typeKeys = typeKeys;
+        _closures = new ConcurrentHashMap<Integer, int[]>();
+
+        _queries = new AtomicLong();
+        _hits = new AtomicLong();
+    }
+
+    /**
+     * Returns <code>true</code> if the given type is a super type of a
+     * candidate or is equal to it.
+     *
+     * @param ITypeBinding possibleSuperType The type to inspect
+     * @param ITypeBinding type The type whose super types are looked at
+     *
+     * @see Hierarchy#isSuperType(ITypeBinding, ITypeBinding)
+     */
+    public boolean isSuperType(ITypeBinding possibleSuperType, ITypeBinding type)
+    {
+        if (type.isArray() || type.isPrimitive())
+        {
+            return false;
+        }
+
+        String superKey = possibleSuperType.getTypeDeclaration().getKey();
+        String key = type.getTypeDeclaration().getKey();
+        if (superKey == null || key == null)
+        {
+            return Hierarchy.isSuperType(possibleSuperType, type);
+        }
+
+        _queries.incrementAndGet();
+        int[] closure = _closures.get(_typeKeys.id(key));
+        if (closure != null)
+        {
+            _hits.incrementAndGet();
+        }
+        else
+        {
+            closure = getClosure(type.getTypeDeclaration());
+            if (closure == null)
+            {
+                return Hierarchy.isSuperType(possibleSuperType, type);
+            }
+        }
+
+        int superId = _typeKeys.lookup(superKey);
+        return superId != KeyDictionary.NO_ID && Arrays.binarySearch(closure, superId) >= 0;
+    }
+
+    /**
+     * Returns the number of checks answered by this index.
+     *
+     * @return long The number of checks
+     */
+    public long getQueries()
+    {
+        return _queries.get();
+    }
+
+    /**
+     * Returns the number of checks whose type had been inspected before.
+     *
+     * @return long The number of checks that did not walk the hierarchy
+     */
+    public long getHits()
+    {
+        return _hits.get();
+    }
+
+    /**
+     * Returns the closure of a type declaration and computes it if it is unknown.
+     *
+     * @param ITypeBinding type The type declaration
+     * @return int[] The sorted IDs of the type and all its super types or null if a
+     *         type of the hierarchy has no key
+     */
+    private int[] getClosure(ITypeBinding type)
+    {
+        String key = type.getKey();
+        if (key == null)
+        {
+            return null;
+        }
+
+        Integer id = _typeKeys.id(key);
+        int[] closure = _closures.get(id);
+        if (closure != null)
+        {
+            return closure;
+        }
+
+        closure = new int[] { id };
+
+        ITypeBinding superClass = type.getSuperclass();
+        if (superClass != null)
+        {
+            closure = add(closure, superClass);
+        }
+        for (ITypeBinding superInterface : type.getInterfaces())
+        {
+            if (closure == null)
+            {
+                return null;
+            }
+            closure = add(closure, superInterface);
+        }
+        if (closure == null)
+        {
+            return null;
+        }
+
+        int[] known = _closures.putIfAbsent(id, closure);
+        return known != null ? known : closure;
+    }
+
+    /**
+     * Merges the closure of a direct super type into a closure.
+     *
+     * @param int[] closure The sorted closure so far
+     * @param ITypeBinding superType The direct super type
+     * @return int[] The sorted union of both closures or null if the closure of the super type is unknown
+     */
+    private int[] add(int[] closure, ITypeBinding superType)
+    {
+        int[] superClosure = getClosure(superType.getTypeDeclaration());
+        if (superClosure == null)
+        {
+            return null;
+        }
+
+        int[] union = new int[closure.length + superClosure.length];
+        int size = 0;
+        int i = 0;
+        int j = 0;
+        while (i < closure.length || j < superClosure.length)
+        {
+            if (j == superClosure.length || (i < closure.length && closure[i] < superClosure[j]))
+            {
+                union[size++] = closure[i++];
+            }
+            else if (i == closure.length || superClosure[j] < closure[i])
+            {
+                union[size++] = superClosure[j++];
+            }
+            else
+            {
+                union[size++] = closure[i++];
+                j++;
+            }
+        }
+        return size == union.length ? union : Arrays.copyOf(union, size);
+    }
+}
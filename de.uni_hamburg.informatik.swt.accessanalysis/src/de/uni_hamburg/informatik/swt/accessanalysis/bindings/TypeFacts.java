@@ -0,0 +1,169 @@
+package de.uni_hamburg.informatik.swt.accessanalysis.bindings;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.IJavaElement;
+import org.eclipse.jdt.core.IType;
+import org.eclipse.jdt.core.dom.IPackageBinding;
+import org.eclipse.jdt.core.dom.ITypeBinding;
+
+/**
+ * Remembers for an analysis run some facts about the inspected types that the
+ * access determinators need again and again: the top level type, the package,
+ * the compilation unit and whether the superclasses of a type stay in its package.
+ *
+ * The types are identified by the keys of their bindings and all facts are stored
+ * as keys or Java model handles, so they are valid for every binding of a type.
+ */
+public class TypeFacts
+{
+    private static final Object NO_COMPILATION_UNIT = new Object();
+
+    private final ConcurrentMap<String, Facts> _facts;
+    private final ConcurrentMap<String, Object> _compilationUnits;
+    private final ConcurrentMap<String, Boolean> _samePackageChains;
+
+    /**
+     * Initializes an empty TypeFacts.
+     */
+    public TypeFacts()
+    {
+        _facts = new ConcurrentHashMap<String, Facts>();
+        _compilationUnits = new ConcurrentHashMap<String, Object>();
+        _samePackageChains = new ConcurrentHashMap<String, Boolean>();
+    }
+
+    /**
+     * Checks whether two types are declared under the same top level type.
+     *
+     * @param ITypeBinding type The first type
+     * @param ITypeBinding otherType The second type
+     * @return boolean true, if the top level types are the same
+     *
+     * @see Nesting#getTopLevelType(ITypeBinding)
+     */
+    public boolean haveSameTopLevelType(ITypeBinding type, ITypeBinding otherType)
+    {
+        String topLevelKey = getFacts(type)._topLevelKey;
+        return topLevelKey != null && topLevelKey.equals(getFacts(otherType)._topLevelKey);
+    }
+
+    /**
+     * Checks whether a type belongs to a package. The package of a type without one
+     * is the package of its enclosing type.
+     *
+     * @param ITypeBinding type The type
+     * @param IPackageBinding packageBinding The package
+     * @return boolean true, if the type belongs to the package
+     */
+    public boolean isInPackage(ITypeBinding type, IPackageBinding packageBinding)
+    {
+        String packageKey = getFacts(type)._packageKey;
+        return packageKey != null && packageKey.equals(packageBinding.getKey());
+    }
+
+    /**
+     * Returns the compilation unit a type is declared in.
+     *
+     * @param ITypeBinding type The type
+     * @return ICompilationUnit The compilation unit or null for binary types
+     */
+    public ICompilationUnit getCompilationUnit(ITypeBinding type)
+    {
+        String key = type.getKey();
+        Object compilationUnit = key != null ? _compilationUnits.get(key) : null;
+        if (compilationUnit == null)
+        {
+            IJavaElement element = type.getJavaElement();
+            compilationUnit = element instanceof IType ? ((IType) element).getCompilationUnit() : null;
+            if (compilationUnit == null)
+            {
+                compilationUnit = NO_COMPILATION_UNIT;
+            }
+            if (key != null)
+            {
+                _compilationUnits.put(key, compilationUnit);
+            }
+        }
+        return compilationUnit == NO_COMPILATION_UNIT ? null : (ICompilationUnit) compilationUnit;
+    }
+
+    /**
+     * Checks whether a type and all its superclasses below a given superclass belong
+     * to the package of that superclass. The chain ends at the superclass, at a
+     * type without superclass or at <code>void</code>.
+     *
+     * @param ITypeBinding type The type declaration where the chain starts
+     * @param ITypeBinding superclass The superclass where the chain ends
+     * @return boolean true, if no type of the chain leaves the package of the superclass
+     */
+    public boolean staysInPackage(ITypeBinding type, ITypeBinding superclass)
+    {
+        String key = type.getKey() + ' ' + superclass.getKey();
+        Boolean staysInPackage = _samePackageChains.get(key);
+        if (staysInPackage == null)
+        {
+            staysInPackage = computeStaysInPackage(type, superclass);
+            if (type.getKey() != null && superclass.getKey() != null)
+            {
+                _samePackageChains.put(key, staysInPackage);
+            }
+        }
+        return staysInPackage;
+    }
+
+    private boolean computeStaysInPackage(ITypeBinding type, ITypeBinding superclass)
+    {
+        IPackageBinding packageBinding = superclass.getPackage();
+        ITypeBinding intermediateType = type;
+        while (intermediateType != null && ! intermediateType.getName().equals("void") && ! intermediateType.equals(superclass))
+        {
+            if (! isInPackage(intermediateType, packageBinding))
+            {
+                return false;
+            }
+
+            ITypeBinding nextType = intermediateType.getSuperclass();
+            intermediateType = nextType != null ? nextType.getTypeDeclaration() : null;
+        }
+        return true;
+    }
+
+    private Facts getFacts(ITypeBinding type)
+    {
+        String key = type.getKey();
+        Facts facts = key != null ? _facts.get(key) : null;
+        if (facts == null)
+        {
+            facts = new Facts(type);
+            if (key != null)
+            {
+                _facts.put(key, facts);
+            }
+        }
+        return facts;
+    }
+
+    /**
+     * The facts about a single type.
+     */
+    private static class Facts
+    {
+        private final String _topLevelKey;
+        private final String _packageKey;
+
+        private Facts(ITypeBinding type)
+        {
+            _topLevelKey = Nesting.getTopLevelType(type).getKey();
+
+            ITypeBinding typeWithPackage = type;
+            while (typeWithPackage != null && typeWithPackage.getPackage() == null)
+            {
+                typeWithPackage = typeWithPackage.getDeclaringClass();
+            }
+            _packageKey = typeWithPackage != null ? typeWithPackage.getPackage().getKey() : null;
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package de.uni_hamburg.informatik.swt.accessanalysis.results;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Builds the immutable child lists of frozen results, so a result tree that is 
+ * expanded in a view does not copy and sort its children on every call.
+ */
+final class FrozenChildren
+{
+    private FrozenChildren()
+    {
+    }
+    
+    /**
+     * Sorts the given children once and returns them as an immutable list.
+     * 
+     * @param Collection<? extends Result> children The children of a result
+     * @return List<Result> The sorted children, which can not be modified
+     */
+    static List<Result> of(Collection<? extends Result> children)
+    {
+        if (children.isEmpty())
+        {
+            return Collections.emptyList();
+        }
+        
+        Result[] sorted = children.toArray(new Result[children.size()]);
+        Arrays.sort(sorted);
+        return Collections.unmodifiableList(Arrays.asList(sorted));
+    }
+    
+    /**
+     * Returns children that are already sorted as an immutable list.
+     * 
+     * @param Result[] sortedChildren The sorted children of a result, which must not be modified later
+     * @return List<Result> The children, which can not be modified
+     */
+    static List<Result> ofSorted(Result[] sortedChildren)
+    {
+        if (sortedChildren.length == 0)
+        {
+            return Collections.emptyList();
+        }
+        
+        return Collections.unmodifiableList(Arrays.asList(sortedChildren));
+    }
+}
@@ -1,47 +1,34 @@
 package de.uni_hamburg.informatik.swt.accessanalysis.results;
 
-import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 import org.eclipse.jdt.core.IMethod;
 import org.eclipse.jdt.core.JavaModelException;
-import org.eclipse.jdt.core.dom.MethodDeclaration;
 import org.eclipse.swt.graphics.Image;
 
 import de.uni_hamburg.informatik.swt.accessanalysis.access.Access;
 
 
 /**
- * This class collects the analysis results for a single method.
+ * This class is a view on the analysis results for a single method.
+ * The results are kept in the ResultStore of the package.
  */
 public class MethodResult implements Result
 {
-    private final ResultFormatter _formatter;
-    
-    private final IMethod _method;
-    private final TypeResult _parent;
-    
-    private Access _minimalAccess;
-    
-    private boolean _recalculateIgam;
-    private double _igam;
+    private final ResultStore _store;
+    private final int _index;
     
     /**
-     * Initializes an object of MethodResult.
+     * Initializes a view on the results of a method.
      * 
-     * @param MethodDeclaration node The declaration node of this method from the AST
-     * @param TypeResult parent The result of the parent element
+     * @param ResultStore store The store of the package the method belongs to
+     * @param int index The index of the method in the store
      */
-    public MethodResult(MethodDeclaration node, TypeResult parent)
+    MethodResult(ResultStore store, int index)
     {
-        _formatter = new MethodResultFormatter();
-        
-        _method = (IMethod) node.resolveBinding().getJavaElement();
-        _parent = parent;
-        _minimalAccess = Access.NO_USE;
-        
-        _recalculateIgam = true;
-        _igam = GOOD;
+        _store = store;
+        _index = index;
     }
     
     @Override
@@ -53,19 +40,19 @@ public class MethodResult implements Result
     @Override
     public List<Result> getChildren()
     {
-        return new ArrayList<Result>();
+        return Collections.emptyList();
     }
     
     @Override
     public Result getParent()
     {
-        return _parent;
+        return _store.getTypeResult(_store.getMethodType(_index));
     }
 
     @Override
     public ResultFormatter getFormatter()
     {
-        return _formatter;
+        return new MethodResultFormatter();
     }
     
     /**
@@ -75,17 +62,18 @@ public class MethodResult implements Result
      */
     private Access getActualAccess() throws JavaModelException
     {
-        if (_method.getDeclaringType().isInterface())
+        IMethod method = getJavaElement();
+        if (method.getDeclaringType().isInterface())
         {
             return Access.PUBLIC;
         }
 
-        if (_method.isConstructor() && _method.getDeclaringType().isEnum())
+        if (method.isConstructor() && method.getDeclaringType().isEnum())
         {
             return Access.PRIVATE;
         }
         
-        return Access.fromFlags(_method);
+        return Access.fromFlags(method);
     }
 
     /**
@@ -95,24 +83,20 @@ public class MethodResult implements Result
      */
     private Access getMinimalAccess()
     {
-        return _minimalAccess;
+        return _store.getMethodMinimalAccess(_index);
     }
     
     /**
      * Sets the minimal possible access modifier of this method
+     * and passes the change of its IGAM value on to the type.
      * 
      * @param Access The minimal possible access modifier  
+     * 
+     * @throws JavaModelException if the actual access modifier can not be read
      */
-    public void setMinimalAccess(Access access)
-    {
-        _minimalAccess = access;
-        setRecalculateIgam();
-    }
-    
-    private void setRecalculateIgam()
+    public void setMinimalAccess(Access access) throws JavaModelException
     {
-        _recalculateIgam = true;
-        _parent.setRecalculateIgam();
+        _store.setMethodMinimalAccess(_index, access, getActualAccess());
     }
 
     /**
@@ -120,29 +104,15 @@ public class MethodResult implements Result
      * 
      * @return float IGAM
      */
-    double getIgam() throws JavaModelException
+    private double getIgam()
     {
-        if (_recalculateIgam)
-        {
-            calculateIgam();
-        }
-        
-        return _igam;
-    }
-    
-    private void calculateIgam() throws JavaModelException
-    {
-        _igam = GOOD;
-        if (getActualAccess().compareTo(getMinimalAccess()) > 0)
-        {
-            _igam = BAD;
-        }
+        return _store.getMethodIgam(_index);
     }
     
     @Override
     public IMethod getJavaElement()
     {
-        return _method;
+        return _store.getMethod(_index);
     }
     
     @Override
@@ -157,12 +127,30 @@ public class MethodResult implements Result
         if (o instanceof MethodResult)
         {
             MethodResult mr = (MethodResult) o;
-            return _method.getElementName().compareTo(mr._method.getElementName());
+            return getJavaElement().getElementName().compareTo(mr.getJavaElement().getElementName());
         }
         
         return -1;
     }
     
+    @Override
+    public boolean equals(Object o)
+    {
+        if (o instanceof MethodResult)
+        {
+            MethodResult mr = (MethodResult) o;
+            return _store == mr._store && _index == mr._index;
+        }
+        
+        return false;
+    }
+    
+    @Override
+    public int hashCode()
+    {
+        return 31 * System.identityHashCode(_store) + _index;
+    }
+    
     @Override
     public String toString()
     {
@@ -0,0 +1,96 @@
+package de.uni_hamburg.informatik.swt.accessanalysis.results;
+
+/**
+ * Holds the running IGAT and IGAM sums of a result and the number of types and
+ * methods they are taken over, so the metrics of every level are read in constant time.
+ *
+ * Changes are pushed as deltas from the types and methods to the metrics of all
+ * results above them. The metrics of a result are only passed on to its parent after
+ * they have been attached to it, because packages can be filled before they are added
+ * to their source folder.
+ */
+final class Metrics
+{
+    private Metrics _parent;
+
+    private double _igatSum;
+    private int _numberOfTypes;
+    private double _igamSum;
+    private int _numberOfMethods;
+
+    /**
+     * Initializes empty metrics without a parent.
+     */
+    Metrics()
+    {
+        _parent = null;
+
+        _igatSum = 0;
+        _numberOfTypes = 0;
+        _igamSum = 0;
+        _numberOfMethods = 0;
+    }
+
+    /**
+     * Attaches these metrics to the metrics of the parent result and adds the
+     * sums collected so far to the parent.
+     *
+     * @param Metrics parent The metrics of the parent result
+     */
+    synchronized void attachTo(Metrics parent)
+    {
+        _parent = parent;
+        parent.add(_igatSum, _numberOfTypes, _igamSum, _numberOfMethods);
+    }
+
+    /**
+     * Adds deltas to the sums and numbers and passes them on to the parent.
+     *
+     * @param double igatSum The delta of the IGAT sum
+     * @param int numberOfTypes The delta of the number of types
+     * @param double igamSum The delta of the IGAM sum
+     * @param int numberOfMethods The delta of the number of methods
+     */
+    synchronized void add(double igatSum, int numberOfTypes, double igamSum, int numberOfMethods)
+    {
+        _igatSum += igatSum;
+        _numberOfTypes += numberOfTypes;
+        _igamSum += igamSum;
+        _numberOfMethods += numberOfMethods;
+
+        if (_parent != null)
+        {
+            _parent.add(igatSum, numberOfTypes, igamSum, numberOfMethods);
+        }
+    }
+
+    /**
+     * Returns the IGAT metric value over all types
+     *
+     * @return double IGAT
+     */
+    synchronized double getIgat()
+    {
+        if (_numberOfTypes > 0)
+        {
+            return _igatSum / _numberOfTypes;
+        }
+
+        return Result.GOOD;
+    }
+
+    /**
+     * Returns the IGAM metric value over all methods
+     *
+     * @return double IGAM
+     */
+    synchronized double getIgam()
+    {
+        if (_numberOfMethods > 0)
+        {
+            return _igamSum / _numberOfMethods;
+        }
+
+        return Result.GOOD;
+    }
+}
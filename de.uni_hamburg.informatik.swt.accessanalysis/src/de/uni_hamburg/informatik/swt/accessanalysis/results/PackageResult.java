@@ -1,12 +1,12 @@
 package de.uni_hamburg.informatik.swt.accessanalysis.results;
 
 import java.util.ArrayList;
-import java.util.Collections;
-import java.util.LinkedList;
 import java.util.List;
 
+import org.eclipse.jdt.core.ICompilationUnit;
 import org.eclipse.jdt.core.IPackageFragment;
-import org.eclipse.jdt.core.JavaModelException;
+import org.eclipse.jdt.core.IType;
+import org.eclipse.jdt.core.dom.AbstractTypeDeclaration;
 import org.eclipse.swt.graphics.Image;
 
 /**
@@ -15,18 +15,12 @@ import org.eclipse.swt.graphics.Image;
 public class PackageResult implements Result
 {
     private final ResultFormatter _formatter;
-    private final List<TypeResult> _types;
+    private final ResultStore _store;
     
     private final IPackageFragment _package;
     private final SourceFolderResult _parent;
     
-    private boolean _recalculateIgat;
-    private double _igat;
-    private double _igatSum;
-    private boolean _recalculateIgam;
-    private double _igam;
-    private double _igamSum;
-    private int _numberOfMethods;
+    private final Metrics _metrics;
 
     /**
      * Initialize an object of PackageResult.
@@ -37,32 +31,33 @@ public class PackageResult implements Result
     public PackageResult(IPackageFragment packageFragment, SourceFolderResult parent)
     {
         _formatter = new PackageResultFormatter();
-        _types = new LinkedList<TypeResult>();
         
         _package = packageFragment;
         _parent = parent;
         
-        _recalculateIgat = true;
-        _igat = GOOD;
-        _igatSum = 0;
-        _recalculateIgam = true;
-        _igam = GOOD;
-        _igamSum = 0;
-        _numberOfMethods = 0;
+        _metrics = new Metrics();
+        _store = new ResultStore(this, _metrics);
     }
 
     @Override
     public boolean hasChildren()
     {
-        return !_types.isEmpty();
+        return ! _store.getTypeResults().isEmpty();
     }
 
     @Override
     public List<Result> getChildren()
     {
-        List<Result> children = new ArrayList<Result>(_types);
-        Collections.sort(children);
-        return children;
+        return _store.getTypeResults();
+    }
+    
+    /**
+     * Freezes the results of the types and methods of this package. The store is 
+     * trimmed and a new sorted layout of the types and methods is published to the views.
+     */
+    public void freeze()
+    {
+        _store.freeze();
     }
     
     @Override
@@ -80,165 +75,98 @@ public class PackageResult implements Result
     /**
      * Adds the results of a type to this package
      * 
-     * @param TypeResult typeResult The results of a type that belongs to this package
+     * @param AbstractTypeDeclaration node The declaration node of the type from the AST
+     * @return TypeResult The results of the type
      */
-    public void addType(TypeResult typeResult)
+    public TypeResult addType(AbstractTypeDeclaration node)
     {
-        _types.add(typeResult);
-        setRecalculateIgat();
-        setRecalculateIgam();
-    }
-
-    void setRecalculateIgat()
-    {
-        _recalculateIgat = true;
-        _parent.setRecalculateIgat();
+        IType type = (IType) node.resolveBinding().getJavaElement();
+        return new TypeResult(_store, _store.addType(type));
     }
 
     /**
-     * Returns the IGAT metric value of this package
+     * Removes the results of all types and methods of a compilation unit
+     * from this package.
      * 
-     * @return float IGAT
+     * @param ICompilationUnit unit The compilation unit
      */
-    private double getIgat() throws JavaModelException
+    public void removeCompilationUnit(ICompilationUnit unit)
     {
-        if (_recalculateIgat)
-        {
-            calculateIgat();
-        }
-        
-        return _igat;
+        _store.removeCompilationUnit(unit);
     }
     
-    private void calculateIgat() throws JavaModelException
-    {
-        calculateIgatSum();
-        _igat = GOOD;
-        int numberOfTypes = _types.size();
-        if (numberOfTypes > 0)
-        {
-            _igat = _igatSum / numberOfTypes;
-        }
-        _recalculateIgat = false;
-    }
-
-    private void calculateIgatSum() throws JavaModelException
-    {
-        double sum = 0.0;
-        for (TypeResult typeResult : _types)
-        {
-            sum += typeResult.getIgat();
-        }
-        _igatSum = sum;
-    }
-
     /**
-     * Returns the IGAT sum of all types
+     * Returns the results of all types and methods of a compilation unit.
      * 
-     * @return double The sum
+     * @param ICompilationUnit unit The compilation unit
+     * @return List<Result> The results of the types, each followed by the results of its methods
      */
-    double getIgatSum() throws JavaModelException
+    public List<Result> getResults(ICompilationUnit unit)
     {
-        if (_recalculateIgat)
+        List<Result> results = new ArrayList<Result>();
+        for (int type : _store.getTypes(unit))
         {
-            calculateIgat();
+            results.add(new TypeResult(_store, type));
+            for (int method : _store.getMethods(type))
+            {
+                results.add(new MethodResult(_store, method));
+            }
         }
-        
-        return _igatSum;
+        return results;
     }
-
+    
     /**
-     * Returns the number of types in this package
+     * Finds the result of a type of this package.
      * 
-     * @return double The number
+     * @param String key The key of the type
+     * @return TypeResult The result or null if the type does not belong to this package
      */
-    int getNumberOfTypes()
+    public TypeResult findType(String key)
     {
-        return _types.size();
+        int type = _store.findType(key);
+        return type >= 0 ? new TypeResult(_store, type) : null;
     }
     
-    void setRecalculateIgam()
+    /**
+     * Finds the result of a method of this package.
+     * 
+     * @param String key The key of the method
+     * @return MethodResult The result or null if the method does not belong to this package
+     */
+    public MethodResult findMethod(String key)
     {
-        _recalculateIgam = true;
-        _parent.setRecalculateIgam();
+        int method = _store.findMethod(key);
+        return method >= 0 ? new MethodResult(_store, method) : null;
     }
 
     /**
-     * Returns the IGAM metric value of this package
+     * Returns the metrics of this package
      * 
-     * @return float IGAM
+     * @return Metrics The running sums of all types and methods
      */
-    private double getIgam() throws JavaModelException
+    Metrics getMetrics()
     {
-        if (_recalculateIgam)
-        {
-            calculateIgam();
-        }
-        
-        return _igam;
-    }
-    
-    private void calculateIgam() throws JavaModelException
-    {
-        calculateIgamSum();
-        calculateNumberOfMethods();
-        _igam = GOOD;
-        if (_numberOfMethods > 0)
-        {
-            _igam = _igamSum / _numberOfMethods;
-        }
-        _recalculateIgam = false;
-    }
-    
-    private void calculateIgamSum() throws JavaModelException
-    {
-        double sum = 0.0;
-        for (TypeResult typeResult : _types)
-        {
-            sum += typeResult.getIgamSum();
-        }
-        _igamSum = sum;
-    }
-    
-    private void calculateNumberOfMethods() throws JavaModelException
-    {
-        int n = 0;
-        for (TypeResult typeResult : _types)
-        {
-            n += typeResult.getNumberOfMethods();
-        }
-        _numberOfMethods = n;
+        return _metrics;
     }
-    
+
     /**
-     * Returns the IGAM sum of all methods
+     * Returns the IGAT metric value of this package
      * 
-     * @return double The sum
+     * @return float IGAT
      */
-    double getIgamSum() throws JavaModelException
+    private double getIgat()
     {
-        if (_recalculateIgam)
-        {
-            calculateIgam();
-        }
-        
-        return _igamSum;
+        return _metrics.getIgat();
     }
-    
+
     /**
-     * Returns the number of methods int this package
+     * Returns the IGAM metric value of this package
      * 
-     * @return double The number
-     * @throws JavaModelException 
+     * @return float IGAM
      */
-    int getNumberOfMethods() throws JavaModelException
+    private double getIgam()
     {
-        if (_recalculateIgam)
-        {
-            calculateIgam();
-        }
-        
-        return _numberOfMethods;
+        return _metrics.getIgam();
     }
 
     @Override
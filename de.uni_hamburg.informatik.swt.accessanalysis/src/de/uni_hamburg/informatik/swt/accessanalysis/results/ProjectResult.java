@@ -6,7 +6,6 @@ import java.util.LinkedList;
 import java.util.List;
 
 import org.eclipse.jdt.core.IJavaProject;
-import org.eclipse.jdt.core.JavaModelException;
 import org.eclipse.swt.graphics.Image;
 
 /**
@@ -17,13 +16,11 @@ public class ProjectResult implements Result
 {
     private final ResultFormatter _formatter;
     private final List<SourceFolderResult> _sourceFolders;
+    private volatile List<Result> _frozenChildren;
     
     private final IJavaProject _project;
     
-    private boolean _recalculateIgat;
-    private double _igat;
-    private boolean _recalculateIgam;
-    private double _igam;
+    private final Metrics _metrics;
 
     /**
      * Initialize an object of ProjectResult.
@@ -34,13 +31,11 @@ public class ProjectResult implements Result
     {
         _formatter = new ProjectResultFormatter();
         _sourceFolders = new LinkedList<SourceFolderResult>();
+        _frozenChildren = null;
         
         _project = project;
         
-        _recalculateIgat = true;
-        _igat = GOOD;
-        _recalculateIgam = true;
-        _igam = GOOD;
+        _metrics = new Metrics();
     }
 
     @Override
@@ -52,11 +47,31 @@ public class ProjectResult implements Result
     @Override
     public List<Result> getChildren()
     {
-        List<Result> children = new ArrayList<Result>(_sourceFolders);
+        List<Result> children = _frozenChildren;
+        if (children != null)
+        {
+            return children;
+        }
+        
+        children = new ArrayList<Result>(_sourceFolders);
         Collections.sort(children);
         return children;
     }
     
+    /**
+     * Freezes the children of this result and of all its descendants. The children are
+     * sorted once and kept in an immutable list that getChildren returns until 
+     * another source folder is added.
+     */
+    public void freeze()
+    {
+        for (SourceFolderResult child : _sourceFolders)
+        {
+            child.freeze();
+        }
+        _frozenChildren = FrozenChildren.of(_sourceFolders);
+    }
+    
     @Override
     public Result getParent()
     {
@@ -79,81 +94,18 @@ public class ProjectResult implements Result
     public void addSourceFolder(SourceFolderResult sourceFolderResult)
     {
         _sourceFolders.add(sourceFolderResult);
-        _recalculateIgat = true;
-        _recalculateIgam = true;
+        _frozenChildren = null;
+        sourceFolderResult.getMetrics().attachTo(_metrics);
     }
     
-    void setRecalculateIgat()
-    {
-        _recalculateIgat = true;
-    }
-
     /**
      * Returns the IGAT metric value of this project
      * 
      * @return float IGAT
      */
-    private double getIgat() throws JavaModelException
-    {
-        if (_recalculateIgat)
-        {
-            calculateIgat();
-        }
-        
-        return _igat;
-    }
-    
-    private void calculateIgat() throws JavaModelException
-    {
-        _igat = GOOD;
-        int numberOfTypes = calculateNumberOfTypes();
-        if (numberOfTypes > 0)
-        {
-            _igat = calculateIGATSum() / numberOfTypes;
-        }
-        
-        _recalculateIgat = false;
-    }
-
-    /**
-     * Returns the IGAM sum of all methods
-     * 
-     * @return double The sum
-     */
-    private double calculateIGATSum() throws JavaModelException
-    {
-        double sum = 0.0;
-        for (SourceFolderResult sourceFolderResult : _sourceFolders)
-        {
-            if (sourceFolderResult.getNumberOfTypes() > 0)
-            {
-                sum += sourceFolderResult.getIgatSum();
-            }
-        }
-        
-        return sum;
-    }
-
-    /**
-     * Returns the number of types
-     * 
-     * @return double The number
-     * @throws JavaModelException 
-     */
-    private int calculateNumberOfTypes() throws JavaModelException
-    {
-        int n = 0;
-        for (SourceFolderResult sourceFolderResult : _sourceFolders)
-        {
-            n += sourceFolderResult.getNumberOfTypes();
-        }
-        
-        return n;
-    }
-
-    void setRecalculateIgam()
+    private double getIgat()
     {
-        _recalculateIgam = true;
+        return _metrics.getIgat();
     }
 
     /**
@@ -161,62 +113,9 @@ public class ProjectResult implements Result
      * 
      * @return float IGAM
      */
-    private double getIgam() throws JavaModelException
+    private double getIgam()
     {
-        if (_recalculateIgam)
-        {
-            calculateIgam();
-        }
-        
-        return _igam;
-    }
-
-    private void calculateIgam() throws JavaModelException
-    {
-        _igam = GOOD;
-        int numberOfMethods = calculateNumberOfMethods();
-        if (numberOfMethods > 0)
-        {
-            _igam = calculateIGAMSum() / numberOfMethods;
-        }
-        
-        _recalculateIgam = false;
-    }
-    
-    /**
-     * Returns the IGAM sum of all methods
-     * 
-     * @return double The sum
-     */
-    private double calculateIGAMSum() throws JavaModelException
-    {
-        double sum = 0.0;
-        for (SourceFolderResult sourceFolderResult : _sourceFolders)
-        {
-            if (sourceFolderResult.getNumberOfMethods() > 0)
-            {
-                sum += sourceFolderResult.getIgamSum();
-            }
-        }
-        
-        return sum;
-    }
-
-    /**
-     * Returns the number of methods
-     * 
-     * @return double The number
-     * @throws JavaModelException 
-     */
-    private int calculateNumberOfMethods() throws JavaModelException
-    {
-        int n = 0;
-        for (SourceFolderResult sourceFolderResult : _sourceFolders)
-        {
-            n += sourceFolderResult.getNumberOfMethods();
-        }
-        
-        return n;
+        return _metrics.getIgam();
     }
 
     @Override
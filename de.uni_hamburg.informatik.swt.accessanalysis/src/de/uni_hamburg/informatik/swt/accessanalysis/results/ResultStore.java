@@ -0,0 +1,677 @@
+package de.uni_hamburg.informatik.swt.accessanalysis.results;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.IMethod;
+import org.eclipse.jdt.core.IType;
+
+import de.uni_hamburg.informatik.swt.accessanalysis.access.Access;
+
+/**
+ * Stores the results of all types and methods of a package in parallel arrays.
+ *
+ * Types and methods are identified by their position in the arrays. TypeResult and
+ * MethodResult are only views on a position, so a large workspace does not need an
+ * object with a formatter and its values per element.
+ * When the package is frozen, the arrays are trimmed and the methods are grouped
+ * by their types in sorted order.
+ *
+ * The types and methods of a compilation unit can be removed, so an incremental run
+ * can add them again. Removed elements keep their positions and are skipped until
+ * the next freeze(). Then their positions are reused by the elements added later,
+ * so the arrays do not grow while a continuous analysis removes and adds the same
+ * units over and over again.
+ * The types and methods are found by their keys in hash maps and the types of a unit
+ * and the methods of a type are chained by their positions, so finding, adding and
+ * removing the elements of a unit does not depend on the size of the package.
+ *
+ * The children of the results are read from a sorted layout that is only replaced
+ * as a whole by freeze(). Since a position is only reused after a layout without it has
+ * been published, the current layout stays valid while an incremental run adds and removes
+ * elements, so a view can read the tree at any time and sees the structure of the last
+ * frozen state.
+ */
+final class ResultStore
+{
+    private static final Access[] ACCESSES = Access.values();
+
+    private final PackageResult _package;
+    private final Metrics _metrics;
+
+    private int _numberOfTypes;
+    private int _numberOfLiveTypes;
+    private IType[] _types;
+    private String[] _typeKeys;
+    private boolean[] _typeRemoved;
+    private byte[] _typeMinimalAccess;
+    private boolean[] _typeAlert;
+    private int[] _typeMethods;
+    private int[] _typeAlertMethods;
+    private int[] _nextTypeOfUnit;
+    private int[] _firstMethodOfType;
+    private final Map<String, Integer> _typeIndex;
+    private final Map<ICompilationUnit, Integer> _firstTypeOfUnit;
+    private final FreePositions _freeTypes;
+
+    private int _numberOfMethods;
+    private IMethod[] _methods;
+    private String[] _methodKeys;
+    private boolean[] _methodRemoved;
+    private int[] _methodType;
+    private byte[] _methodMinimalAccess;
+    private boolean[] _methodAlert;
+    private int[] _nextMethodOfType;
+    private final Map<String, Integer> _methodIndex;
+    private final FreePositions _freeMethods;
+
+    private volatile Layout _layout;
+
+    /**
+     * Initializes an empty ResultStore.
+     *
+     * @param PackageResult packageResult The result of the package the types belong to
+     * @param Metrics metrics The metrics of the package
+     */
+    ResultStore(PackageResult packageResult, Metrics metrics)
+    {
+        _package = packageResult;
+        _metrics = metrics;
+
+        _numberOfTypes = 0;
+        _numberOfLiveTypes = 0;
+        _types = new IType[8];
+        _typeKeys = new String[8];
+        _typeRemoved = new boolean[8];
+        _typeMinimalAccess = new byte[8];
+        _typeAlert = new boolean[8];
+        _typeMethods = new int[8];
+        _typeAlertMethods = new int[8];
+        _nextTypeOfUnit = new int[8];
+        _firstMethodOfType = new int[8];
+        _typeIndex = new HashMap<String, Integer>();
+        _firstTypeOfUnit = new HashMap<ICompilationUnit, Integer>();
+        _freeTypes = new FreePositions();
+
+        _numberOfMethods = 0;
+        _methods = new IMethod[32];
+        _methodKeys = new String[32];
+        _methodRemoved = new boolean[32];
+        _methodType = new int[32];
+        _methodMinimalAccess = new byte[32];
+        _methodAlert = new boolean[32];
+        _nextMethodOfType = new int[32];
+        _methodIndex = new HashMap<String, Integer>();
+        _freeMethods = new FreePositions();
+
+        _layout = null;
+    }
+
+    /**
+     * Returns the result of the package the types belong to
+     *
+     * @return PackageResult The result of the package
+     */
+    PackageResult getPackage()
+    {
+        return _package;
+    }
+
+    /**
+     * Adds a type. It is not used yet, so every actual access is more generous
+     * than its minimal access. The position of a removed type is reused if there is one.
+     *
+     * @param IType type The type
+     * @return int The index of the type
+     */
+    synchronized int addType(IType type)
+    {
+        int index = _freeTypes.reuse();
+        if (index < 0)
+        {
+            if (_numberOfTypes == _types.length)
+            {
+                growTypes(Math.max(8, _numberOfTypes * 2));
+            }
+            index = _numberOfTypes++;
+        }
+
+        _numberOfLiveTypes++;
+        _types[index] = type;
+        _typeRemoved[index] = false;
+        _typeMethods[index] = 0;
+        _typeAlertMethods[index] = 0;
+        _typeKeys[index] = type.getKey();
+        _typeMinimalAccess[index] = (byte) Access.NO_USE.ordinal();
+        _typeAlert[index] = true;
+        _firstMethodOfType[index] = -1;
+        _typeIndex.put(_typeKeys[index], index);
+
+        Integer nextType = _firstTypeOfUnit.put(type.getCompilationUnit(), index);
+        _nextTypeOfUnit[index] = nextType != null ? nextType : -1;
+
+        _metrics.add(Result.BAD, 1, 0, 0);
+        return index;
+    }
+
+    /**
+     * Adds a method to a type. It is not used yet, so every actual access is more
+     * generous than its minimal access. The position of a removed method is reused 
+     * if there is one.
+     *
+     * @param int type The index of the type
+     * @param IMethod method The method
+     * @return int The index of the method
+     */
+    synchronized int addMethod(int type, IMethod method)
+    {
+        int index = _freeMethods.reuse();
+        if (index < 0)
+        {
+            if (_numberOfMethods == _methods.length)
+            {
+                growMethods(Math.max(32, _numberOfMethods * 2));
+            }
+            index = _numberOfMethods++;
+        }
+
+        _methods[index] = method;
+        _methodRemoved[index] = false;
+        _methodKeys[index] = method.getKey();
+        _methodType[index] = type;
+        _methodMinimalAccess[index] = (byte) Access.NO_USE.ordinal();
+        _methodAlert[index] = true;
+        _typeMethods[type]++;
+        _typeAlertMethods[type]++;
+        _methodIndex.put(_methodKeys[index], index);
+
+        _nextMethodOfType[index] = _firstMethodOfType[type];
+        _firstMethodOfType[type] = index;
+
+        _metrics.add(0, 0, Result.BAD, 1);
+        return index;
+    }
+
+    /**
+     * Returns the type at an index
+     */
+    synchronized IType getType(int type)
+    {
+        return _types[type];
+    }
+
+    /**
+     * Returns the minimal access of a type
+     */
+    synchronized Access getTypeMinimalAccess(int type)
+    {
+        return ACCESSES[_typeMinimalAccess[type]];
+    }
+
+    /**
+     * Sets the minimal access of a type and passes the change of its IGAT value
+     * on to the metrics of the package.
+     *
+     * @param int type The index of the type
+     * @param Access access The minimal access
+     * @param Access actualAccess The actual access of the type
+     */
+    synchronized void setTypeMinimalAccess(int type, Access access, Access actualAccess)
+    {
+        _typeMinimalAccess[type] = (byte) access.ordinal();
+
+        boolean alert = actualAccess.compareTo(access) > 0;
+        if (alert != _typeAlert[type])
+        {
+            _typeAlert[type] = alert;
+            _metrics.add(alert ? Result.BAD : - Result.BAD, 0, 0, 0);
+        }
+    }
+
+    /**
+     * Returns the IGAT value of a type
+     */
+    synchronized double getTypeIgat(int type)
+    {
+        return _typeAlert[type] ? Result.BAD : Result.GOOD;
+    }
+
+    /**
+     * Returns the IGAM value over the methods of a type
+     */
+    synchronized double getTypeIgam(int type)
+    {
+        if (_typeMethods[type] > 0)
+        {
+            return Result.BAD * _typeAlertMethods[type] / _typeMethods[type];
+        }
+
+        return Result.GOOD;
+    }
+
+    /**
+     * Returns the method at an index
+     */
+    synchronized IMethod getMethod(int method)
+    {
+        return _methods[method];
+    }
+
+    /**
+     * Returns the index of the type a method belongs to
+     */
+    synchronized int getMethodType(int method)
+    {
+        return _methodType[method];
+    }
+
+    /**
+     * Returns the minimal access of a method
+     */
+    synchronized Access getMethodMinimalAccess(int method)
+    {
+        return ACCESSES[_methodMinimalAccess[method]];
+    }
+
+    /**
+     * Sets the minimal access of a method and passes the change of its IGAM value
+     * on to its type and the metrics of the package.
+     *
+     * @param int method The index of the method
+     * @param Access access The minimal access
+     * @param Access actualAccess The actual access of the method
+     */
+    synchronized void setMethodMinimalAccess(int method, Access access, Access actualAccess)
+    {
+        _methodMinimalAccess[method] = (byte) access.ordinal();
+
+        boolean alert = actualAccess.compareTo(access) > 0;
+        if (alert != _methodAlert[method])
+        {
+            _methodAlert[method] = alert;
+            _typeAlertMethods[_methodType[method]] += alert ? 1 : -1;
+            _metrics.add(0, 0, alert ? Result.BAD : - Result.BAD, 0);
+        }
+    }
+
+    /**
+     * Returns the IGAM value of a method
+     */
+    synchronized double getMethodIgam(int method)
+    {
+        return _methodAlert[method] ? Result.BAD : Result.GOOD;
+    }
+
+    /**
+     * Removes all types of a compilation unit and their methods 
+     * and takes their values back from the metrics of the package.
+     *
+     * @param ICompilationUnit unit The compilation unit
+     */
+    synchronized void removeCompilationUnit(ICompilationUnit unit)
+    {
+        Integer firstType = _firstTypeOfUnit.remove(unit);
+        for (int type = firstType != null ? firstType : -1; type >= 0; type = _nextTypeOfUnit[type])
+        {
+            for (int method = _firstMethodOfType[type]; method >= 0; method = _nextMethodOfType[method])
+            {
+                _methodRemoved[method] = true;
+                unindex(_methodIndex, _methodKeys[method], method);
+                _freeMethods.release(method);
+            }
+            _firstMethodOfType[type] = -1;
+
+            _typeRemoved[type] = true;
+            _numberOfLiveTypes--;
+            unindex(_typeIndex, _typeKeys[type], type);
+            _freeTypes.release(type);
+            _metrics.add(_typeAlert[type] ? - Result.BAD : - Result.GOOD, -1, 
+                    - Result.BAD * _typeAlertMethods[type], - _typeMethods[type]);
+            _typeMethods[type] = 0;
+            _typeAlertMethods[type] = 0;
+        }
+    }
+
+    /**
+     * Returns the types of a compilation unit that are not removed.
+     *
+     * @param ICompilationUnit unit The compilation unit
+     * @return int[] The indices of the types in the order they were added
+     */
+    synchronized int[] getTypes(ICompilationUnit unit)
+    {
+        Integer firstType = _firstTypeOfUnit.get(unit);
+        int n = 0;
+        for (int type = firstType != null ? firstType : -1; type >= 0; type = _nextTypeOfUnit[type])
+        {
+            n++;
+        }
+
+        int[] types = new int[n];
+        for (int type = firstType != null ? firstType : -1; type >= 0; type = _nextTypeOfUnit[type])
+        {
+            types[--n] = type;
+        }
+        return types;
+    }
+
+    /**
+     * Returns the methods of a type that are not removed.
+     *
+     * @param int type The index of the type
+     * @return int[] The indices of the methods in the order they were added
+     */
+    synchronized int[] getMethods(int type)
+    {
+        int n = _typeMethods[type];
+        int[] methods = new int[n];
+        for (int method = _firstMethodOfType[type]; method >= 0; method = _nextMethodOfType[method])
+        {
+            methods[--n] = method;
+        }
+        return methods;
+    }
+
+    /**
+     * Finds a type that is not removed by the key of its binding.
+     *
+     * @param String key The key
+     * @return int The index of the type or -1 if there is no such type
+     */
+    synchronized int findType(String key)
+    {
+        Integer type = _typeIndex.get(key);
+        return type != null ? type : -1;
+    }
+
+    /**
+     * Finds a method that is not removed by the key of its binding.
+     *
+     * @param String key The key
+     * @return int The index of the method or -1 if there is no such method
+     */
+    synchronized int findMethod(String key)
+    {
+        Integer method = _methodIndex.get(key);
+        return method != null ? method : -1;
+    }
+
+    /**
+     * Removes the key of an element from an index unless the key was taken
+     * by another element later.
+     */
+    private static void unindex(Map<String, Integer> index, String key, int element)
+    {
+        Integer indexed = index.get(key);
+        if (indexed != null && indexed == element)
+        {
+            index.remove(key);
+        }
+    }
+
+    /**
+     * Returns the results of all types of the layout sorted by their qualified names.
+     *
+     * @return List<Result> The results, which can not be modified
+     */
+    List<Result> getTypeResults()
+    {
+        return layout()._typeResults;
+    }
+
+    /**
+     * Returns the results of the methods of a type in the layout in the order of their names.
+     *
+     * @param int type The index of the type
+     * @return List<Result> The results, which can not be modified
+     */
+    List<Result> getMethodResults(int type)
+    {
+        TypeResult typeResult = layout().typeResult(type);
+        return typeResult != null ? typeResult.getChildren() : Collections.<Result> emptyList();
+    }
+
+    /**
+     * Returns the result of a type, which is the one of the layout if the type belongs to it.
+     *
+     * @param int type The index of the type
+     * @return TypeResult The result
+     */
+    TypeResult getTypeResult(int type)
+    {
+        TypeResult typeResult = layout().typeResult(type);
+        return typeResult != null ? typeResult : new TypeResult(this, type);
+    }
+
+    /**
+     * Trims the arrays and publishes a new layout of the types and methods
+     * that are not removed. The positions of the removed ones can be reused from now on.
+     */
+    synchronized void freeze()
+    {
+        growTypes(_numberOfTypes);
+        growMethods(_numberOfMethods);
+        _layout = new Layout(this, sortTypes(), sortMethods(), _typeMethods);
+        _freeTypes.publish();
+        _freeMethods.publish();
+    }
+
+    /**
+     * Returns the published layout. Before the first freeze() it is built on demand
+     * from the current elements.
+     *
+     * @return Layout The layout
+     */
+    private Layout layout()
+    {
+        Layout layout = _layout;
+        if (layout == null)
+        {
+            synchronized (this)
+            {
+                if (_layout == null)
+                {
+                    _layout = new Layout(this, sortTypes(), sortMethods(), _typeMethods);
+                }
+                layout = _layout;
+            }
+        }
+        return layout;
+    }
+
+    private int[] sortTypes()
+    {
+        Integer[] indices = new Integer[_numberOfLiveTypes];
+        int n = 0;
+        for (int i = 0; i < _numberOfTypes; i++)
+        {
+            if (! _typeRemoved[i])
+            {
+                indices[n++] = i;
+            }
+        }
+        Arrays.sort(indices, new Comparator<Integer>()
+        {
+            @Override
+            public int compare(Integer type, Integer otherType)
+            {
+                return _types[type].getTypeQualifiedName().compareTo(_types[otherType].getTypeQualifiedName());
+            }
+        });
+        return toArray(indices);
+    }
+
+    private int[] sortMethods()
+    {
+        Integer[] indices = new Integer[_numberOfMethods];
+        int n = 0;
+        for (int i = 0; i < _numberOfMethods; i++)
+        {
+            if (! _methodRemoved[i])
+            {
+                indices[n++] = i;
+            }
+        }
+        indices = Arrays.copyOf(indices, n);
+        Arrays.sort(indices, new Comparator<Integer>()
+        {
+            @Override
+            public int compare(Integer method, Integer otherMethod)
+            {
+                int compared = _methodType[method] - _methodType[otherMethod];
+                if (compared != 0)
+                {
+                    return compared;
+                }
+                return _methods[method].getElementName().compareTo(_methods[otherMethod].getElementName());
+            }
+        });
+
+        return toArray(indices);
+    }
+
+    private static int[] toArray(Integer[] indices)
+    {
+        int[] array = new int[indices.length];
+        for (int i = 0; i < array.length; i++)
+        {
+            array[i] = indices[i];
+        }
+        return array;
+    }
+
+    private void growTypes(int capacity)
+    {
+        _types = Arrays.copyOf(_types, capacity);
+        _typeKeys = Arrays.copyOf(_typeKeys, capacity);
+        _typeRemoved = Arrays.copyOf(_typeRemoved, capacity);
+        _typeMinimalAccess = Arrays.copyOf(_typeMinimalAccess, capacity);
+        _typeAlert = Arrays.copyOf(_typeAlert, capacity);
+        _typeMethods = Arrays.copyOf(_typeMethods, capacity);
+        _typeAlertMethods = Arrays.copyOf(_typeAlertMethods, capacity);
+        _nextTypeOfUnit = Arrays.copyOf(_nextTypeOfUnit, capacity);
+        _firstMethodOfType = Arrays.copyOf(_firstMethodOfType, capacity);
+    }
+
+    private void growMethods(int capacity)
+    {
+        _methods = Arrays.copyOf(_methods, capacity);
+        _methodKeys = Arrays.copyOf(_methodKeys, capacity);
+        _methodRemoved = Arrays.copyOf(_methodRemoved, capacity);
+        _methodType = Arrays.copyOf(_methodType, capacity);
+        _methodMinimalAccess = Arrays.copyOf(_methodMinimalAccess, capacity);
+        _methodAlert = Arrays.copyOf(_methodAlert, capacity);
+        _nextMethodOfType = Arrays.copyOf(_nextMethodOfType, capacity);
+    }
+
+    /**
+     * The positions of removed elements. A position is released when its element
+     * is removed and can only be reused after the next layout has been published,
+     * since the current layout may still refer to it.
+     */
+    private static final class FreePositions
+    {
+        private int[] _reusable;
+        private int _numberOfReusable;
+        private int[] _released;
+        private int _numberOfReleased;
+
+        private FreePositions()
+        {
+            _reusable = new int[8];
+            _numberOfReusable = 0;
+            _released = new int[8];
+            _numberOfReleased = 0;
+        }
+
+        /**
+         * Releases the position of a removed element.
+         */
+        private void release(int position)
+        {
+            if (_numberOfReleased == _released.length)
+            {
+                _released = Arrays.copyOf(_released, _numberOfReleased * 2);
+            }
+            _released[_numberOfReleased++] = position;
+        }
+
+        /**
+         * Returns a reusable position and removes it from the free ones.
+         *
+         * @return int The position or -1 if there is none
+         */
+        private int reuse()
+        {
+            return _numberOfReusable > 0 ? _reusable[--_numberOfReusable] : -1;
+        }
+
+        /**
+         * Makes the released positions reusable after a layout without them was published.
+         */
+        private void publish()
+        {
+            if (_numberOfReusable + _numberOfReleased > _reusable.length)
+            {
+                _reusable = Arrays.copyOf(_reusable, _numberOfReusable + _numberOfReleased);
+            }
+            System.arraycopy(_released, 0, _reusable, _numberOfReusable, _numberOfReleased);
+            _numberOfReusable += _numberOfReleased;
+            _numberOfReleased = 0;
+        }
+    }
+
+    /**
+     * The results of the sorted types and methods of a frozen state, which is never changed.
+     * The results and their child lists are created once per layout, so reading the children
+     * of a frozen tree does not allocate anything.
+     */
+    private static final class Layout
+    {
+        private final List<Result> _typeResults;
+        private final TypeResult[] _typeResultsByIndex;
+
+        /**
+         * Creates the results of a layout.
+         *
+         * @param ResultStore store The store the results are views on
+         * @param int[] types The indices of the types sorted by their qualified names
+         * @param int[] methods The indices of the methods grouped by their types 
+         *      in the order of the type indices and sorted by their names
+         * @param int[] typeMethods The number of methods per type index
+         */
+        private Layout(ResultStore store, int[] types, int[] methods, int[] typeMethods)
+        {
+            int[] firstMethod = new int[typeMethods.length + 1];
+            for (int type = 0; type < typeMethods.length; type++)
+            {
+                firstMethod[type + 1] = firstMethod[type] + typeMethods[type];
+            }
+
+            Result[] typeResults = new Result[types.length];
+            _typeResultsByIndex = new TypeResult[typeMethods.length];
+            for (int n = 0; n < types.length; n++)
+            {
+                int type = types[n];
+                Result[] methodResults = new Result[typeMethods[type]];
+                for (int m = 0; m < methodResults.length; m++)
+                {
+                    methodResults[m] = new MethodResult(store, methods[firstMethod[type] + m]);
+                }
+                _typeResultsByIndex[type] = new TypeResult(store, type, FrozenChildren.ofSorted(methodResults));
+                typeResults[n] = _typeResultsByIndex[type];
+            }
+            _typeResults = FrozenChildren.ofSorted(typeResults);
+        }
+
+        private TypeResult typeResult(int type)
+        {
+            return type < _typeResultsByIndex.length ? _typeResultsByIndex[type] : null;
+        }
+    }
+}
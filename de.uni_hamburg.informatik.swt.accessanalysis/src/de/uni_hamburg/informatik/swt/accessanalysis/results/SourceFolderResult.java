@@ -6,7 +6,6 @@ import java.util.LinkedList;
 import java.util.List;
 
 import org.eclipse.jdt.core.IPackageFragmentRoot;
-import org.eclipse.jdt.core.JavaModelException;
 import org.eclipse.swt.graphics.Image;
 
 /**
@@ -16,18 +15,12 @@ public class SourceFolderResult implements Result
 {
     private final ResultFormatter _formatter;
     private final List<PackageResult> _packages;
+    private volatile List<Result> _frozenChildren;
     
     private final IPackageFragmentRoot _folder;
     private final ProjectResult _parent;
     
-    private boolean _recalculateIgat;
-    private double _igat;
-    private double _igatSum;
-    private int _numberOfTypes;
-    private boolean _recalculateIgam;
-    private double _igam;
-    private double _igamSum;
-    private int _numberOfMethods;
+    private final Metrics _metrics;
 
     /**
      * Initialize an object of PackageResult.
@@ -39,18 +32,12 @@ public class SourceFolderResult implements Result
     {
         _formatter = new SourceFolderResultFormatter();
         _packages = new LinkedList<PackageResult>();
+        _frozenChildren = null;
         
         _folder = folder;
         _parent = parent;
         
-        _recalculateIgat = true;
-        _igat = GOOD;
-        _igatSum = 0;
-        _numberOfTypes = 0;
-        _recalculateIgam = true;
-        _igam = GOOD;
-        _igamSum = 0;
-        _numberOfMethods = 0;
+        _metrics = new Metrics();
     }
 
     @Override
@@ -62,11 +49,31 @@ public class SourceFolderResult implements Result
     @Override
     public List<Result> getChildren()
     {
-        List<Result> children = new ArrayList<Result>(_packages);
+        List<Result> children = _frozenChildren;
+        if (children != null)
+        {
+            return children;
+        }
+        
+        children = new ArrayList<Result>(_packages);
         Collections.sort(children);
         return children;
     }
     
+    /**
+     * Freezes the children of this result and of all its descendants. The children are
+     * sorted once and kept in an immutable list that getChildren returns until 
+     * another package is added.
+     */
+    public void freeze()
+    {
+        for (PackageResult child : _packages)
+        {
+            child.freeze();
+        }
+        _frozenChildren = FrozenChildren.of(_packages);
+    }
+    
     @Override
     public Result getParent()
     {
@@ -87,98 +94,28 @@ public class SourceFolderResult implements Result
     public void addPackage(PackageResult packageResult)
     {
         _packages.add(packageResult);
-        setRecalculateIgat();
-        setRecalculateIgam();
+        _frozenChildren = null;
+        packageResult.getMetrics().attachTo(_metrics);
     }
     
-    void setRecalculateIgat()
-    {
-        _recalculateIgat = true;
-        _parent.setRecalculateIgat();
-    }
-
     /**
-     * Returns the IGAT metric value of this source folder
+     * Returns the metrics of this source folder
      * 
-     * @return float IGAT
+     * @return Metrics The running sums of all packages
      */
-    private double getIgat() throws JavaModelException
-    {
-        if (_recalculateIgat)
-        {
-            calculateIgat();
-        }
-        
-        return _igat;
-    }
-    
-    private void calculateIgat() throws JavaModelException
-    {
-        calculateIgatSum();
-        calculateNumberOfTypes();
-        _igat = GOOD;
-        if (_numberOfTypes > 0)
-        {
-            _igat = _igatSum / _numberOfTypes;
-        }
-        _recalculateIgat = false;
-    }
-
-    private void calculateIgatSum() throws JavaModelException
+    Metrics getMetrics()
     {
-        double sum = 0.0;
-        for (PackageResult packageResult : _packages)
-        {
-            sum += packageResult.getIgatSum();
-        }
-        _igatSum = sum;
-    }
-    
-    private void calculateNumberOfTypes() throws JavaModelException
-    {
-        int n = 0;
-        for (PackageResult packageResult : _packages)
-        {
-            n += packageResult.getNumberOfTypes();
-        }
-        _numberOfTypes = n;
+        return _metrics;
     }
 
     /**
-     * Returns the IGAT sum of all types
+     * Returns the IGAT metric value of this source folder
      * 
-     * @return double The sum
+     * @return float IGAT
      */
-    double getIgatSum() throws JavaModelException
+    private double getIgat()
     {
-        if (_recalculateIgat)
-        {
-            calculateIgat();
-        }
-        
-        return _igatSum;
-    }
-    
-    /**
-     * Returns the number of types in this package
-     * 
-     * @return double The number
-     * @throws JavaModelException 
-     */
-    int getNumberOfTypes() throws JavaModelException
-    {
-        if (_recalculateIgat)
-        {
-            calculateIgat();
-        }
-        
-        return _numberOfTypes;
-    }
-    
-    void setRecalculateIgam()
-    {
-        _recalculateIgam = true;
-        _parent.setRecalculateIgam();
+        return _metrics.getIgat();
     }
 
     /**
@@ -186,79 +123,11 @@ public class SourceFolderResult implements Result
      * 
      * @return float IGAM
      */
-    private double getIgam() throws JavaModelException
-    {
-        if (_recalculateIgam)
-        {
-            calculateIgam();
-        }
-        
-        return _igam;
-    }
-    
-    private void calculateIgam() throws JavaModelException
+    private double getIgam()
     {
-        calculateIgamSum();
-        calculateNumberOfMethods();
-        _igam = GOOD;
-        if (_numberOfMethods > 0)
-        {
-            _igam = _igamSum / _numberOfMethods;
-        }
-        _recalculateIgam = false;
+        return _metrics.getIgam();
     }
-    
-    private void calculateIgamSum() throws JavaModelException
-    {
-        double sum = 0.0;
-        for (PackageResult packageResult : _packages)
-        {
-            sum += packageResult.getIgamSum();
-        }
-        _igamSum = sum;
-    }
-    
-    private void calculateNumberOfMethods() throws JavaModelException
-    {
-        int n = 0;
-        for (PackageResult packageResult : _packages)
-        {
-            n += packageResult.getNumberOfMethods();
-        }
-        _numberOfMethods = n;
-    }
-    
-    /**
-     * Returns the IGAM sum of all methods
-     * 
-     * @return double The sum
-     */
-    double getIgamSum() throws JavaModelException
-    {
-        if (_recalculateIgam)
-        {
-            calculateIgam();
-        }
-        
-        return _igamSum;
-    }
-    
-    /**
-     * Returns the number of methods int this package
-     * 
-     * @return double The number
-     * @throws JavaModelException 
-     */
-    int getNumberOfMethods() throws JavaModelException
-    {
-        if (_recalculateIgam)
-        {
-            calculateIgam();
-        }
-        
-        return _numberOfMethods;
-    }
-  
+
     @Override
     public IPackageFragmentRoot getJavaElement()
     {
@@ -1,95 +1,91 @@
 package de.uni_hamburg.informatik.swt.accessanalysis.results;
 
-import java.util.ArrayList;
-import java.util.Collections;
-import java.util.LinkedList;
 import java.util.List;
 
+import org.eclipse.jdt.core.IMethod;
 import org.eclipse.jdt.core.IType;
 import org.eclipse.jdt.core.JavaModelException;
-import org.eclipse.jdt.core.dom.AbstractTypeDeclaration;
+import org.eclipse.jdt.core.dom.MethodDeclaration;
 import org.eclipse.swt.graphics.Image;
 
 import de.uni_hamburg.informatik.swt.accessanalysis.access.Access;
 
 
 /**
- * This class collects the analysis results for a single Type and its methods.
+ * This class is a view on the analysis results for a single Type and its methods.
+ * The results are kept in the ResultStore of the package.
+ * The views of a frozen layout hold the results of their methods.
  */
 public class TypeResult implements Result
 {
-    private final ResultFormatter _formatter;
-    private final List<MethodResult> _methods;
-    
-    private final IType _type;
-    private final PackageResult _parent;
-    
-    private Access _minimalAccess;
-    
-    private boolean _recalculateIgat;
-    private double _igat;
-    private boolean _recalculateIgam;
-    private double _igam;
-    private double _igamSum;
+    private final ResultStore _store;
+    private final int _index;
+    private final List<Result> _children;
 
     /**
-     * Initialize an object of TypeResult.
+     * Initializes a view on the results of a type that reads its children from the store.
      * 
-     * @param AbstractTypeDeclaration node The declaration node of this method from the AST
-     * @param PackageResult parent The result of the parent element
+     * @param ResultStore store The store of the package the type belongs to
+     * @param int index The index of the type in the store
      */
-    public TypeResult(AbstractTypeDeclaration node, PackageResult parent)
+    TypeResult(ResultStore store, int index)
     {
-        _formatter = new TypeResultFormatter();
-        _methods = new LinkedList<MethodResult>();
-        
-        _type = (IType) node.resolveBinding().getJavaElement();
-        _parent = parent;
-        _minimalAccess = Access.NO_USE;
-        
-        _recalculateIgat = true;
-        _igat = GOOD;
-        _recalculateIgam = true;
-        _igam = GOOD;
-        _igamSum = 0;
+        this(store, index, null);
+    }
+
+    /**
+     * Initializes a view on the results of a type of a frozen layout.
+     * 
+     * @param ResultStore store The store of the package the type belongs to
+     * @param int index The index of the type in the store
+     * @param List<Result> children The results of the methods of the type in the layout 
+     *      or null to read them from the store
+     */
+    TypeResult(ResultStore store, int index, List<Result> children)
+    {
+        _store = store;
+        _index = index;
+        _children = children;
     }
     
     @Override
     public boolean hasChildren()
     {
-        return ! _methods.isEmpty();
+        return ! getChildren().isEmpty();
     }
     
     @Override
     public List<Result> getChildren()
     {
-        List<Result> children = new ArrayList<Result>(_methods);
-        Collections.sort(children);
-        return children;
+        if (_children != null)
+        {
+            return _children;
+        }
+        return _store.getMethodResults(_index);
     }
     
     @Override
     public Result getParent()
     {
-        return _parent;
+        return _store.getPackage();
     }
 
     @Override
     public ResultFormatter getFormatter()
     {
-        return _formatter;
+        return new TypeResultFormatter();
     }
     
     /**
      * Adds the results of a method to this type
      * 
-     * @param MethodResult
-     *            method The results of a method that belongs to this type
+     * @param MethodDeclaration node The declaration node of the method from the AST
+     * @return MethodResult The results of the method
      */
-    public void addMethodResults(MethodResult methodResult)
+    public MethodResult addMethod(MethodDeclaration node)
     {
-        _methods.add(methodResult);
-        setRecalculateIgam();
+        IMethod method = (IMethod) node.resolveBinding().getJavaElement();
+        return new MethodResult(_store, _store.addMethod(_index, method));
     }
     
     /**
@@ -99,13 +95,13 @@ public class TypeResult implements Result
      */
     private Access getActualAccess() throws JavaModelException
     {
-        IType declaringType = _type.getDeclaringType(); 
+        IType declaringType = getJavaElement().getDeclaringType(); 
         if (declaringType != null && declaringType.isInterface())
         {
             return Access.PUBLIC;
         }
         
-        return Access.fromFlags(_type);
+        return Access.fromFlags(getJavaElement());
     }
 
     /**
@@ -115,24 +111,20 @@ public class TypeResult implements Result
      */
     private Access getMinimalAccess()
     {
-        return _minimalAccess;
+        return _store.getTypeMinimalAccess(_index);
     }
     
     /**
      * Sets the minimal possible access modifier of this type
+     * and passes the change of its IGAT value on to the package.
      * 
      * @param Access The minimal possible access modifier  
+     * 
+     * @throws JavaModelException if the actual access modifier can not be read
      */
-    public void setMinimalAccess(Access access)
-    {
-        _minimalAccess = access;
-        setRecalculateIgat();
-    }
-    
-    private void setRecalculateIgat()
+    public void setMinimalAccess(Access access) throws JavaModelException
     {
-        _recalculateIgat = true;
-        _parent.setRecalculateIgat();
+        _store.setTypeMinimalAccess(_index, access, getActualAccess());
     }
 
     /**
@@ -140,29 +132,9 @@ public class TypeResult implements Result
      * 
      * @return float IGAT
      */
-    double getIgat() throws JavaModelException
+    private double getIgat()
     {
-        if (_recalculateIgat)
-        {
-            calculateIgat();
-        }
-        
-        return _igat;
-    }
-    
-    private void calculateIgat() throws JavaModelException
-    {
-        _igat = GOOD;
-        if (getActualAccess().compareTo(getMinimalAccess()) > 0)
-        {
-            _igat = BAD;
-        }
-    }
-   
-    void setRecalculateIgam()
-    {
-        _recalculateIgam = true;
-        _parent.setRecalculateIgam();
+        return _store.getTypeIgat(_index);
     }
 
     /**
@@ -170,67 +142,15 @@ public class TypeResult implements Result
      * 
      * @return float IGAM
      */
-    private double getIgam() throws JavaModelException
-    {
-        if (_recalculateIgam)
-        {
-            calculateIgam();
-        }
-        
-        return _igam;
-    }
-    
-    private void calculateIgam() throws JavaModelException
-    {
-        calculateIgamSum();
-        int numberOfMethods = _methods.size();
-        _igam = GOOD;
-        if (numberOfMethods > 0)
-        {
-            _igam = _igamSum / numberOfMethods;
-        }
-        _recalculateIgam = false;
-    }
-    
-    private void calculateIgamSum() throws JavaModelException
-    {
-        double sum = 0.0;
-        for (MethodResult methodResult : _methods)
-        {
-            sum += methodResult.getIgam();
-        }
-        _igamSum = sum;
-    }
-    
-    /**
-     * Returns the IGAM sum of all methods
-     * 
-     * @return double The sum
-     */
-    double getIgamSum() throws JavaModelException
-    {
-        if (_recalculateIgam)
-        {
-            calculateIgam();
-        }
-        
-        return _igamSum;
-    }
-    
-    /**
-     * Returns the number of methods
-     * 
-     * @return double The number
-     */
-    int getNumberOfMethods()
+    private double getIgam()
     {
-        return _methods.size();
+        return _store.getTypeIgam(_index);
     }
     
     @Override
     public IType getJavaElement()
     {
-        return _type;
+        return _store.getType(_index);
     }
     
     @Override
@@ -245,7 +165,7 @@ public class TypeResult implements Result
         if (o instanceof TypeResult)
         {
             TypeResult tr = (TypeResult) o;
-            _type.getTypeQualifiedName().compareTo(tr._type.getTypeQualifiedName());
+            return getJavaElement().getTypeQualifiedName().compareTo(tr.getJavaElement().getTypeQualifiedName());
         }
         else if (o instanceof MethodResult)
         {
@@ -255,13 +175,32 @@ public class TypeResult implements Result
         return -1;
     }
     
+    @Override
+    public boolean equals(Object o)
+    {
+        if (o instanceof TypeResult)
+        {
+            TypeResult tr = (TypeResult) o;
+            return _store == tr._store && _index == tr._index;
+        }
+        
+        return false;
+    }
+    
+    @Override
+    public int hashCode()
+    {
+        return 31 * System.identityHashCode(_store) + _index;
+    }
+    
     @Override
     public String toString()
     {
+        IType type = getJavaElement();
         String str = "Type\t" + getFormatter().toString(); 
         try
         {
-            if (! (_type.isMember() || _type.isLocal() || _type.isAnonymous()))
+            if (! (type.isMember() || type.isLocal() || type.isAnonymous()))
             {
                 str += "\tTOP LEVEL";
             }